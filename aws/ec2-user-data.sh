@@ -21,6 +21,18 @@ useradd -r -s /sbin/nologin employee-nexus
 # Download the latest release from GitHub (adjust the URL as needed)
 wget https://github.com/aarifdiwan-hub/employee-nexus-api/releases/latest/download/employee-nexus-api.jar
 
+# Create the H2 data directory used by the prod profile
+mkdir -p /opt/employee-nexus/data
+
+# Unpack the jar and record an AppCDS archive with a training run that exits once the
+# context has refreshed. The archive is tied to this exact JVM, so it is built on the instance.
+# The release jar is built with -Pfast-startup, so it also carries Spring AOT output.
+java -Djarmode=tools -jar employee-nexus-api.jar extract --force --destination /opt/employee-nexus/app
+java -XX:ArchiveClassesAtExit=/opt/employee-nexus/app/application.jsa -Xlog:cds=error \
+    -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+    -jar /opt/employee-nexus/app/employee-nexus-api.jar \
+    --spring.profiles.active=prod --spring.datasource.url=jdbc:h2:mem:training --server.port=0
+
 # Set proper ownership
 chown -R employee-nexus:employee-nexus /opt/employee-nexus
 
@@ -29,8 +41,8 @@ cat > /opt/employee-nexus/application.yml << 'EOL'
 spring:
   application:
     name: employee-nexus-api
+  # The file URL and H2/Hikari tuning come from the packaged prod profile
   datasource:
-    url: jdbc:h2:file:/opt/employee-nexus/data/employeedb
     username: sa
     password: ${DB_PASSWORD}
     driver-class-name: org.h2.Driver
@@ -65,11 +77,14 @@ After=network.target
 [Service]
 Type=simple
 User=employee-nexus
+WorkingDirectory=/opt/employee-nexus
+Environment="SPRING_PROFILES_ACTIVE=prod"
 Environment="DB_PASSWORD=your-secure-password"
 Environment="ADMIN_USER=admin"
 Environment="ADMIN_PASSWORD=your-admin-password"
 Environment="JAVA_OPTS=-Xms512m -Xmx1024m -Djava.security.egd=file:/dev/./urandom"
-ExecStart=/usr/bin/java $JAVA_OPTS -jar /opt/employee-nexus/employee-nexus-api.jar
+Environment="FAST_STARTUP_OPTS=-XX:SharedArchiveFile=/opt/employee-nexus/app/application.jsa -Dspring.aot.enabled=true"
+ExecStart=/usr/bin/java $JAVA_OPTS $FAST_STARTUP_OPTS -jar /opt/employee-nexus/app/employee-nexus-api.jar
 SuccessExitStatus=143
 TimeoutStopSec=10
 Restart=on-failure
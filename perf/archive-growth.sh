@@ -0,0 +1,11 @@
+#!/bin/bash
+# List and point-read latency as departed employees grow to 10x the active set, with the departed
+# rows soft-deleted in the hot table and then moved to employees_archive.
+#
+# Usage: perf/archive-growth.sh [active-employees]
+set -e
+source "$(dirname "$0")/lib.sh"
+
+ACTIVE="${1:-10000}"
+
+run_test_class com.bmo.perf.ArchiveGrowthBench "$ACTIVE" | tee "$OUT_DIR/archive-growth.txt"
@@ -0,0 +1,54 @@
+#!/bin/bash
+# Compares the blocking /api/v1 endpoints against the /api/v1/async variants under
+# high concurrency: latency percentiles, 503 rejections and peak JVM thread count.
+#
+# Usage: perf/async-load-compare.sh [concurrency] [requests] [employees]
+set -e
+source "$(dirname "$0")/lib.sh"
+
+CONCURRENCY="${1:-200}"
+REQUESTS="${2:-4000}"
+EMPLOYEES="${3:-2000}"
+
+sync_page() {
+    echo "$BASE_URL/api/v1/employees?pageParam=$(( $1 % (EMPLOYEES / 100) ))&size=100&sort=name,asc"
+}
+
+async_page() {
+    echo "$BASE_URL/api/v1/async/employees?pageParam=$(( $1 % (EMPLOYEES / 100) ))&size=100&sort=name,asc"
+}
+
+# load <requests> <url-generator-function>
+# Issues the requests <concurrency> at a time and prints "status latency_ms" per line.
+load() {
+    local count="$1" gen="$2" i
+    for ((i = 0; i < count; i++)); do
+        $gen "$i"
+    done | xargs -P "$CONCURRENCY" -I{} curl -s -o /dev/null -u "$AUTH" \
+        -w '%{http_code} %{time_total}\n' {} \
+        | awk '{ printf "%s %.3f\n", $1, $2 * 1000 }'
+}
+
+metric() {
+    curl -s -u "$AUTH" "$BASE_URL/actuator/metrics/$1" | sed -E 's/.*"value":([0-9.E]+).*/\1/'
+}
+
+run() {
+    local label="$1" gen="$2"
+    start_app "async-load-$label" --spring.jpa.show-sql=false > /dev/null
+    wait_ready > /dev/null
+    seed "$EMPLOYEES"
+    load 200 "$gen" > /dev/null
+    load "$REQUESTS" "$gen" > "$OUT_DIR/async-load-$label.txt"
+    local rejected
+    rejected=$(awk '$1 == 503' "$OUT_DIR/async-load-$label.txt" | wc -l)
+    printf "%-6s %10s %10s %10s %9s %13s\n" "$label" \
+        $(awk '$1 == 200 { print $2 }' "$OUT_DIR/async-load-$label.txt" | percentiles) \
+        "$rejected" "$(metric jvm.threads.peak)"
+    stop_app
+}
+
+build_if_needed
+printf "%-6s %10s %10s %10s %9s %13s\n" variant p50_ms p99_ms max_ms rejected peak_threads
+run sync sync_page
+run async async_page
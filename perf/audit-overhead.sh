@@ -0,0 +1,11 @@
+#!/bin/bash
+# Update latency percentiles with the audit trail off, asynchronous (the default), asynchronous
+# with the writer held back until the round ends ("deferred"), and as an inline insert in each
+# update's transaction, in alternating rounds. The p99 should stay within 5% of the "off" p99
+# wherever the writer has a core of its own; "deferred" shows that on a single core.
+#
+# Usage: perf/audit-overhead.sh [threads] [updates] [rounds]
+set -e
+source "$(dirname "$0")/lib.sh"
+
+run_test_class com.bmo.perf.AuditOverheadBench "${1:-1}" "${2:-20000}" "${3:-5}" | tee "$OUT_DIR/audit-overhead.txt"
@@ -0,0 +1,34 @@
+#!/bin/bash
+# Loads a generated CSV through POST /api/v1/employees/import and compares the rate with
+# single-record POST /api/v1/employee calls.
+#
+# Usage: perf/bulk-import.sh [rows] [single-posts]
+set -e
+source "$(dirname "$0")/lib.sh"
+
+ROWS="${1:-200000}"
+SINGLE="${2:-500}"
+CSV_FILE="$OUT_DIR/bulk-import.csv"
+
+awk -v n="$ROWS" 'BEGIN {
+    print "name,department"
+    for (i = 1; i <= n; i++) printf "Employee %d,Dept %d\n", i, i % 20
+}' > "$CSV_FILE"
+
+build_if_needed
+start_app bulk-import --spring.jpa.show-sql=false > /dev/null
+wait_ready > /dev/null
+
+start=$(now_ms)
+seed "$SINGLE"
+single_ms=$(( $(now_ms) - start ))
+
+start=$(now_ms)
+curl -s -u "$AUTH" -H 'Content-Type: text/csv' --data-binary @"$CSV_FILE" \
+    "$BASE_URL/api/v1/employees/import?jobId=perf-$start" > "$OUT_DIR/bulk-import-job.json"
+import_ms=$(( $(now_ms) - start ))
+
+printf "%-14s %10s %10s %12s\n" method rows ms rows_per_s
+printf "%-14s %10s %10s %12s\n" single-post "$SINGLE" "$single_ms" $(( SINGLE * 1000 / (single_ms > 0 ? single_ms : 1) ))
+printf "%-14s %10s %10s %12s\n" bulk-import "$ROWS" "$import_ms" $(( ROWS * 1000 / (import_ms > 0 ? import_ms : 1) ))
+echo "job: $(cut -c1-200 "$OUT_DIR/bulk-import-job.json")"
@@ -0,0 +1,43 @@
+#!/bin/bash
+# Two instances with the cluster profile on one file-backed H2 database. Each round renames an
+# employee through node A and reads it back from node B, whose cache holds the old name, until the
+# new name is served. Prints the observed staleness and node B's employee.changelog.lag.
+#
+# Usage: perf/cluster-coherence.sh [rounds]
+set -e
+source "$(dirname "$0")/lib.sh"
+
+ROUNDS="${1:-50}"
+PORT_B=$(( PORT + 1 ))
+URL_B="http://localhost:$PORT_B"
+DATA_DIR="$(mktemp -d)"
+NAME_PATTERN='s/.*"name":"\([^"]*\)".*/\1/'
+
+build_if_needed
+start_app cluster-a --spring.profiles.active=cluster --employee-nexus.h2.data-dir="$DATA_DIR"
+wait_ready > /dev/null
+PORT=$PORT_B start_app cluster-b --spring.profiles.active=cluster --employee-nexus.h2.data-dir="$DATA_DIR"
+wait_ready "$URL_B" > /dev/null
+
+id=$(curl -s -u "$AUTH" -H 'Content-Type: application/json' -d '{"name":"Round 0","department":"Perf"}' \
+    "$BASE_URL/api/v1/employee" | sed 's/.*"id":\([0-9]*\).*/\1/')
+
+for ((round = 1; round <= ROUNDS; round++)); do
+    # Make sure node B has the current state cached before the write.
+    until [ "$(curl -s -u "$AUTH" "$URL_B/api/v1/employee/$id" | sed "$NAME_PATTERN")" = "Round $(( round - 1 ))" ]; do
+        sleep 0.01
+    done
+    version=$(curl -s -u "$AUTH" "$BASE_URL/api/v1/employee/$id" | sed 's/.*"version":\([0-9]*\).*/\1/')
+    curl -s -o /dev/null -u "$AUTH" -X PUT -H 'Content-Type: application/json' \
+        -d "{\"name\":\"Round $round\",\"department\":\"Perf\",\"version\":$version}" "$BASE_URL/api/v1/employee/$id"
+    written=$(now_ms)
+    until [ "$(curl -s -u "$AUTH" "$URL_B/api/v1/employee/$id" | sed "$NAME_PATTERN")" = "Round $round" ]; do
+        :
+    done
+    echo $(( $(now_ms) - written ))
+done > "$OUT_DIR/cluster-coherence.txt"
+
+echo "rounds: $ROUNDS"
+echo "stale reads on node B after a write on node A, ms (p50 p99 max): $(percentiles < "$OUT_DIR/cluster-coherence.txt")"
+echo "node B employee.changelog.lag: $(curl -s -u "$AUTH" "$URL_B/actuator/metrics/employee.changelog.lag" | tr -d '\n' \
+    | sed 's/.*"measurements":\(\[[^]]*\]\).*/\1/')"
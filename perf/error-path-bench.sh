@@ -0,0 +1,9 @@
+#!/bin/bash
+# Time and allocation per request on the 404 and validation error paths, before and after
+# the stackless exceptions and pre-encoded error bodies (JMH with the GC profiler).
+#
+# Usage: perf/error-path-bench.sh
+set -e
+source "$(dirname "$0")/lib.sh"
+
+run_test_class com.bmo.perf.ErrorPathBenchmark | tee "$OUT_DIR/error-path-bench.txt"
@@ -0,0 +1,46 @@
+#!/bin/bash
+# Compares cold and warm read latency of a file-backed H2 database with the
+# default settings against the tuned prod profile.
+#
+# Usage: perf/h2-profile-bench.sh [employees] [requests-per-phase]
+set -e
+source "$(dirname "$0")/lib.sh"
+
+EMPLOYEES="${1:-20000}"
+REQUESTS="${2:-500}"
+
+random_read() {
+    if (( $1 % 4 == 0 )); then
+        echo "$BASE_URL/api/v1/employees?pageParam=$(( RANDOM % 100 ))&size=50&sort=name,asc"
+    else
+        echo "$BASE_URL/api/v1/employee/$(( (RANDOM * 32768 + RANDOM) % EMPLOYEES + 1 ))"
+    fi
+}
+
+run_variant() {
+    local label="$1"; shift
+    local data_dir="$OUT_DIR/h2-$label"
+    rm -rf "$data_dir" && mkdir -p "$data_dir"
+
+    start_app "$label-seed" "$@" --employee-nexus.h2.data-dir="$data_dir" > /dev/null
+    wait_ready > /dev/null
+    seed "$EMPLOYEES"
+    stop_app
+
+    start_app "$label" "$@" --employee-nexus.h2.data-dir="$data_dir"
+    local ready_ms; ready_ms=$(wait_ready)
+    local cold warm
+    cold=$(timings "$REQUESTS" random_read | percentiles)
+    warm=$(timings "$REQUESTS" random_read | percentiles)
+    stop_app
+
+    printf "%-10s %10s %12s %12s %12s %12s\n" "$label" "$ready_ms" \
+        "$(echo "$cold" | cut -d' ' -f1)" "$(echo "$cold" | cut -d' ' -f2)" \
+        "$(echo "$warm" | cut -d' ' -f1)" "$(echo "$warm" | cut -d' ' -f2)"
+}
+
+build_if_needed
+printf "%-10s %10s %12s %12s %12s %12s\n" variant ready_ms cold_p50 cold_p99 warm_p50 warm_p99
+run_variant default \
+    --spring.datasource.url='jdbc:h2:file:${employee-nexus.h2.data-dir}/employeedb'
+run_variant prod --spring.profiles.active=prod
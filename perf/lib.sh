@@ -0,0 +1,109 @@
+#!/bin/bash
+# Shared helpers for the scripts in perf/. Source this file; do not run it directly.
+#
+# Requires: java 17, curl, awk. The application jar is built on demand.
+
+PERF_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+PROJECT_DIR="$(dirname "$PERF_DIR")"
+OUT_DIR="${OUT_DIR:-$PROJECT_DIR/target/perf}"
+PORT="${PORT:-8080}"
+BASE_URL="http://localhost:$PORT"
+AUTH="${AUTH:-admin:password}"
+APP_PID=""
+APP_PIDS=()
+
+mkdir -p "$OUT_DIR"
+
+app_jar() {
+    ls "$PROJECT_DIR"/target/employee-nexus-api-*.jar 2>/dev/null | grep -v original | head -1
+}
+
+build_if_needed() {
+    if [ -z "$(app_jar)" ]; then
+        (cd "$PROJECT_DIR" && bash ./mvnw -B -q -DskipTests package)
+    fi
+}
+
+now_ms() {
+    date +%s%3N
+}
+
+# start_app <label> [extra application args...]
+# Honours JAVA_OPTS, PORT and APP_CMD (to launch something other than `java -jar`).
+# Several instances may run at once; stop_app stops them all.
+start_app() {
+    local label="$1"; shift
+    local cmd="${APP_CMD:-java $JAVA_OPTS -jar $(app_jar)}"
+    START_MS=$(now_ms)
+    $cmd --server.port="$PORT" "$@" > "$OUT_DIR/$label.log" 2>&1 &
+    APP_PID=$!
+    APP_PIDS+=("$APP_PID")
+}
+
+# wait_ready [base-url]
+# Blocks until the readiness probe of the latest instance reports UP and prints the elapsed milliseconds.
+wait_ready() {
+    local url="${1:-$BASE_URL}"
+    until curl -sf "$url/actuator/health/readiness" > /dev/null 2>&1; do
+        if ! kill -0 "$APP_PID" 2>/dev/null; then
+            echo "application exited during startup, see $OUT_DIR" >&2
+            return 1
+        fi
+        sleep 0.05
+    done
+    echo $(( $(now_ms) - START_MS ))
+}
+
+stop_app() {
+    local pid
+    for pid in "${APP_PIDS[@]}"; do
+        kill "$pid" 2>/dev/null || true
+    done
+    for pid in "${APP_PIDS[@]}"; do
+        wait "$pid" 2>/dev/null || true
+    done
+    APP_PID=""
+    APP_PIDS=()
+}
+
+# seed <count> [parallelism]
+seed() {
+    local count="$1" parallel="${2:-8}"
+    # The department is derived per row inside the child shell, so the 20 departments are spread evenly.
+    seq 1 "$count" | xargs -P "$parallel" -I{} sh -c 'curl -s -o /dev/null -u "$1" \
+        -H "Content-Type: application/json" \
+        -d "{\"name\":\"Employee $2\",\"department\":\"Dept $(( $2 % 20 ))\"}" \
+        "$3/api/v1/employee"' seed "$AUTH" {} "$BASE_URL"
+}
+
+# timings <count> <url-generator-function>
+# Issues <count> sequential requests and prints one latency in milliseconds per line.
+timings() {
+    local count="$1" gen="$2" i
+    for ((i = 0; i < count; i++)); do
+        curl -s -o /dev/null -u "$AUTH" -w '%{time_total}\n' "$($gen "$i")"
+    done | awk '{ printf "%.3f\n", $1 * 1000 }'
+}
+
+# Reads latencies (ms) on stdin and prints "p50 p99 max".
+percentiles() {
+    sort -n | awk '{ v[NR] = $1 } END {
+        if (NR == 0) { print "n/a n/a n/a"; exit }
+        p50 = v[int(NR * 0.50) > 0 ? int(NR * 0.50) : 1]
+        p99 = v[int(NR * 0.99) > 0 ? int(NR * 0.99) : 1]
+        printf "%s %s %s\n", p50, p99, v[NR]
+    }'
+}
+
+# run_test_class <main-class> [args...]
+# Compiles the tests and runs a harness from src/test/java on the test classpath. Honours JAVA_OPTS.
+run_test_class() {
+    local main="$1"; shift
+    (cd "$PROJECT_DIR" && bash ./mvnw -B -q test-compile dependency:build-classpath \
+        -Dmdep.outputFile="$OUT_DIR/test-classpath.txt" -Dmdep.includeScope=test)
+    java $JAVA_OPTS \
+        -cp "$PROJECT_DIR/target/test-classes:$PROJECT_DIR/target/classes:$(cat "$OUT_DIR/test-classpath.txt")" \
+        "$main" "$@"
+}
+
+trap stop_app EXIT
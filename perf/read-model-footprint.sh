@@ -0,0 +1,12 @@
+#!/bin/bash
+# Heap retained per million employees: EmployeeEntity objects vs the in-memory read model,
+# plus the time to serve a 1000-row page from the model.
+#
+# Usage: perf/read-model-footprint.sh [employees]
+set -e
+source "$(dirname "$0")/lib.sh"
+
+EMPLOYEES="${1:-1000000}"
+
+JAVA_OPTS="${JAVA_OPTS:--Xmx2g}" run_test_class com.bmo.perf.ReadModelFootprint "$EMPLOYEES" \
+    | tee "$OUT_DIR/read-model-footprint.txt"
@@ -0,0 +1,19 @@
+#!/bin/bash
+# Overhead of the Server-Timing interceptor on a repository call, unsampled and sampled (JMH),
+# then the header of one fully sampled request against the running jar.
+#
+# Usage: perf/server-timing-bench.sh [employees]
+set -e
+source "$(dirname "$0")/lib.sh"
+
+EMPLOYEES="${1:-200}"
+
+run_test_class com.bmo.perf.ServerTimingBenchmark | tee "$OUT_DIR/server-timing-bench.txt"
+
+build_if_needed
+start_app server-timing --employee-nexus.server-timing.sample-rate=1 > /dev/null
+wait_ready > /dev/null
+seed "$EMPLOYEES"
+
+curl -s -o /dev/null -D - -u "$AUTH" "$BASE_URL/api/v1/employees?pageParam=0&size=100&sort=name,asc" \
+    | grep -i '^server-timing'
@@ -0,0 +1,36 @@
+#!/bin/bash
+# Compares response size and latency of full 1000-row list pages against the
+# same pages requested with a sparse fieldset (fields=id,name).
+#
+# Usage: perf/sparse-fields-bench.sh [employees] [requests]
+set -e
+source "$(dirname "$0")/lib.sh"
+
+EMPLOYEES="${1:-5000}"
+REQUESTS="${2:-200}"
+PAGES=$(( EMPLOYEES / 1000 > 0 ? EMPLOYEES / 1000 : 1 ))
+
+full_page() {
+    echo "$BASE_URL/api/v1/employees?pageParam=$(( $1 % PAGES ))&size=1000&sort=name,asc"
+}
+
+sparse_page() {
+    echo "$(full_page "$1")&fields=id,name"
+}
+
+bytes() {
+    curl -s -o /dev/null -u "$AUTH" -w '%{size_download}' "$($1 0)"
+}
+
+build_if_needed
+start_app sparse-fields --spring.jpa.show-sql=false > /dev/null
+wait_ready > /dev/null
+seed "$EMPLOYEES"
+
+# Let both paths warm up before measuring.
+timings 50 full_page > /dev/null
+timings 50 sparse_page > /dev/null
+
+printf "%-8s %12s %10s %10s %10s\n" variant bytes p50_ms p99_ms max_ms
+printf "%-8s %12s %10s %10s %10s\n" full "$(bytes full_page)" $(timings "$REQUESTS" full_page | percentiles)
+printf "%-8s %12s %10s %10s %10s\n" id,name "$(bytes sparse_page)" $(timings "$REQUESTS" sparse_page | percentiles)
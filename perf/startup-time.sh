@@ -0,0 +1,44 @@
+#!/bin/bash
+# Measures JVM-start-to-ready (as logged by Spring Boot) and launch-to-first-served-request for the plain
+# fat jar and for the fast-startup build (Spring AOT + AppCDS archive).
+#
+# Usage: perf/startup-time.sh [runs]
+set -e
+source "$(dirname "$0")/lib.sh"
+
+RUNS="${1:-5}"
+FAST_DIR="$PROJECT_DIR/target/fast-startup"
+
+# Polls a real API call until it succeeds and prints the elapsed milliseconds.
+wait_first_request() {
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' -u "$AUTH" "$BASE_URL/api/v1/employees?size=1")" = "200" ]; do
+        kill -0 "$APP_PID" 2>/dev/null || { echo "application exited during startup" >&2; return 1; }
+        sleep 0.02
+    done
+    echo $(( $(now_ms) - START_MS ))
+}
+
+measure() {
+    local label="$1" run ready first ready_all="" first_all=""
+    for ((run = 1; run <= RUNS; run++)); do
+        start_app "$label-$run" --spring.datasource.url=jdbc:h2:mem:startup
+        first=$(wait_first_request)
+        stop_app
+        # Spring Boot logs the JVM uptime at which the context was ready.
+        ready=$(grep -o 'process running for [0-9.]*' "$OUT_DIR/$label-$run.log" | awk '{ printf "%d", $4 * 1000 }')
+        ready_all+="$ready"$'\n'
+        first_all+="$first"$'\n'
+    done
+    printf "%-14s %14s %22s\n" "$label" \
+        "$(printf '%s' "$ready_all" | percentiles | cut -d' ' -f1)" \
+        "$(printf '%s' "$first_all" | percentiles | cut -d' ' -f1)"
+}
+
+(cd "$PROJECT_DIR" && bash ./mvnw -B -q -DskipTests -Pfast-startup clean package) > /dev/null
+mkdir -p "$OUT_DIR"
+
+printf "%-14s %14s %22s\n" variant median_ready_ms median_first_request_ms
+APP_CMD="java $JAVA_OPTS -jar $(app_jar)" measure fat-jar
+APP_CMD="java $JAVA_OPTS -jar $FAST_DIR/$(basename "$(app_jar)")" measure extracted
+APP_CMD="java $JAVA_OPTS -XX:SharedArchiveFile=$FAST_DIR/application.jsa -Dspring.aot.enabled=true -jar $FAST_DIR/$(basename "$(app_jar)")" \
+    measure aot+cds
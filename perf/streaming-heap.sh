@@ -0,0 +1,13 @@
+#!/bin/bash
+# Peak live heap, body size and time for one list page of each size, buffered (streaming
+# threshold 0) vs streamed, and on the async and includeArchived paths, which reject pages above
+# the threshold. A small young generation makes collections frequent enough to
+# sample the live heap during a request.
+#
+# Usage: perf/streaming-heap.sh [page-sizes]
+set -e
+source "$(dirname "$0")/lib.sh"
+
+JAVA_OPTS="${JAVA_OPTS:--Xmx512m -Xmn16m -XX:+UseSerialGC}" \
+    run_test_class com.bmo.perf.StreamingHeapBench ${1:+"$1"} \
+    | tee "$OUT_DIR/streaming-heap.txt"
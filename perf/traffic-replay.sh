@@ -0,0 +1,16 @@
+#!/bin/bash
+# Replays a traffic log recorded with employee-nexus.traffic-record.enabled=true against a local
+# instance, at the recorded timing or a speed-up factor, and prints per-endpoint latency
+# percentiles. Given the report of an earlier run, p50 and p99 changes are shown next to it.
+#
+# Usage: perf/traffic-replay.sh <traffic-log> [speed-up] [baseline-report]
+set -e
+source "$(dirname "$0")/lib.sh"
+
+if [ -z "$1" ]; then
+    echo "usage: $0 <traffic-log> [speed-up] [baseline-report]" >&2
+    exit 2
+fi
+REPORT="$OUT_DIR/traffic-replay-$(date +%Y%m%d-%H%M%S).tsv"
+
+run_test_class com.bmo.perf.TrafficReplayer "$1" "$REPORT" "${2:-1}" ${3:+"$3"}
@@ -0,0 +1,24 @@
+package com.bmo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for moving deleted employees from the hot table to {@code employees_archive}.
+ *
+ * @param enabled Whether the background archiver runs
+ * @param interval Delay between the end of one archiving run and the start of the next
+ * @param retention Time a deleted employee stays in the hot table before it is archived
+ * @param batchSize Rows moved per transaction
+ * @param rowsPerSecond Upper bound on the archiving rate, so a backlog is drained without starving request traffic
+ */
+@ConfigurationProperties(prefix = "employee-nexus.archive")
+public record ArchiveProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("1m") Duration interval,
+    @DefaultValue("0s") Duration retention,
+    @DefaultValue("500") int batchSize,
+    @DefaultValue("5000") int rowsPerSecond
+) {}
@@ -0,0 +1,61 @@
+package com.bmo.config;
+
+import com.bmo.service.Bulkheads;
+import com.bmo.service.ConcurrencyLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded executor for the asynchronous employee endpoints.
+ * By default it has one worker per connection the bulk bulkhead may use, or per pooled connection
+ * when bulkheads are off, so queued work waits here instead of inside the connection pool and
+ * never uses the connections reserved for interactive requests. When the queue is full, new
+ * tasks are rejected.
+ */
+@Configuration
+public class AsyncExecutorConfig {
+    public static final String EMPLOYEE_EXECUTOR = "employeeServiceExecutor";
+    /** The thread pool under {@link #EMPLOYEE_EXECUTOR}, for removing cancelled work from its queue. */
+    public static final String EMPLOYEE_THREAD_POOL = "employeeServiceThreadPool";
+
+    @Bean(name = EMPLOYEE_THREAD_POOL, destroyMethod = "shutdown")
+    public ThreadPoolExecutor employeeServiceThreadPool(
+        AsyncExecutorProperties properties,
+        DataSource dataSource,
+        @Nullable Bulkheads bulkheads
+    ) {
+        ConcurrencyLimiter bulk = bulkheads != null ? bulkheads.get(Bulkheads.BULK) : null;
+        int poolSize = properties.poolSize() > 0 ? properties.poolSize()
+            : bulk != null ? bulk.limit() : HikariPools.maximumPoolSize(dataSource);
+        return new ThreadPoolExecutor(
+            poolSize, poolSize,
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(properties.queueCapacity()),
+            new CustomizableThreadFactory("employee-async-"),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @Bean(name = EMPLOYEE_EXECUTOR)
+    public ExecutorService employeeServiceExecutor(
+        @Qualifier(EMPLOYEE_THREAD_POOL) ThreadPoolExecutor threadPool,
+        MeterRegistry meterRegistry
+    ) {
+        // Publishes executor.active/queued/completed/pool.* plus task execution and idle timers.
+        ExecutorService monitored = ExecutorServiceMetrics.monitor(meterRegistry, threadPool, "employee.async");
+        // Carries the caller's SecurityContext onto the worker thread.
+        return new DelegatingSecurityContextExecutorService(monitored);
+    }
+}
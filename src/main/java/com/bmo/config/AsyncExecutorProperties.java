@@ -0,0 +1,21 @@
+package com.bmo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the executor that runs the asynchronous employee endpoints.
+ *
+ * @param poolSize Worker threads; 0 sizes the pool to the bulk bulkhead's connection budget, or to the
+ *                 datasource connection pool when bulkheads are off
+ * @param queueCapacity Tasks allowed to wait for a worker before new requests are rejected with 503
+ * @param timeout Time a request may wait for its result before it fails with 503
+ */
+@ConfigurationProperties(prefix = "employee-nexus.async")
+public record AsyncExecutorProperties(
+    @DefaultValue("0") int poolSize,
+    @DefaultValue("100") int queueCapacity,
+    @DefaultValue("2s") Duration timeout
+) {}
@@ -0,0 +1,39 @@
+package com.bmo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the audit trail of employee mutations.
+ *
+ * @param enabled Whether committed mutations are recorded in {@code employee_audit}
+ * @param capacity Records buffered between committing requests and the writer; rounded up to a power of two
+ * @param batchSize Records inserted per statement batch
+ * @param flushInterval Longest time a record waits in the buffer when there is less than a batch
+ * @param overflow What a request does when the buffer is full
+ * @param blockTimeout How long {@link Overflow#BLOCK} waits for space before writing the record itself
+ * @param shutdownTimeout How long shutdown waits for buffered records to be written
+ */
+@ConfigurationProperties(prefix = "employee-nexus.audit")
+public record AuditProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("8192") int capacity,
+    @DefaultValue("500") int batchSize,
+    @DefaultValue("100ms") Duration flushInterval,
+    @DefaultValue("BLOCK") Overflow overflow,
+    @DefaultValue("50ms") Duration blockTimeout,
+    @DefaultValue("10s") Duration shutdownTimeout
+) {
+    public enum Overflow {
+        /**
+         * Wait for the writer to free space, then write the record on the request thread. No record is lost.
+         */
+        BLOCK,
+        /**
+         * Discard the record and count it in {@code employee.audit.dropped}. Requests are never slowed down.
+         */
+        DROP
+    }
+}
@@ -0,0 +1,16 @@
+package com.bmo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Limits for multi-get lookups.
+ *
+ * @param chunkSize Maximum number of ids bound into a single {@code IN (...)} query
+ * @param maxIds Maximum number of ids accepted per request
+ */
+@ConfigurationProperties(prefix = "employee-nexus.batch-lookup")
+public record BatchLookupProperties(
+    @DefaultValue("100") int chunkSize,
+    @DefaultValue("1000") int maxIds
+) {}
@@ -0,0 +1,76 @@
+package com.bmo.config;
+
+import com.bmo.controller.BulkheadInterceptor;
+import com.bmo.service.Bulkheads;
+import com.bmo.service.ConcurrencyLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Builds one {@link ConcurrencyLimiter} per configured bulkhead and guards annotated handlers
+ * with them. The async executor and import writers take their permits from the same
+ * {@link Bulkheads}, so connections used off the request thread count against the budget too.
+ * <p>
+ * With open-in-view, a request holds at most one pooled connection until it completes, so a
+ * bulkhead's concurrency limit is also its connection budget. Each bulkhead is capped at the
+ * pool size minus the connections the other bulkheads reserve, which keeps those connections
+ * free for them however saturated this one is.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "employee-nexus.bulkhead", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BulkheadConfig {
+    private static final Logger log = LoggerFactory.getLogger(BulkheadConfig.class);
+
+    @Bean
+    public Bulkheads bulkheads(
+        BulkheadProperties properties,
+        DataSource dataSource,
+        MeterRegistry meterRegistry
+    ) {
+        int poolSize = HikariPools.maximumPoolSize(dataSource);
+        int reserved = properties.compartments().values().stream()
+            .mapToInt(BulkheadProperties.Compartment::reservedConnections)
+            .sum();
+        Map<String, ConcurrencyLimiter> limiters = new TreeMap<>();
+        properties.compartments().forEach((name, compartment) -> {
+            int available = poolSize - (reserved - compartment.reservedConnections());
+            int limit = compartment.maxConcurrent() > 0 ? Math.min(compartment.maxConcurrent(), available) : available;
+            if (limit < 1) {
+                log.warn("Bulkhead '{}' has no connections left after reservations; allowing 1", name);
+            }
+            limiters.put(name, new ConcurrencyLimiter(
+                name, limit, compartment.maxQueue(), compartment.maxWait(), meterRegistry));
+        });
+        log.info("Bulkheads over a pool of {} connections: {}", poolSize, limiters.entrySet().stream()
+            .map(entry -> entry.getKey() + "=" + entry.getValue().limit())
+            .toList());
+        return new Bulkheads(limiters);
+    }
+
+    @Bean
+    public BulkheadInterceptor bulkheadInterceptor(Bulkheads bulkheads) {
+        return new BulkheadInterceptor(bulkheads);
+    }
+
+    @Bean
+    public WebMvcConfigurer bulkheadWebMvcConfigurer(BulkheadInterceptor bulkheadInterceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                // Outermost, so the permit is released only after open-in-view has returned the connection.
+                registry.addInterceptor(bulkheadInterceptor).order(Ordered.HIGHEST_PRECEDENCE);
+            }
+        };
+    }
+}
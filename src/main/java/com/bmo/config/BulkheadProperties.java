@@ -0,0 +1,33 @@
+package com.bmo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Settings for the request bulkheads that keep endpoint classes from starving each other.
+ *
+ * @param enabled Whether annotated handlers are limited
+ * @param compartments Limits per bulkhead name, as used in {@code @Bulkhead}
+ */
+@ConfigurationProperties(prefix = "employee-nexus.bulkhead")
+public record BulkheadProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue Map<String, Compartment> compartments
+) {
+    /**
+     * @param maxConcurrent Requests in the handler at once; 0 allows as many as there are pooled
+     *                      connections not reserved by other bulkheads
+     * @param maxQueue Requests allowed to wait for a permit; 0 rejects at once with 503
+     * @param maxWait Time a queued request waits before it is rejected with 503
+     * @param reservedConnections Pooled connections the other bulkheads may not use
+     */
+    public record Compartment(
+        @DefaultValue("0") int maxConcurrent,
+        @DefaultValue("0") int maxQueue,
+        @DefaultValue("0ms") Duration maxWait,
+        @DefaultValue("0") int reservedConnections
+    ) {}
+}
@@ -0,0 +1,27 @@
+package com.bmo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the employee change log that keeps in-process caches coherent across instances
+ * sharing one database.
+ *
+ * @param enabled Whether mutations are logged and other instances' changes are tailed
+ * @param pollInterval Delay between polls of the log
+ * @param maxStaleness Caches and the read model are bypassed when the last completed poll started longer ago than this
+ * @param batchSize Log entries read per query; a poll keeps reading until it has caught up
+ * @param gapTimeout How long a missing sequence number is waited for before it is taken as a rolled-back transaction
+ * @param retention Age at which log entries are pruned
+ */
+@ConfigurationProperties(prefix = "employee-nexus.change-log")
+public record ChangeLogProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("250ms") Duration pollInterval,
+    @DefaultValue("2s") Duration maxStaleness,
+    @DefaultValue("500") int batchSize,
+    @DefaultValue("10s") Duration gapTimeout,
+    @DefaultValue("10m") Duration retention
+) {}
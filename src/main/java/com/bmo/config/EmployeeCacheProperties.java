@@ -0,0 +1,18 @@
+package com.bmo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the in-process cache of employees and list pages.
+ *
+ * @param enabled Whether single employees and list pages are cached
+ * @param maxEmployees Employees cached before new ones are no longer added
+ * @param maxPages List pages cached before new ones are no longer added
+ */
+@ConfigurationProperties(prefix = "employee-nexus.cache")
+public record EmployeeCacheProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("10000") int maxEmployees,
+    @DefaultValue("1000") int maxPages
+) {}
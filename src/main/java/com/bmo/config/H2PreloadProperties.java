@@ -0,0 +1,16 @@
+package com.bmo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for warming the H2 page cache before the application reports ready.
+ *
+ * @param enabled Whether hot pages are preloaded on startup
+ * @param maxRows Upper bound on the number of employee rows scanned during preload
+ */
+@ConfigurationProperties(prefix = "employee-nexus.h2.preload")
+public record H2PreloadProperties(
+    boolean enabled,
+    @DefaultValue("100000") int maxRows
+) {}
@@ -0,0 +1,27 @@
+package com.bmo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Looks through datasource wrappers, such as the SQL statistics proxy, for the Hikari pool.
+ */
+final class HikariPools {
+    static final int DEFAULT_POOL_SIZE = 10;
+
+    private HikariPools() {
+    }
+
+    static int maximumPoolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            // Fall through to the default size
+        }
+        return DEFAULT_POOL_SIZE;
+    }
+}
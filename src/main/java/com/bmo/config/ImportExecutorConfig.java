@@ -0,0 +1,36 @@
+package com.bmo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writer threads for bulk imports. There is one thread per running import and no queue,
+ * so an import beyond {@code max-concurrent-jobs} is rejected instead of waiting.
+ */
+@Configuration
+public class ImportExecutorConfig {
+    public static final String IMPORT_EXECUTOR = "employeeImportExecutor";
+
+    @Bean(name = IMPORT_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService employeeImportExecutor(ImportProperties properties, MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            0, Math.max(1, properties.maxConcurrentJobs()),
+            60L, TimeUnit.SECONDS,
+            new SynchronousQueue<>(),
+            new CustomizableThreadFactory("employee-import-"),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        ExecutorService monitored = ExecutorServiceMetrics.monitor(meterRegistry, executor, "employee.import");
+        // Change events are handled on the writer thread, so it acts as the importing user.
+        return new DelegatingSecurityContextExecutorService(monitored);
+    }
+}
@@ -0,0 +1,20 @@
+package com.bmo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the bulk import endpoint.
+ *
+ * @param chunkSize Rows committed per transaction; also the resume granularity
+ * @param queueCapacity Parsed chunks that may wait for the writer before parsing blocks
+ * @param maxConcurrentJobs Imports that may run at once; more are rejected with 503
+ * @param maxReportedRejections Rejected lines stored per job for the report; all are counted
+ */
+@ConfigurationProperties(prefix = "employee-nexus.import")
+public record ImportProperties(
+    @DefaultValue("1000") int chunkSize,
+    @DefaultValue("4") int queueCapacity,
+    @DefaultValue("2") int maxConcurrentJobs,
+    @DefaultValue("1000") int maxReportedRejections
+) {}
@@ -0,0 +1,63 @@
+package com.bmo.config;
+
+import com.bmo.monitoring.RequestTiming;
+import com.bmo.monitoring.ServerTimingFilter;
+import com.bmo.monitoring.ServerTimingInterceptor;
+import com.bmo.monitoring.ServerTimingMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Installs per-layer request timing. The sampling filter is ordered just before Spring
+ * Security's filter chain and the marker filter just after it, so the time between them is
+ * the security cost of the request. Controllers, services and repositories are timed by
+ * advisors, which the auto-proxy creator applies like any other.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "employee-nexus.server-timing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ServerTimingConfig {
+
+    @Bean
+    public ServerTimingMetrics serverTimingMetrics(MeterRegistry meterRegistry) {
+        return new ServerTimingMetrics(meterRegistry);
+    }
+
+    @Bean
+    public static Advisor serverTimingControllerAdvisor() {
+        return ServerTimingInterceptor.advisor(ServerTimingInterceptor.CONTROLLERS, RequestTiming.Segment.CONTROLLER);
+    }
+
+    @Bean
+    public static Advisor serverTimingServiceAdvisor() {
+        return ServerTimingInterceptor.advisor(ServerTimingInterceptor.SERVICES, RequestTiming.Segment.SERVICE);
+    }
+
+    @Bean
+    public static Advisor serverTimingRepositoryAdvisor() {
+        return ServerTimingInterceptor.advisor(ServerTimingInterceptor.REPOSITORIES, RequestTiming.Segment.REPOSITORY);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(
+        ServerTimingProperties properties,
+        ServerTimingMetrics metrics
+    ) {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+            new FilterRegistrationBean<>(new ServerTimingFilter(properties.sampleRate(), metrics));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter.AfterSecurity> serverTimingAfterSecurityFilter() {
+        FilterRegistrationBean<ServerTimingFilter.AfterSecurity> registration =
+            new FilterRegistrationBean<>(new ServerTimingFilter.AfterSecurity());
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+}
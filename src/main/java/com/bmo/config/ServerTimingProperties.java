@@ -0,0 +1,17 @@
+package com.bmo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for per-layer request timing.
+ *
+ * @param enabled Whether the timing filters and aspects are installed at all
+ * @param sampleRate Fraction of requests, 0 to 1, that are timed; only those get a
+ *                   {@code Server-Timing} header and feed the segment histograms
+ */
+@ConfigurationProperties(prefix = "employee-nexus.server-timing")
+public record ServerTimingProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("0.01") double sampleRate
+) {}
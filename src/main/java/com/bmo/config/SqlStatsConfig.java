@@ -0,0 +1,66 @@
+package com.bmo.config;
+
+import com.bmo.monitoring.SlowQueryLog;
+import com.bmo.monitoring.SqlStatistics;
+import com.bmo.monitoring.SqlStatsListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.proxy.NanoTimeStopwatchFactory;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application {@link DataSource} in a datasource-proxy {@link ProxyDataSource} that
+ * reports every statement to {@link SqlStatsListener}. The proxy delegates {@code unwrap} and
+ * {@code isWrapperFor}, so code that reaches for the Hikari pool keeps working.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "employee-nexus.sql-stats", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatsConfig {
+
+    @Bean
+    public SqlStatistics sqlStatistics(SqlStatsProperties properties) {
+        return new SqlStatistics(properties.maxFingerprints());
+    }
+
+    @Bean
+    public SlowQueryLog slowQueryLog(SqlStatsProperties properties, MeterRegistry meterRegistry) {
+        return new SlowQueryLog(properties.logQueueCapacity(), meterRegistry);
+    }
+
+    @Bean
+    public SqlStatsListener sqlStatsListener(SqlStatistics statistics, SlowQueryLog slowQueryLog,
+                                             SqlStatsProperties properties) {
+        return new SqlStatsListener(statistics, slowQueryLog,
+            properties.slowThreshold(), properties.parameterSamples());
+    }
+
+    /**
+     * Static, and resolving the listener lazily, so that registering the post-processor does not
+     * initialize the statistics beans before the rest of the context.
+     */
+    @Bean
+    public static BeanPostProcessor sqlStatsDataSourceProxy(ObjectProvider<SqlStatsListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                ProxyDataSource proxy = new ProxyDataSource(dataSource);
+                proxy.setProxyConfig(ProxyConfig.Builder.create()
+                    .dataSourceName(beanName)
+                    .queryListener(listener.getObject())
+                    .stopwatchFactory(new NanoTimeStopwatchFactory())
+                    .build());
+                return proxy;
+            }
+        };
+    }
+}
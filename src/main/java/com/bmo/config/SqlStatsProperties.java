@@ -0,0 +1,24 @@
+package com.bmo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for per-fingerprint SQL statistics and the slow-query log.
+ *
+ * @param enabled Whether the datasource is proxied to collect statistics
+ * @param slowThreshold Statements at or above this execution time are logged with their parameters
+ * @param maxFingerprints Distinct fingerprints tracked; statements beyond this are counted under {@code (other)}
+ * @param parameterSamples Parameter sets logged per slow statement; batches log only the first few
+ * @param logQueueCapacity Slow statements waiting to be logged before new ones are dropped
+ */
+@ConfigurationProperties(prefix = "employee-nexus.sql-stats")
+public record SqlStatsProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("100ms") Duration slowThreshold,
+    @DefaultValue("500") int maxFingerprints,
+    @DefaultValue("3") int parameterSamples,
+    @DefaultValue("256") int logQueueCapacity
+) {}
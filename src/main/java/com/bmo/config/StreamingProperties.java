@@ -0,0 +1,14 @@
+package com.bmo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for writing large list pages row by row instead of buffering them.
+ *
+ * @param threshold Page size above which a list page is streamed; {@code 0} never streams
+ */
+@ConfigurationProperties(prefix = "employee-nexus.streaming")
+public record StreamingProperties(
+    @DefaultValue("1000") int threshold
+) {}
@@ -0,0 +1,37 @@
+package com.bmo.config;
+
+import com.bmo.monitoring.TrafficRecordFilter;
+import com.bmo.monitoring.TrafficRecorder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Records API traffic for replay. The filter runs ahead of Spring Security and the Server-Timing
+ * filters, so recorded durations cover the whole request.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "employee-nexus.traffic-record", name = "enabled", havingValue = "true")
+public class TrafficRecordConfig {
+
+    @Bean(destroyMethod = "close")
+    public TrafficRecorder trafficRecorder(TrafficRecordProperties properties, MeterRegistry meterRegistry)
+            throws IOException {
+        return new TrafficRecorder(Path.of(properties.directory()), properties.maxSize().toBytes(),
+            properties.bufferCapacity(), meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<TrafficRecordFilter> trafficRecordFilter(TrafficRecorder recorder) {
+        FilterRegistrationBean<TrafficRecordFilter> registration =
+            new FilterRegistrationBean<>(new TrafficRecordFilter(recorder));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 2);
+        return registration;
+    }
+}
@@ -0,0 +1,21 @@
+package com.bmo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for recording the shape of API requests for later replay.
+ *
+ * @param enabled Whether API requests are recorded
+ * @param directory Directory that receives one {@code traffic-<timestamp>.bin} log per run
+ * @param maxSize Size at which recording stops
+ * @param bufferCapacity Requests waiting to be written; more are dropped and counted in {@code traffic.record.dropped}
+ */
+@ConfigurationProperties(prefix = "employee-nexus.traffic-record")
+public record TrafficRecordProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("./traffic") String directory,
+    @DefaultValue("256MB") DataSize maxSize,
+    @DefaultValue("65536") int bufferCapacity
+) {}
@@ -0,0 +1,22 @@
+package com.bmo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Retry policy for updates that lose an optimistic locking race.
+ * A losing update is only re-applied when the winning write left the fields
+ * being updated untouched; overlapping edits still surface as a conflict.
+ *
+ * @param maxAttempts Total attempts per update, including the first (1 disables retries)
+ * @param initialBackoff Upper bound of the jittered delay before the first retry
+ * @param maxBackoff Cap on the jittered delay, which doubles with every retry
+ */
+@ConfigurationProperties(prefix = "employee-nexus.update-retry")
+public record UpdateRetryProperties(
+    @DefaultValue("1") int maxAttempts,
+    @DefaultValue("10ms") Duration initialBackoff,
+    @DefaultValue("200ms") Duration maxBackoff
+) {}
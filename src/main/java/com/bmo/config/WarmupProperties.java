@@ -0,0 +1,16 @@
+package com.bmo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the JIT warm-up phase that runs before the application accepts traffic.
+ *
+ * @param enabled Whether the warm-up phase runs on startup
+ * @param iterations Number of list/get/create/update/delete rounds to execute
+ */
+@ConfigurationProperties(prefix = "employee-nexus.warmup")
+public record WarmupProperties(
+    boolean enabled,
+    @DefaultValue("2000") int iterations
+) {}
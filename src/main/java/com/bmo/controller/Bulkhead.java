@@ -0,0 +1,25 @@
+package com.bmo.controller;
+
+import com.bmo.service.Bulkheads;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a handler method inside the named bulkhead, so it shares a concurrency limit and
+ * connection budget with the other handlers of its class of traffic.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Bulkhead {
+    /** Latency-sensitive single-record reads and writes. */
+    String INTERACTIVE = Bulkheads.INTERACTIVE;
+    /** List pages, multi-gets, imports and other requests that read or write many rows. */
+    String BULK = Bulkheads.BULK;
+
+    String value();
+}
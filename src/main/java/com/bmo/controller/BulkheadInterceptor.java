@@ -0,0 +1,56 @@
+package com.bmo.controller;
+
+import com.bmo.exception.BulkheadFullException;
+import com.bmo.service.Bulkheads;
+import com.bmo.service.ConcurrencyLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Takes a permit from the {@link Bulkhead} of the handler before it runs and returns it when
+ * the request completes. A request that cannot get a permit fails with
+ * {@link BulkheadFullException}, which is answered with 503.
+ */
+public class BulkheadInterceptor implements HandlerInterceptor {
+    private static final String PERMIT_ATTRIBUTE = BulkheadInterceptor.class.getName() + ".permit";
+
+    private final Bulkheads bulkheads;
+    private final Map<Method, Optional<ConcurrencyLimiter>> byHandler = new ConcurrentHashMap<>();
+
+    public BulkheadInterceptor(Bulkheads bulkheads) {
+        this.bulkheads = bulkheads;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        Optional<ConcurrencyLimiter> limiter = byHandler.computeIfAbsent(handlerMethod.getMethod(),
+            method -> Optional.ofNullable(handlerMethod.getMethodAnnotation(Bulkhead.class))
+                .map(bulkhead -> bulkheads.get(bulkhead.value())));
+        if (limiter.isEmpty()) {
+            return true;
+        }
+        if (!limiter.get().tryAcquire()) {
+            throw new BulkheadFullException(handlerMethod.getMethodAnnotation(Bulkhead.class).value());
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, limiter.get());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof ConcurrencyLimiter limiter) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            limiter.release();
+        }
+    }
+}
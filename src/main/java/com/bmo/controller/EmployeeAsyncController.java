@@ -0,0 +1,269 @@
+package com.bmo.controller;
+
+import com.bmo.config.AsyncExecutorConfig;
+import com.bmo.config.AsyncExecutorProperties;
+import com.bmo.dto.EmployeeDto;
+import com.bmo.dto.PageResponseDto;
+import com.bmo.exception.WriteOutcomeUnknownException;
+import com.bmo.service.Bulkheads;
+import com.bmo.service.ConcurrencyLimiter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking variants of the {@link EmployeeController} endpoints under {@code /api/v1/async}.
+ * The servlet thread is released as soon as the work is queued. The work runs on the bounded
+ * {@value AsyncExecutorConfig#EMPLOYEE_EXECUTOR} executor, and the response is written when it completes.
+ * Each task takes a permit from the bulk bulkhead when it starts, so async work shares the bulk
+ * connection budget with list requests and cannot use the connections reserved for interactive ones.
+ * A full queue or a request that exceeds the configured timeout is answered with 503; requests
+ * that time out before they start are removed from the queue, freeing their slot at once.
+ */
+@RestController
+@RequestMapping("/api/v1/async")
+@Tag(name = "Employee Management (async)", description = "Non-blocking variants of the employee APIs")
+public class EmployeeAsyncController {
+    private final EmployeeController employeeController;
+    private final ExecutorService executor;
+    private final ThreadPoolExecutor threadPool;
+    private final Bulkheads bulkheads;
+    private final long timeoutMillis;
+
+    /**
+     * Constructor injection of the synchronous controller and the bounded executor.
+     *
+     * @param employeeController Controller whose handlers are run on the executor
+     * @param executor Bounded executor for employee work
+     * @param threadPool Thread pool under {@code executor}, whose queue timed-out work is removed from
+     * @param properties Executor sizing and timeout
+     * @param bulkheads Bulkheads whose bulk permits tasks take, null when bulkheads are off
+     */
+    public EmployeeAsyncController(
+        EmployeeController employeeController,
+        @Qualifier(AsyncExecutorConfig.EMPLOYEE_EXECUTOR) ExecutorService executor,
+        @Qualifier(AsyncExecutorConfig.EMPLOYEE_THREAD_POOL) ThreadPoolExecutor threadPool,
+        AsyncExecutorProperties properties,
+        @Nullable Bulkheads bulkheads
+    ) {
+        this.employeeController = employeeController;
+        this.executor = executor;
+        this.threadPool = threadPool;
+        this.bulkheads = bulkheads;
+        this.timeoutMillis = properties.timeout().toMillis();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> work) {
+        return submit(work, true);
+    }
+
+    private <T> CompletableFuture<T> submitWrite(Supplier<T> work) {
+        return submit(work, false);
+    }
+
+    /**
+     * Queues {@code work} and fails the returned future with a {@link TimeoutException} once the
+     * timeout passes. Work still queued at that point is cancelled and removed from the queue, so
+     * it never runs, its slot is free for the next request and the caller may retry. Work that
+     * has already started cannot be stopped safely, since interrupting a thread inside H2 closes
+     * its file channel; a write caught there fails with {@link WriteOutcomeUnknownException}
+     * instead, because it may still commit.
+     */
+    private <T> CompletableFuture<T> submit(Supplier<T> work, boolean idempotent) {
+        AtomicBoolean claimed = new AtomicBoolean();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            ConcurrencyLimiter permit = null;
+            try {
+                permit = bulkheads != null ? bulkheads.acquire(Bulkheads.BULK) : null;
+                result.complete(work.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            } finally {
+                if (permit != null) {
+                    permit.release();
+                }
+            }
+        });
+        return result.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS).exceptionallyCompose(error -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof TimeoutException) {
+                if (claimed.compareAndSet(false, true)) {
+                    task.cancel(false);
+                    // A cancelled task keeps its queue slot until a worker takes it; purge frees it now.
+                    threadPool.purge();
+                } else if (!idempotent) {
+                    return CompletableFuture.failedFuture(new WriteOutcomeUnknownException());
+                }
+            }
+            return CompletableFuture.failedFuture(cause);
+        });
+    }
+
+    @GetMapping("/employees")
+    @Operation(summary = "Get all employees with pagination (async)")
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successfully retrieved the paginated list of employees",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = PageResponseDto.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Page larger than the streaming threshold",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Executor saturated or request timed out",
+            content = @Content
+        )
+    })
+    public CompletableFuture<ResponseEntity<?>> getAllEmployees(
+        @Parameter(description = "Page number (0-based)")
+        @RequestParam(defaultValue = "0") int pageParam,
+        @Parameter(description = "Number of items per page")
+        @RequestParam(defaultValue = "10") int size,
+        @Parameter(description = "Sorting criteria in format: property(,asc|desc), repeatable for multi-key sorts")
+        @RequestParam(required = false, defaultValue = "id,asc") List<String> sort,
+        @Parameter(description = "Comma-separated fields to return, e.g. id,name")
+        @RequestParam(required = false) String fields,
+        @Parameter(description = "Also list deleted and archived employees")
+        @RequestParam(defaultValue = "false") boolean includeArchived
+    ) {
+        // A streamed page would be read while the response is written on a container thread, outside
+        // this executor and its timeout, so every page is built on the worker and has to fit in memory.
+        employeeController.requireBufferable(size);
+        return submit(() -> employeeController.getAllEmployees(pageParam, size, sort, fields, includeArchived, false));
+    }
+
+    @GetMapping("/employee/{id}")
+    @Operation(summary = "Get employee by ID (async)")
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Employee found",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = EmployeeDto.class))
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Employee not found",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Executor saturated or request timed out",
+            content = @Content
+        )
+    })
+    public CompletableFuture<ResponseEntity<?>> getEmployeeById(
+        @Parameter(description = "ID of the employee to retrieve") @PathVariable Long id,
+        @Parameter(description = "Comma-separated fields to return, e.g. id,name")
+        @RequestParam(required = false) String fields,
+        @Parameter(description = "Also find the employee if it was deleted or archived")
+        @RequestParam(defaultValue = "false") boolean includeArchived
+    ) {
+        return submit(() -> employeeController.getEmployeeById(id, fields, includeArchived));
+    }
+
+    @PostMapping("/employee")
+    @Operation(summary = "Create new employee (async)")
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Employee created successfully",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = EmployeeDto.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid employee data provided",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Executor saturated or request timed out",
+            content = @Content
+        )
+    })
+    public CompletableFuture<ResponseEntity<EmployeeDto>> createEmployee(@Valid @RequestBody EmployeeDto employee) {
+        return submitWrite(() -> employeeController.createEmployee(employee));
+    }
+
+    @PutMapping("/employee/{id}")
+    @Operation(summary = "Update employee (async)")
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Employee updated successfully",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = EmployeeDto.class))
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Employee not found",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "Concurrent modification detected",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Executor saturated or request timed out",
+            content = @Content
+        )
+    })
+    public CompletableFuture<ResponseEntity<EmployeeDto>> updateEmployee(
+        @PathVariable Long id,
+        @Valid @RequestBody EmployeeDto employee) {
+        return submitWrite(() -> employeeController.updateEmployee(id, employee));
+    }
+
+    @DeleteMapping("/employee/{id}")
+    @Operation(summary = "Delete employee (async)")
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "204",
+            description = "Employee deleted successfully",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Employee not found",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Executor saturated or request timed out",
+            content = @Content
+        )
+    })
+    public CompletableFuture<ResponseEntity<Void>> deleteEmployee(
+        @Parameter(description = "ID of the employee to delete") @PathVariable Long id
+    ) {
+        return submitWrite(() -> employeeController.deleteEmployee(id));
+    }
+}
@@ -1,7 +1,15 @@
 package com.bmo.controller;
 
+import com.bmo.config.StreamingProperties;
+import com.bmo.dto.EmployeeBatchResponseDto;
 import com.bmo.dto.EmployeeDto;
+import com.bmo.dto.EmployeePageStream;
+import com.bmo.dto.EmployeeField;
+import com.bmo.dto.EmployeeSort;
+import com.bmo.dto.SparseEmployeeDto;
+import com.bmo.exception.InvalidFieldSelectionException;
 import com.bmo.exception.InvalidSortPropertyException;
+import com.bmo.exception.PageTooLargeException;
 import com.bmo.service.EmployeeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -17,8 +25,8 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import com.bmo.dto.PageResponseDto;
 
 
@@ -32,67 +40,164 @@ import com.bmo.dto.PageResponseDto;
 @Tag(name = "Employee Management", description = "APIs for managing employees")
 public class EmployeeController {
     private final EmployeeService employeeService;
+    private final StreamingProperties streamingProperties;
 
     /**
      * Constructor injection of employee service.
      *
      * @param employeeService Service layer for employee operations
+     * @param streamingProperties Page size above which list pages are streamed
      */
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, StreamingProperties streamingProperties) {
         this.employeeService = employeeService;
+        this.streamingProperties = streamingProperties;
     }
 
     /**
      * Retrieves a paginated list of employees with sorting capabilities.
      * Supports sorting by multiple properties and directions.
+     * Pages larger than {@code employee-nexus.streaming.threshold} are read and written row by row
+     * by {@link EmployeePageStreamConverter}, in the same JSON shape. Pages that include archived
+     * employees are always built in memory, so they may not be larger than the threshold.
      *
      * @param page Page number (0-based)
      * @param size Number of items per page
-     * @param sort Sort criteria in format: property(,asc|desc)
+     * @param sort Sort keys in format: property(,asc|desc), highest priority first
+     * @param fields Optional comma-separated sparse fieldset; only these columns are read and written
+     * @param includeArchived Whether deleted and archived employees are listed as well
      * @return ResponseEntity containing paginated employee list
-     * @throws InvalidSortPropertyException if sort property is invalid
+     * @throws InvalidSortPropertyException if a sort property is invalid or repeated
+     * @throws InvalidFieldSelectionException if a requested field is unknown
+     * @throws PageTooLargeException if archived employees are included and the page is above the streaming threshold
      */
     @GetMapping("/employees")  // Plural for collection
+    @Bulkhead(Bulkhead.BULK)
     @Operation(summary = "Get all employees with pagination")
     @ApiResponse(
         responseCode = "200",
         description = "Successfully retrieved the paginated list of employees",
         content = @Content(mediaType = "application/json", schema = @Schema(implementation = PageResponseDto.class))
     )
-    public ResponseEntity<PageResponseDto<EmployeeDto>> getAllEmployees(
+    public ResponseEntity<?> getAllEmployees(
         @Parameter(description = "Page number (0-based)")
         @RequestParam(defaultValue = "0") int pageParam,
         @Parameter(description = "Number of items per page")
         @RequestParam(defaultValue = "10") int size,
-        @Parameter(description = "Sorting criteria in format: property(,asc|desc). Valid properties are: id, name, department")
-        @RequestParam(required = false, defaultValue = "id,asc") String sort
+        @Parameter(description = "Sorting criteria in format: property(,asc|desc), repeatable for multi-key sorts. "
+            + "Valid properties are: id, name, department, version; id is always the final tie-breaker")
+        @RequestParam(required = false, defaultValue = "id,asc") List<String> sort,
+        @Parameter(description = "Comma-separated fields to return, e.g. id,name. Valid fields are: id, name, department, version")
+        @RequestParam(required = false) String fields,
+        @Parameter(description = "Also list deleted and archived employees")
+        @RequestParam(defaultValue = "false") boolean includeArchived
     ) {
+        return getAllEmployees(pageParam, size, sort, fields, includeArchived, true);
+    }
+
+    /**
+     * Lists employees as {@link #getAllEmployees(int, int, List, String, boolean)} does.
+     *
+     * @param streamable Whether a page above the streaming threshold may be returned unread, to be
+     *                   read while the response is written; false builds every page in full, and
+     *                   rejects those above the threshold
+     */
+    ResponseEntity<?> getAllEmployees(int pageParam, int size, List<String> sort, String fields,
+                                      boolean includeArchived, boolean streamable) {
+        Set<EmployeeField> selectedFields = EmployeeField.parse(fields);
+        Sort sortOrder = EmployeeSort.parse(sort);
+        if (!streamable || includeArchived) {
+            requireBufferable(size);
+        }
         try {
-            List<String> validProperties = Arrays.asList("id", "name", "department", "version");
-            
-            String[] sortParams = sort.split(",");
-            String property = sortParams[0].toLowerCase();
-            
-            if (!validProperties.contains(property)) {
-                throw new InvalidSortPropertyException("Invalid sort property: " + property + 
-                    ". Valid properties are: " + String.join(", ", validProperties));
+            PageRequest pageRequest = PageRequest.of(pageParam, size, sortOrder);
+            if (streamingProperties.threshold() > 0 && size > streamingProperties.threshold()) {
+                return ResponseEntity.ok(new EmployeePageStream(pageRequest, selectedFields));
             }
-            
-            Sort sortOrder;
-            if (sortParams.length > 1 && sortParams[1].equalsIgnoreCase("desc")) {
-                sortOrder = Sort.by(Sort.Direction.DESC, property);
+            Page<EmployeeDto> page;
+            if (includeArchived) {
+                page = employeeService.getAllEmployeesIncludingArchived(pageRequest, selectedFields);
+            } else if (selectedFields == EmployeeField.ALL) {
+                page = employeeService.getAllEmployees(pageRequest);
             } else {
-                sortOrder = Sort.by(Sort.Direction.ASC, property);
+                page = employeeService.getAllEmployees(pageRequest, selectedFields);
+            }
+            if (selectedFields != EmployeeField.ALL) {
+                return ResponseEntity.ok(PageResponseDto.from(page.map(SparseEmployeeDto::from)));
             }
-
-            Page<EmployeeDto> page = employeeService.getAllEmployees(PageRequest.of(pageParam, size, sortOrder));
             return ResponseEntity.ok(PageResponseDto.from(page));
         } catch (IllegalArgumentException e) {
             throw new InvalidSortPropertyException("Invalid sort parameter format. Use: property,asc|desc");
         }
     }
 
+    /**
+     * Checks that a page of {@code size} employees may be built in memory.
+     *
+     * @throws PageTooLargeException if the page is above the streaming threshold
+     */
+    void requireBufferable(int size) {
+        if (streamingProperties.threshold() > 0 && size > streamingProperties.threshold()) {
+            throw new PageTooLargeException("Page size " + size + " is too large. At most "
+                + streamingProperties.threshold() + " employees are listed per page when archived employees "
+                + "are included or the list is fetched asynchronously");
+        }
+    }
+
+    /**
+     * Resolves many employees in one call.
+     * Ids may be given as a comma-separated list or as repeated parameters.
+     *
+     * @param ids Employee ids to resolve
+     * @return Found employees in request order plus the ids that do not exist
+     */
+    @GetMapping(value = "/employees", params = "ids")
+    @Bulkhead(Bulkhead.BULK)
+    @Operation(summary = "Get many employees by ID")
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Employees resolved; unknown ids are listed in missingIds",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = EmployeeBatchResponseDto.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Too many ids requested",
+            content = @Content
+        )
+    })
+    public ResponseEntity<EmployeeBatchResponseDto> getEmployeesByIds(
+        @Parameter(description = "Comma-separated employee ids") @RequestParam List<Long> ids
+    ) {
+        return ResponseEntity.ok(employeeService.getEmployeesByIds(ids));
+    }
+
+    /**
+     * Resolves many employees in one call, for id sets too large for a query string.
+     *
+     * @param ids Employee ids to resolve, as a JSON array
+     * @return Found employees in request order plus the ids that do not exist
+     */
+    @PostMapping("/employees/lookup")
+    @Bulkhead(Bulkhead.BULK)
+    @Operation(summary = "Get many employees by ID (large id sets)")
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Employees resolved; unknown ids are listed in missingIds",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = EmployeeBatchResponseDto.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Too many ids requested",
+            content = @Content
+        )
+    })
+    public ResponseEntity<EmployeeBatchResponseDto> lookupEmployees(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(employeeService.getEmployeesByIds(ids));
+    }
+
     @GetMapping("/employee/{id}")  // Singular for single resource
+    @Bulkhead(Bulkhead.INTERACTIVE)
     @Operation(summary = "Get employee by ID")
     @ApiResponses({
         @ApiResponse(
@@ -106,13 +211,26 @@ public class EmployeeController {
             content = @Content
         )
     })
-    public ResponseEntity<EmployeeDto> getEmployeeById(
-        @Parameter(description = "ID of the employee to retrieve") @PathVariable Long id
+    public ResponseEntity<?> getEmployeeById(
+        @Parameter(description = "ID of the employee to retrieve") @PathVariable Long id,
+        @Parameter(description = "Comma-separated fields to return, e.g. id,name")
+        @RequestParam(required = false) String fields,
+        @Parameter(description = "Also find the employee if it was deleted or archived")
+        @RequestParam(defaultValue = "false") boolean includeArchived
     ) {
-        return ResponseEntity.ok(employeeService.getEmployeeById(id));
+        Set<EmployeeField> selectedFields = EmployeeField.parse(fields);
+        if (selectedFields == EmployeeField.ALL) {
+            return ResponseEntity.ok(includeArchived
+                ? employeeService.getEmployeeByIdIncludingArchived(id, selectedFields)
+                : employeeService.getEmployeeById(id));
+        }
+        return ResponseEntity.ok(SparseEmployeeDto.from(includeArchived
+            ? employeeService.getEmployeeByIdIncludingArchived(id, selectedFields)
+            : employeeService.getEmployeeById(id, selectedFields)));
     }
 
     @PostMapping("/employee")
+    @Bulkhead(Bulkhead.INTERACTIVE)
     @Operation(summary = "Create new employee")
     @ApiResponses({
         @ApiResponse(
@@ -131,6 +249,7 @@ public class EmployeeController {
     }
 
     @PutMapping("/employee/{id}")
+    @Bulkhead(Bulkhead.INTERACTIVE)
     @Operation(summary = "Update employee")
     @ApiResponses({
         @ApiResponse(
@@ -156,6 +275,7 @@ public class EmployeeController {
     }
 
     @DeleteMapping("/employee/{id}")
+    @Bulkhead(Bulkhead.INTERACTIVE)
     @Operation(summary = "Delete employee")
     @ApiResponses({
         @ApiResponse(
@@ -0,0 +1,116 @@
+package com.bmo.controller;
+
+import com.bmo.dto.ImportFormat;
+import com.bmo.dto.ImportJobDto;
+import com.bmo.exception.ImportJobConflictException;
+import com.bmo.exception.ImportJobNotFoundException;
+import com.bmo.service.EmployeeImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+/**
+ * REST Controller for bulk employee imports.
+ * The request body is streamed, so files of any size can be sent in one request.
+ */
+@RestController
+@RequestMapping("/api/v1")
+@Tag(name = "Employee Import", description = "APIs for bulk loading employees")
+public class EmployeeImportController {
+    private final EmployeeImportService employeeImportService;
+
+    /**
+     * Constructor injection of the import service.
+     *
+     * @param employeeImportService Service layer for bulk imports
+     */
+    public EmployeeImportController(EmployeeImportService employeeImportService) {
+        this.employeeImportService = employeeImportService;
+    }
+
+    /**
+     * Imports employees from a CSV ({@code text/csv}, with a {@code name,department} header)
+     * or NDJSON ({@code application/x-ndjson}) body. Rows are committed in chunks.
+     * If the import stops early, send the same file again with the returned {@code jobId}
+     * and it continues after the last committed chunk.
+     *
+     * @param contentType Body format
+     * @param jobId Job to resume, or an id for a new job; generated when absent
+     * @param body Streamed request body
+     * @return Final job state including rejected lines
+     * @throws ImportJobConflictException if the job is running, complete, or was started with another format
+     */
+    @PostMapping(value = "/employees/import", consumes = {"text/csv", "application/x-ndjson"})
+    @Bulkhead(Bulkhead.BULK)
+    @Operation(summary = "Bulk import employees from CSV or NDJSON")
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Import finished; status FAILED means it can be resumed with the same jobId",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportJobDto.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "CSV header does not name the name and department columns",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "Job is running, already complete, or was started with another format",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Too many imports running, or the bulk bulkhead is full",
+            content = @Content
+        )
+    })
+    public ResponseEntity<ImportJobDto> importEmployees(
+        @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+        @Parameter(description = "Job id to resume, or an id for a new job")
+        @RequestParam(required = false) String jobId,
+        InputStream body
+    ) {
+        return ResponseEntity.ok(employeeImportService.importEmployees(body, ImportFormat.of(contentType), jobId));
+    }
+
+    /**
+     * Reports the progress of an import, including while it runs.
+     *
+     * @param jobId Job id
+     * @param rejections Maximum number of rejected lines to include
+     * @return Job progress
+     * @throws ImportJobNotFoundException if the job does not exist
+     */
+    @GetMapping("/employees/import/{jobId}")
+    @Operation(summary = "Get bulk import progress")
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Job found",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportJobDto.class))
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Job not found",
+            content = @Content
+        )
+    })
+    public ResponseEntity<ImportJobDto> getImportJob(
+        @PathVariable String jobId,
+        @Parameter(description = "Maximum number of rejected lines to include")
+        @RequestParam(defaultValue = "100") int rejections
+    ) {
+        return ResponseEntity.ok(employeeImportService.getJob(jobId, rejections));
+    }
+}
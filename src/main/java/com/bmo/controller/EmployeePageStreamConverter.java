@@ -0,0 +1,97 @@
+package com.bmo.controller;
+
+import com.bmo.dto.EmployeeDto;
+import com.bmo.dto.EmployeeField;
+import com.bmo.dto.EmployeePageStream;
+import com.bmo.dto.PageResponseDto;
+import com.bmo.dto.SparseEmployeeDto;
+import com.bmo.service.EmployeeService;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Writes an {@link EmployeePageStream} as {@code {"content":[...],"metadata":{...}}} while the rows
+ * are read, so no list of employees, entities or buffered body is built for the page. Each row is
+ * serialized with the application's {@link ObjectMapper}, giving the same JSON as the buffered
+ * path, and the metadata is written last because the total is counted after the rows.
+ * <p>
+ * Boot places converter beans ahead of its Jackson converter, which would otherwise accept the
+ * record too. The response is committed once the output buffer fills, so a failure after that
+ * point can only abort the connection, leaving the client with truncated JSON.
+ */
+@Component
+public class EmployeePageStreamConverter extends AbstractHttpMessageConverter<EmployeePageStream> {
+    private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+    private final ObjectWriter sparseRowWriter;
+
+    public EmployeePageStreamConverter(EmployeeService employeeService, ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+        // Flushing after every row would turn each one into a separate write to the socket.
+        this.rowWriter = objectMapper.writerFor(EmployeeDto.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.sparseRowWriter = objectMapper.writerFor(SparseEmployeeDto.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return EmployeePageStream.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected EmployeePageStream readInternal(Class<? extends EmployeePageStream> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Employee page streams are write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(EmployeePageStream page, HttpOutputMessage outputMessage) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory()
+                .createGenerator(StreamUtils.nonClosing(outputMessage.getBody()), JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("content");
+            boolean sparse = page.fields() != EmployeeField.ALL;
+            long total = employeeService.streamEmployees(page.pageable(), page.fields(), employee -> {
+                try {
+                    if (sparse) {
+                        sparseRowWriter.writeValue(generator, SparseEmployeeDto.from(employee));
+                    } else {
+                        rowWriter.writeValue(generator, employee);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+            generator.writeFieldName("metadata");
+            objectMapper.writeValue(generator,
+                PageResponseDto.from(new PageImpl<>(List.of(), page.pageable(), total)).metadata());
+            generator.writeEndObject();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
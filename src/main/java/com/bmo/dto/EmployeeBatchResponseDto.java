@@ -0,0 +1,19 @@
+package com.bmo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Response of a multi-get lookup.
+ * Found employees are returned in the order their ids were requested;
+ * ids that do not exist are listed separately.
+ *
+ * @param content Employees found, in request order
+ * @param missingIds Requested ids with no matching employee, in request order
+ */
+@Schema(description = "Employees resolved by id")
+public record EmployeeBatchResponseDto(
+    List<EmployeeDto> content,
+    List<Long> missingIds
+) {}
@@ -1,6 +1,5 @@
 package com.bmo.dto;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -10,7 +9,6 @@ import jakarta.validation.constraints.Size;
  * Implements validation constraints and OpenAPI documentation.
  * Uses Java Record for immutable data  representation.
  */
-@JsonInclude(JsonInclude.Include.NON_NULL)
 @Schema(description = "Employee Data Transfer Object")
 public record EmployeeDto(
 
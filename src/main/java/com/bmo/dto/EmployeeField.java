@@ -0,0 +1,63 @@
+package com.bmo.dto;
+
+import com.bmo.exception.InvalidFieldSelectionException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Fields of {@link EmployeeDto} that can be selected with a sparse fieldset ({@code fields=id,name}).
+ * Each constant names the matching {@code EmployeeEntity} attribute.
+ */
+public enum EmployeeField {
+    ID("id"),
+    NAME("name"),
+    DEPARTMENT("department"),
+    VERSION("version");
+
+    /** Every field; selecting all of them is the same as not passing {@code fields}. */
+    public static final Set<EmployeeField> ALL = Collections.unmodifiableSet(EnumSet.allOf(EmployeeField.class));
+
+    private static final String VALID_FIELDS = Arrays.stream(values())
+        .map(EmployeeField::attribute)
+        .collect(Collectors.joining(", "));
+
+    private final String attribute;
+
+    EmployeeField(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String attribute() {
+        return attribute;
+    }
+
+    /**
+     * Parses a comma-separated field list.
+     *
+     * @param fields Field list such as {@code id,name}; null or blank selects every field
+     * @return Selected fields
+     * @throws InvalidFieldSelectionException if a field name is unknown
+     */
+    public static Set<EmployeeField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<EmployeeField> selected = EnumSet.noneOf(EmployeeField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim().toLowerCase();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            selected.add(Arrays.stream(values())
+                .filter(field -> field.attribute.equals(trimmed))
+                .findFirst()
+                .orElseThrow(() -> new InvalidFieldSelectionException("Invalid field: " + trimmed
+                    + ". Valid fields are: " + VALID_FIELDS)));
+        }
+        return selected.isEmpty() || selected.size() == ALL.size() ? ALL : selected;
+    }
+}
@@ -0,0 +1,14 @@
+package com.bmo.dto;
+
+import org.springframework.data.domain.Pageable;
+
+import java.util.Set;
+
+/**
+ * A list page that has not been read yet. Returned as a response body, it is read and written row
+ * by row by {@code EmployeePageStreamConverter}, in the same JSON shape as {@link PageResponseDto}.
+ *
+ * @param pageable Page, size and sort
+ * @param fields Fields to read and write
+ */
+public record EmployeePageStream(Pageable pageable, Set<EmployeeField> fields) {}
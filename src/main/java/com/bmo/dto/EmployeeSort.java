@@ -0,0 +1,131 @@
+package com.bmo.dto;
+
+import com.bmo.exception.InvalidSortPropertyException;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Sort orders accepted by the employee list, given as one or more {@code property(,asc|desc)} keys
+ * such as {@code sort=department,asc&sort=name,desc}. Properties are {@link EmployeeField}s and may
+ * appear once each.
+ * <p>
+ * {@code id} always ends the order, in the direction of the last key, so rows that tie on the
+ * requested keys keep their place between pages; keys after an explicit {@code id} cannot change
+ * the order and are dropped. Every accepted order is built once at class load, so a request only
+ * looks its plan up. The common plans are backed by the composite indexes on {@code EmployeeEntity}.
+ */
+public final class EmployeeSort {
+    /** Order used when no sort is requested. */
+    public static final Sort DEFAULT = Sort.by(Sort.Direction.ASC, EmployeeField.ID.attribute());
+
+    private static final String VALID_PROPERTIES = Arrays.stream(EmployeeField.values())
+        .map(EmployeeField::attribute)
+        .collect(Collectors.joining(", "));
+
+    /** Plans by canonical key, for example {@code department,asc,name,desc}. */
+    private static final Map<String, Sort> PLANS = plans();
+
+    private EmployeeSort() {
+    }
+
+    /**
+     * Resolves request sort parameters to a plan.
+     *
+     * @param sort Values of the {@code sort} parameter; each holds one or more comma-separated keys
+     * @return The pre-built order, ending with {@code id}
+     * @throws InvalidSortPropertyException if a property is unknown or repeated
+     */
+    public static Sort parse(List<String> sort) {
+        if (sort == null || sort.isEmpty()) {
+            return DEFAULT;
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String value : sort) {
+            for (String token : value.split(",")) {
+                String trimmed = token.trim().toLowerCase();
+                if (!trimmed.isEmpty()) {
+                    tokens.add(trimmed);
+                }
+            }
+        }
+        if (tokens.isEmpty()) {
+            return DEFAULT;
+        }
+
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < tokens.size(); i++) {
+            String property = tokens.get(i);
+            if (field(property) == null) {
+                throw new InvalidSortPropertyException("Invalid sort property: " + property
+                    + ". Valid properties are: " + VALID_PROPERTIES);
+            }
+            String direction = "asc";
+            if (i + 1 < tokens.size() && isDirection(tokens.get(i + 1))) {
+                direction = tokens.get(++i);
+            }
+            if (!key.isEmpty()) {
+                key.append(',');
+            }
+            key.append(property).append(',').append(direction);
+        }
+        Sort plan = PLANS.get(key.toString());
+        if (plan == null) {
+            throw new InvalidSortPropertyException("Sort properties may appear only once: " + key);
+        }
+        return plan;
+    }
+
+    private static boolean isDirection(String token) {
+        return token.equals("asc") || token.equals("desc");
+    }
+
+    private static EmployeeField field(String property) {
+        for (EmployeeField field : EmployeeField.values()) {
+            if (field.attribute().equals(property)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, Sort> plans() {
+        Map<String, Sort> plans = new HashMap<>();
+        addPlans(plans, "", new ArrayList<>());
+        return Map.copyOf(plans);
+    }
+
+    /** Adds a plan for every sequence of distinct keys that starts with {@code orders}. */
+    private static void addPlans(Map<String, Sort> plans, String prefix, List<Sort.Order> orders) {
+        for (EmployeeField field : EmployeeField.values()) {
+            String property = field.attribute();
+            if (orders.stream().anyMatch(order -> order.getProperty().equals(property))) {
+                continue;
+            }
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                String key = prefix + property + "," + direction.name().toLowerCase();
+                orders.add(new Sort.Order(direction, property));
+                plans.put(key, plan(orders));
+                addPlans(plans, key + ",", orders);
+                orders.remove(orders.size() - 1);
+            }
+        }
+    }
+
+    private static Sort plan(List<Sort.Order> orders) {
+        List<Sort.Order> plan = new ArrayList<>(orders.size() + 1);
+        for (Sort.Order order : orders) {
+            plan.add(order);
+            if (order.getProperty().equals(EmployeeField.ID.attribute())) {
+                return Sort.by(plan);
+            }
+        }
+        plan.add(new Sort.Order(orders.get(orders.size() - 1).getDirection(), EmployeeField.ID.attribute()));
+        return Sort.by(plan);
+    }
+}
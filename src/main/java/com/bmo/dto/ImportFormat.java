@@ -0,0 +1,36 @@
+package com.bmo.dto;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Body formats accepted by the bulk import endpoint.
+ */
+public enum ImportFormat {
+    /** Comma-separated values with a header line naming the {@code name} and {@code department} columns. */
+    CSV("text/csv"),
+    /** One JSON employee object per line. */
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    ImportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * @param contentType Content type of the request body
+     * @return The matching format, or null when the content type is not supported
+     */
+    public static ImportFormat of(MediaType contentType) {
+        for (ImportFormat format : values()) {
+            if (contentType != null && contentType.isCompatibleWith(MediaType.parseMediaType(format.mediaType))) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,50 @@
+package com.bmo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progress and outcome of a bulk import job.
+ */
+@Schema(description = "Bulk import job")
+public record ImportJobDto(
+    @Schema(description = "Job id; pass it back as jobId to resume an interrupted import")
+    String jobId,
+
+    ImportFormat format,
+
+    @Schema(description = "RUNNING, COMPLETED or FAILED")
+    String status,
+
+    @Schema(description = "Last source line covered by a committed chunk; a resumed import skips up to here")
+    long committedLine,
+
+    @Schema(description = "Rows inserted so far")
+    long importedRows,
+
+    @Schema(description = "Rows rejected by validation so far")
+    long rejectedRows,
+
+    @Schema(description = "Rows committed per second by the current or last run")
+    double rowsPerSecond,
+
+    LocalDateTime startedAt,
+    LocalDateTime updatedAt,
+    LocalDateTime finishedAt,
+
+    @Schema(description = "Why the last run stopped early, if it did")
+    String error,
+
+    @Schema(description = "Rejected rows in line order, up to the requested limit")
+    List<RejectedRowDto> rejections
+) {
+    /**
+     * A source line that was not imported.
+     *
+     * @param line Line number in the request body, 1-based
+     * @param reason Validation or parse error
+     */
+    public record RejectedRowDto(long line, String reason) {}
+}
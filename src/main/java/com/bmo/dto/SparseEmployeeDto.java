@@ -0,0 +1,23 @@
+package com.bmo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * An employee as returned for a {@code fields=} request. Every column is non-null, so the null
+ * fields are exactly the ones that were not selected, and they are left out of the JSON.
+ * Responses without {@code fields} use {@link EmployeeDto} as it is.
+ *
+ * @param id Employee id, if selected
+ * @param name Name, if selected
+ * @param department Department, if selected
+ * @param version Version, if selected
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Employee with only the requested fields")
+public record SparseEmployeeDto(Long id, String name, String department, Long version) {
+
+    public static SparseEmployeeDto from(EmployeeDto employee) {
+        return new SparseEmployeeDto(employee.id(), employee.name(), employee.department(), employee.version());
+    }
+}
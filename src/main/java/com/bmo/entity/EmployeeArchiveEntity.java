@@ -0,0 +1,37 @@
+package com.bmo.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cold copy of a deleted employee. Rows are written in batches by the archiver and keep the
+ * id the employee had in the {@code employees} table, so ids stay unique across both tables.
+ */
+@Entity
+@Table(name = "employees_archive")
+@Data
+@NoArgsConstructor
+public class EmployeeArchiveEntity {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private String department;
+
+    /**
+     * Version the employee had when it was deleted.
+     */
+    private Long version;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,56 @@
+package com.bmo.entity;
+
+import com.bmo.event.EmployeeChangedEvent.ChangeType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Who changed which employee, and how. Rows are only ever appended, in batches, by the audit
+ * writer after the change has committed.
+ */
+@Entity
+@Table(name = "employee_audit", indexes = @Index(name = "idx_employee_audit_employee_id", columnList = "employee_id"))
+@Data
+@NoArgsConstructor
+public class EmployeeAuditEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private ChangeType changeType;
+
+    /**
+     * Name of the authenticated user that made the change.
+     */
+    @Column(nullable = false, length = 100)
+    private String principal;
+
+    /**
+     * Version before the change, null for creates.
+     */
+    @Column(name = "old_version")
+    private Long oldVersion;
+
+    /**
+     * Version after the change, null for deletes.
+     */
+    @Column(name = "new_version")
+    private Long newVersion;
+
+    /**
+     * Comma-separated names of the fields whose value changed.
+     */
+    @Column(name = "changed_fields")
+    private String changedFields;
+
+    @Column(name = "committed_at", nullable = false)
+    private LocalDateTime committedAt;
+}
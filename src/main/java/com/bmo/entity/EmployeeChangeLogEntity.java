@@ -0,0 +1,49 @@
+package com.bmo.entity;
+
+import com.bmo.event.EmployeeChangedEvent.ChangeType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One committed employee mutation, written in the mutating transaction so that other instances
+ * sharing the database can invalidate what they cache. Entries are read in {@code seq} order.
+ */
+@Entity
+@Table(name = "employee_change_log")
+@Data
+@NoArgsConstructor
+public class EmployeeChangeLogEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private ChangeType changeType;
+
+    /**
+     * Version after the change, null for deletes.
+     */
+    private Long version;
+
+    /**
+     * Comma-separated names of the fields whose value changed.
+     */
+    @Column(name = "changed_fields")
+    private String changedFields;
+
+    /**
+     * Instance that made the change; it skips its own entries when tailing.
+     */
+    @Column(nullable = false, length = 36)
+    private String origin;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
@@ -4,14 +4,34 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.SQLRestriction;
+
+import java.time.LocalDateTime;
 
 /**
  * Entity class representing an employee in the database.
  * Uses JPA annotations for ORM mapping and Lombok for reducing boilerplate code.
  * Implements optimistic locking using @Version annotation.
+ * Deleting an employee only stamps {@code deleted_at}; deleted rows are invisible to every
+ * entity query and are later moved to {@code employees_archive} by the archiver.
+ * The composite indexes match the common list orders of {@code EmployeeSort}, which always end
+ * with {@code id}. H2 cannot read an index backwards, so descending orders have their own.
+ * The archiver finds deleted rows through {@code archivable_since}, see {@link #archivableSince}.
  */
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+    @Index(name = "idx_employees_id_desc", columnList = "id DESC"),
+    @Index(name = "idx_employees_name_id", columnList = "name, id"),
+    @Index(name = "idx_employees_name_id_desc", columnList = "name DESC, id DESC"),
+    @Index(name = "idx_employees_department_id", columnList = "department, id"),
+    @Index(name = "idx_employees_department_id_desc", columnList = "department DESC, id DESC"),
+    @Index(name = "idx_employees_department_name_id", columnList = "department, name, id"),
+    @Index(name = "idx_employees_department_name_id_desc", columnList = "department DESC, name DESC, id DESC"),
+    @Index(name = "idx_employees_archivable_since_id", columnList = "archivable_since, id")
+})
+@SQLDelete(sql = "UPDATE employees SET deleted_at = LOCALTIMESTAMP WHERE id = ? AND version = ?")
+@SQLRestriction("deleted_at IS NULL")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -44,4 +64,23 @@ public class EmployeeEntity {
      */
     @Version
     private Long version;
+
+    /**
+     * When the employee was deleted; null while the employee is active.
+     */
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    /**
+     * Copy of {@code deleted_at} kept by the database, so the archiver can read deleted rows in
+     * index order. H2 would pick an index on {@code deleted_at} itself for every
+     * {@code deleted_at IS NULL} query and then sort the whole result.
+     */
+    @Column(name = "archivable_since", insertable = false, updatable = false,
+        columnDefinition = "timestamp(6) generated always as (deleted_at)")
+    private LocalDateTime archivableSince;
+
+    public EmployeeEntity(Long id, String name, String department, Long version) {
+        this(id, name, department, version, null, null);
+    }
 }
@@ -0,0 +1,59 @@
+package com.bmo.entity;
+
+import com.bmo.dto.ImportFormat;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bulk import job. The progress columns are updated in the same transaction as each chunk
+ * of imported rows, so {@code committedLine} is exactly where a resumed import has to continue.
+ */
+@Entity
+@Table(name = "import_jobs")
+@Data
+@NoArgsConstructor
+public class ImportJobEntity {
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ImportFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    /**
+     * Last source line covered by a committed chunk.
+     */
+    private long committedLine;
+
+    private long importedRows;
+
+    private long rejectedRows;
+
+    /**
+     * Imported plus rejected rows when the current run started, for the rows per second figure.
+     */
+    private long rowsAtStart;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime finishedAt;
+
+    @Column(length = 500)
+    private String error;
+}
@@ -0,0 +1,26 @@
+package com.bmo.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A source line of a bulk import that failed validation.
+ */
+@Entity
+@Table(name = "import_rejections", indexes = @Index(name = "idx_import_rejections_job", columnList = "jobId, lineNumber"))
+@Data
+@NoArgsConstructor
+public class ImportRejectionEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String jobId;
+
+    private long lineNumber;
+
+    @Column(length = 500)
+    private String reason;
+}
@@ -0,0 +1,34 @@
+package com.bmo.event;
+
+import com.bmo.dto.EmployeeDto;
+
+import java.util.Set;
+
+/**
+ * Published by the service layer for every employee mutation, inside the mutating transaction.
+ * Listeners that must only see committed changes use
+ * {@link org.springframework.transaction.event.TransactionalEventListener}.
+ * Changes committed by other instances are re-published by the change log outside any transaction,
+ * so they reach only listeners that allow {@code fallbackExecution}.
+ *
+ * @param type Kind of mutation
+ * @param employeeId Id of the affected employee
+ * @param oldVersion Version before the change, null for creates and when not loaded
+ * @param newVersion Version after the change, null for deletes
+ * @param changedFields Names of the fields whose value changed
+ * @param employee State after the change as it will be committed, null for deletes
+ */
+public record EmployeeChangedEvent(
+    ChangeType type,
+    Long employeeId,
+    Long oldVersion,
+    Long newVersion,
+    Set<String> changedFields,
+    EmployeeDto employee
+) {
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,13 @@
+package com.bmo.event;
+
+import java.util.List;
+
+/**
+ * Several employee mutations published together, so listeners can apply them in one pass instead
+ * of once per row. Bulk imports publish one per chunk, inside the chunk's transaction, and the
+ * change log one per poll of other instances' changes. Listeners treat every element exactly as a
+ * single {@link EmployeeChangedEvent}.
+ *
+ * @param changes Mutations in the order they were made
+ */
+public record EmployeesChangedEvent(List<EmployeeChangedEvent> changes) {}
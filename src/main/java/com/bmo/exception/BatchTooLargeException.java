@@ -0,0 +1,7 @@
+package com.bmo.exception;
+
+public class BatchTooLargeException extends RuntimeException {
+    public BatchTooLargeException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,7 @@
+package com.bmo.exception;
+
+public class BulkheadFullException extends RuntimeException {
+    public BulkheadFullException(String bulkhead) {
+        super("Bulkhead '" + bulkhead + "' is full", null, false, false);
+    }
+}
@@ -1,7 +1,34 @@
 package com.bmo.exception;
 
+/**
+ * Thrown when an employee does not exist.
+ * Not-found is an expected outcome that stale clients and scrapers trigger at high rates, so the
+ * exception records no stack trace and builds its message only when asked.
+ */
 public class EmployeeNotFoundException extends RuntimeException {
+    private static final String MESSAGE_PREFIX = "Employee not found with id: ";
+
+    private final Long id;
+
+    public EmployeeNotFoundException(Long id) {
+        super(null, null, false, false);
+        this.id = id;
+    }
+
     public EmployeeNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
+        this.id = null;
+    }
+
+    /**
+     * @return The id that was not found, or null when the exception was created with a message
+     */
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String getMessage() {
+        return id != null ? MESSAGE_PREFIX + id : super.getMessage();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,278 @@
+package com.bmo.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Builds the error body shared by every handler in {@link GlobalExceptionHandler}:
+ * <pre>{"timestamp":"2026-01-01T12:00:00","message":"...","status":404}</pre>
+ * Validation failures add an {@code "errors"} object that maps each field to its message.
+ * <p>
+ * Bodies are written straight to UTF-8 bytes from pre-encoded fragments, so no map or
+ * {@link LocalDateTime} is created and Jackson is not involved. The timestamp has second
+ * precision and is formatted at most once per second. Bodies whose message never changes
+ * are cached for the current second, and responses share read-only headers.
+ */
+public final class ErrorResponses {
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private static final byte[] TIMESTAMP_FIELD = ascii("{\"timestamp\":\"");
+    private static final byte[] MESSAGE_FIELD = ascii("\",\"message\":\"");
+    private static final byte[] STATUS_FIELD = ascii("\",\"status\":");
+    private static final byte[] ERRORS_FIELD = ascii(",\"errors\":{");
+    private static final byte[] NOT_FOUND_MESSAGE = ascii("Employee not found with id: ");
+    private static final byte[] VALIDATION_MESSAGE = ascii("Validation failed");
+    private static final byte[] FIELD_START = ascii("\"");
+    private static final byte[] FIELD_SEPARATOR = ascii(",\"");
+    private static final byte[] FIELD_VALUE = ascii("\":\"");
+    private static final byte[] HEX = ascii("0123456789abcdef");
+    private static final HttpHeaders JSON_HEADERS = jsonHeaders();
+
+    private static volatile CachedTimestamp timestamp = new CachedTimestamp(Long.MIN_VALUE, new byte[0]);
+
+    private ErrorResponses() {
+    }
+
+    /**
+     * An error response whose message never changes; the encoded body is reused within a second.
+     */
+    public static final class Constant {
+        private final HttpStatus status;
+        private final String message;
+        private volatile CachedBody cached = new CachedBody(null, null);
+
+        private Constant(HttpStatus status, String message) {
+            this.status = status;
+            this.message = message;
+        }
+
+        public ResponseEntity<byte[]> response() {
+            return new ResponseEntity<>(body(), JSON_HEADERS, status);
+        }
+
+        /**
+         * Same body with one extra header; the headers are built on every call, so keep this
+         * for paths that are not hot or where the header value varies.
+         */
+        public ResponseEntity<byte[]> response(String headerName, String headerValue) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.set(headerName, headerValue);
+            return new ResponseEntity<>(body(), headers, status);
+        }
+
+        private byte[] body() {
+            byte[] now = timestamp();
+            CachedBody body = cached;
+            if (body.timestamp != now) {
+                body = new CachedBody(now, new Json(now, status).string(message).end());
+                cached = body;
+            }
+            return body.bytes;
+        }
+
+        private record CachedBody(byte[] timestamp, byte[] bytes) {}
+    }
+
+    public static Constant constant(HttpStatus status, String message) {
+        return new Constant(status, message);
+    }
+
+    public static ResponseEntity<byte[]> of(HttpStatus status, String message) {
+        return respond(status, new Json(timestamp(), status).string(message).end());
+    }
+
+    /**
+     * 404 body for an employee id, written without building the message string.
+     */
+    public static ResponseEntity<byte[]> notFound(EmployeeNotFoundException ex) {
+        if (ex.getId() == null) {
+            return of(HttpStatus.NOT_FOUND, ex.getMessage());
+        }
+        return respond(HttpStatus.NOT_FOUND,
+            new Json(timestamp(), HttpStatus.NOT_FOUND).raw(NOT_FOUND_MESSAGE).digits(ex.getId()).end());
+    }
+
+    /**
+     * 400 body listing the first message reported for each invalid field.
+     */
+    public static ResponseEntity<byte[]> validation(List<FieldError> fieldErrors) {
+        Json json = new Json(timestamp(), HttpStatus.BAD_REQUEST).raw(VALIDATION_MESSAGE).fields();
+        for (int i = 0; i < fieldErrors.size(); i++) {
+            FieldError error = fieldErrors.get(i);
+            if (!reportedBefore(fieldErrors, i)) {
+                json.field(error.getField(), error.getDefaultMessage());
+            }
+        }
+        return respond(HttpStatus.BAD_REQUEST, json.endFields());
+    }
+
+    private static boolean reportedBefore(List<FieldError> fieldErrors, int index) {
+        String field = fieldErrors.get(index).getField();
+        for (int i = 0; i < index; i++) {
+            if (fieldErrors.get(i).getField().equals(field)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ResponseEntity<byte[]> respond(HttpStatus status, byte[] body) {
+        return new ResponseEntity<>(body, JSON_HEADERS, status);
+    }
+
+    private static HttpHeaders jsonHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
+    /**
+     * Current local time as encoded JSON string content, reformatted when the second changes.
+     */
+    private static byte[] timestamp() {
+        long second = System.currentTimeMillis() / 1000;
+        CachedTimestamp current = timestamp;
+        if (current.second != second) {
+            LocalDateTime now = LocalDateTime.ofEpochSecond(second, 0,
+                ZoneId.systemDefault().getRules().getOffset(Instant.ofEpochSecond(second)));
+            current = new CachedTimestamp(second, ascii(TIMESTAMP_FORMAT.format(now)));
+            timestamp = current;
+        }
+        return current.bytes;
+    }
+
+    private record CachedTimestamp(long second, byte[] bytes) {}
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Appends body fragments into one growing array.
+     */
+    private static final class Json {
+        private final HttpStatus status;
+        private byte[] buffer = new byte[256];
+        private int length;
+
+        private Json(byte[] timestamp, HttpStatus status) {
+            this.status = status;
+            raw(TIMESTAMP_FIELD).raw(timestamp).raw(MESSAGE_FIELD);
+        }
+
+        private Json raw(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, length, bytes.length);
+            length += bytes.length;
+            return this;
+        }
+
+        /**
+         * Writes a number. Digits are taken from the value made non-positive, which unlike its
+         * absolute value exists for every long, {@link Long#MIN_VALUE} included.
+         */
+        private Json digits(long value) {
+            ensure(1);
+            if (value < 0) {
+                buffer[length++] = '-';
+            } else {
+                value = -value;
+            }
+            int count = 1;
+            for (long rest = value / 10; rest < 0; rest /= 10) {
+                count++;
+            }
+            ensure(count);
+            for (int i = length + count - 1; i >= length; i--) {
+                buffer[i] = (byte) ('0' - value % 10);
+                value /= 10;
+            }
+            length += count;
+            return this;
+        }
+
+        private Json status() {
+            raw(STATUS_FIELD);
+            return digits(status.value());
+        }
+
+        private Json fields() {
+            status();
+            return raw(ERRORS_FIELD);
+        }
+
+        private Json field(String name, String message) {
+            raw(buffer[length - 1] == '{' ? FIELD_START : FIELD_SEPARATOR);
+            return string(name).raw(FIELD_VALUE).string(message).raw(FIELD_START);
+        }
+
+        /**
+         * Writes JSON string content as UTF-8. ASCII is copied char by char, so the common
+         * case allocates nothing.
+         */
+        private Json string(String value) {
+            if (value == null) {
+                return this;
+            }
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c >= 0x80) {
+                    for (byte b : value.substring(i).getBytes(StandardCharsets.UTF_8)) {
+                        escaped(b & 0xFF);
+                    }
+                    return this;
+                }
+                escaped(c);
+            }
+            return this;
+        }
+
+        private void escaped(int b) {
+            ensure(6);
+            if (b == '"' || b == '\\') {
+                buffer[length++] = '\\';
+                buffer[length++] = (byte) b;
+            } else if (b < 0x20) {
+                buffer[length++] = '\\';
+                buffer[length++] = 'u';
+                buffer[length++] = '0';
+                buffer[length++] = '0';
+                buffer[length++] = HEX[b >> 4];
+                buffer[length++] = HEX[b & 0xF];
+            } else {
+                buffer[length++] = (byte) b;
+            }
+        }
+
+        private byte[] end() {
+            status();
+            ensure(1);
+            buffer[length++] = '}';
+            return Arrays.copyOf(buffer, length);
+        }
+
+        private byte[] endFields() {
+            ensure(2);
+            buffer[length++] = '}';
+            buffer[length++] = '}';
+            return Arrays.copyOf(buffer, length);
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+            }
+        }
+    }
+}
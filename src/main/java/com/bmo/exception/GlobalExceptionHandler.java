@@ -6,17 +6,26 @@ import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.bind.MethodArgumentNotValidException;
-import java.util.HashMap;
-import java.time.LocalDateTime;
-import java.util.Map;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+import org.springframework.web.server.ResponseStatusException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Global exception handler for the application.
  * Provides centralized exception handling across all controllers.
- * Implements consistent error response format.
+ * Implements consistent error response format, written by {@link ErrorResponses}.
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
+    private static final ErrorResponses.Constant CONCURRENT_MODIFICATION = ErrorResponses.constant(
+            HttpStatus.CONFLICT, "Concurrent modification detected. Please refresh and try again.");
+    private static final ErrorResponses.Constant SATURATED = ErrorResponses.constant(
+            HttpStatus.SERVICE_UNAVAILABLE, "Service is saturated. Please retry later.");
+    private static final ErrorResponses.Constant WRITE_OUTCOME_UNKNOWN = ErrorResponses.constant(
+            HttpStatus.SERVICE_UNAVAILABLE, "Request timed out; the change may still be applied. Check before retrying.");
+    private static final ErrorResponses.Constant UNEXPECTED = ErrorResponses.constant(
+            HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred");
 
     /**
      * Handles optimistic locking failures during concurrent modifications.
@@ -25,44 +34,112 @@ public class GlobalExceptionHandler {
      * @return ResponseEntity with conflict status and error details
      */
     @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
-    public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailure(
+    public ResponseEntity<byte[]> handleOptimisticLockingFailure(
             ObjectOptimisticLockingFailureException ex) {
-        return ResponseEntity
-                .status(HttpStatus.CONFLICT)
-                .body(Map.of(
-                        "timestamp", LocalDateTime.now(),
-                        "message", "Concurrent modification detected. Please refresh and try again.",
-                        "status", HttpStatus.CONFLICT.value()
-                ));
+        return CONCURRENT_MODIFICATION.response();
     }
 
     @ExceptionHandler(InvalidSortPropertyException.class)
-    public ResponseEntity<Map<String, Object>> handleInvalidSortPropertyException(InvalidSortPropertyException ex) {
-        return ResponseEntity
-                .status(HttpStatus.BAD_REQUEST)
-                .body(Map.of(
-                        "timestamp", LocalDateTime.now(),
-                        "message", ex.getMessage(),
-                        "status", HttpStatus.BAD_REQUEST.value()
-                ));
+    public ResponseEntity<byte[]> handleInvalidSortPropertyException(InvalidSortPropertyException ex) {
+        return ErrorResponses.of(HttpStatus.BAD_REQUEST, ex.getMessage());
     }
 
+    @ExceptionHandler(InvalidFieldSelectionException.class)
+    public ResponseEntity<byte[]> handleInvalidFieldSelectionException(InvalidFieldSelectionException ex) {
+        return ErrorResponses.of(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<byte[]> handleBatchTooLargeException(BatchTooLargeException ex) {
+        return ErrorResponses.of(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(PageTooLargeException.class)
+    public ResponseEntity<byte[]> handlePageTooLargeException(PageTooLargeException ex) {
+        return ErrorResponses.of(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidImportException.class)
+    public ResponseEntity<byte[]> handleInvalidImportException(InvalidImportException ex) {
+        return ErrorResponses.of(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(ImportJobConflictException.class)
+    public ResponseEntity<byte[]> handleImportJobConflictException(ImportJobConflictException ex) {
+        return ErrorResponses.of(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    @ExceptionHandler(ImportJobNotFoundException.class)
+    public ResponseEntity<byte[]> handleImportJobNotFoundException(ImportJobNotFoundException ex) {
+        return ErrorResponses.of(HttpStatus.NOT_FOUND, ex.getMessage());
+    }
+
+    /**
+     * Handles unknown employee ids. This is the hottest error path, so the body is written
+     * from the id without building the message string.
+     *
+     * @param ex The not found exception
+     * @return ResponseEntity with not found status
+     */
     @ExceptionHandler(EmployeeNotFoundException.class)
-    public ResponseEntity<String> handleEmployeeNotFoundException(EmployeeNotFoundException ex) {
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    public ResponseEntity<byte[]> handleEmployeeNotFoundException(EmployeeNotFoundException ex) {
+        return ErrorResponses.notFound(ex);
+    }
+
+    /**
+     * Handles saturation: a full asynchronous executor queue, an asynchronous request that did
+     * not complete within its timeout, or a full request bulkhead.
+     *
+     * @param ex The rejection or timeout
+     * @return ResponseEntity with service unavailable status
+     */
+    @ExceptionHandler({RejectedExecutionException.class, TimeoutException.class, AsyncRequestTimeoutException.class,
+            BulkheadFullException.class})
+    public ResponseEntity<byte[]> handleSaturation(Exception ex) {
+        return SATURATED.response("Retry-After", "1");
+    }
+
+    /**
+     * Handles an asynchronous write that timed out after it started. Its outcome is unknown, so
+     * no {@code Retry-After} is sent: repeating a create or update blindly could apply it twice.
+     *
+     * @param ex The timeout
+     * @return ResponseEntity with service unavailable status
+     */
+    @ExceptionHandler(WriteOutcomeUnknownException.class)
+    public ResponseEntity<byte[]> handleWriteOutcomeUnknown(WriteOutcomeUnknownException ex) {
+        return WRITE_OUTCOME_UNKNOWN.response();
+    }
+
+    /**
+     * Handles exceptions that already carry their status, such as a bad actuator parameter.
+     *
+     * @param ex The exception
+     * @return ResponseEntity with the exception's status
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<byte[]> handleResponseStatusException(ResponseStatusException ex) {
+        HttpStatus status = HttpStatus.resolve(ex.getStatusCode().value());
+        if (status == null) {
+            return UNEXPECTED.response();
+        }
+        return ErrorResponses.of(status, ex.getReason() != null ? ex.getReason() : status.getReasonPhrase());
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<String> handleGenericException(Exception ex) {
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An unexpected error occurred");
+    public ResponseEntity<byte[]> handleGenericException(Exception ex) {
+        return UNEXPECTED.response();
     }
 
+    /**
+     * Handles request body validation failures. The {@code errors} object maps each invalid
+     * field to its first message.
+     *
+     * @param ex The validation exception
+     * @return ResponseEntity with bad request status
+     */
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, String>> handleValidationExceptions(MethodArgumentNotValidException ex) {
-        Map<String, String> errors = new HashMap<>();
-        ex.getBindingResult().getFieldErrors().forEach(error ->
-                errors.put(error.getField(), error.getDefaultMessage())
-        );
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
+    public ResponseEntity<byte[]> handleValidationExceptions(MethodArgumentNotValidException ex) {
+        return ErrorResponses.validation(ex.getBindingResult().getFieldErrors());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,7 @@
+package com.bmo.exception;
+
+public class ImportJobConflictException extends RuntimeException {
+    public ImportJobConflictException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,7 @@
+package com.bmo.exception;
+
+public class ImportJobNotFoundException extends RuntimeException {
+    public ImportJobNotFoundException(String message) {
+        super(message, null, false, false);
+    }
+}
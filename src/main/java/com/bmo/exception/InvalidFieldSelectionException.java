@@ -0,0 +1,7 @@
+package com.bmo.exception;
+
+public class InvalidFieldSelectionException extends RuntimeException {
+    public InvalidFieldSelectionException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,7 @@
+package com.bmo.exception;
+
+public class InvalidImportException extends RuntimeException {
+    public InvalidImportException(String message) {
+        super(message, null, false, false);
+    }
+}
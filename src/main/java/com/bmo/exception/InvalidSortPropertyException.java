@@ -2,6 +2,6 @@ package com.bmo.exception;
 
 public class InvalidSortPropertyException extends RuntimeException {
     public InvalidSortPropertyException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
\ No newline at end of file
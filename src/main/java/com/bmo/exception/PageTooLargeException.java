@@ -0,0 +1,7 @@
+package com.bmo.exception;
+
+public class PageTooLargeException extends RuntimeException {
+    public PageTooLargeException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,10 @@
+package com.bmo.exception;
+
+/**
+ * An asynchronous write ran past its timeout after it had started, so it may still commit.
+ */
+public class WriteOutcomeUnknownException extends RuntimeException {
+    public WriteOutcomeUnknownException() {
+        super("The request timed out while the change was being applied; it may still take effect", null, false, false);
+    }
+}
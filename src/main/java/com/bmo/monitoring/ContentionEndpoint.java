@@ -0,0 +1,26 @@
+package com.bmo.monitoring;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint exposing the update contention report at {@code /actuator/contention}.
+ */
+@Component
+@Endpoint(id = "contention")
+public class ContentionEndpoint {
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final UpdateConflictTracker conflictTracker;
+
+    public ContentionEndpoint(UpdateConflictTracker conflictTracker) {
+        this.conflictTracker = conflictTracker;
+    }
+
+    @ReadOperation
+    public ContentionReport contention(@Nullable Integer limit) {
+        return conflictTracker.report(limit != null ? limit : DEFAULT_LIMIT);
+    }
+}
@@ -0,0 +1,26 @@
+package com.bmo.monitoring;
+
+import java.util.List;
+
+/**
+ * Snapshot of optimistic locking contention for one entity type.
+ *
+ * @param entity Entity type the numbers refer to
+ * @param updates Update requests handled
+ * @param conflicts Conflicts seen, resolved or not
+ * @param resolved Conflicts absorbed by a server-side retry
+ * @param rejected Conflicts returned to the client as 409
+ * @param conflictRate Conflicts per update
+ * @param hotKeys Most contended ids, highest conflict count first
+ */
+public record ContentionReport(
+    String entity,
+    long updates,
+    long conflicts,
+    long resolved,
+    long rejected,
+    double conflictRate,
+    List<HotKey> hotKeys
+) {
+    public record HotKey(Long id, long conflicts) {}
+}
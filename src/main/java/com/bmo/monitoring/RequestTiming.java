@@ -0,0 +1,131 @@
+package com.bmo.monitoring;
+
+import java.util.Locale;
+
+/**
+ * Exclusive time per layer for one sampled request, bound to the request thread.
+ * <p>
+ * Exactly one segment is current at any moment and the clock is charged to it. {@link #enter}
+ * switches to a nested segment and returns the one it interrupted, which the caller hands back
+ * to {@link #exit}. The segments therefore add up to the request total and a repository call
+ * made from the service is not counted twice. Requests that were not sampled have no instance,
+ * so instrumented code pays only for a {@link ThreadLocal} read.
+ */
+public final class RequestTiming {
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    public enum Segment {
+        /** Spring Security's filter chain, including password hashing. */
+        SECURITY("security"),
+        /** Dispatch, handler mapping and argument binding around the controller. */
+        MVC("mvc"),
+        CONTROLLER("controller"),
+        /** Service code, including mapping entities to DTOs. */
+        SERVICE("service"),
+        /** Spring Data repository calls: queries, flushes and entity hydration. */
+        REPOSITORY("db"),
+        /** Writing the response body; known only after the headers are sent. */
+        SERIALIZATION("serialization");
+
+        private final String metricName;
+
+        Segment(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String metricName() {
+            return metricName;
+        }
+    }
+
+    private final long[] nanos = new long[Segment.values().length];
+    private final long startNanos;
+    private Segment current;
+    private long mark;
+    private boolean headerWritten;
+
+    private RequestTiming(Segment root) {
+        this.startNanos = System.nanoTime();
+        this.mark = startNanos;
+        this.current = root;
+    }
+
+    /**
+     * Starts timing the request on this thread; {@link #finish()} must follow.
+     */
+    public static RequestTiming start(Segment root) {
+        RequestTiming timing = new RequestTiming(root);
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /**
+     * @return The timing of the request on this thread, or null when it is not sampled
+     */
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    public Segment enter(Segment segment) {
+        Segment interrupted = current;
+        switchTo(segment);
+        return interrupted;
+    }
+
+    public void exit(Segment interrupted) {
+        switchTo(interrupted);
+    }
+
+    /** Charges the time so far to the current segment and continues in {@code segment}. */
+    public void switchTo(Segment segment) {
+        long now = System.nanoTime();
+        nanos[current.ordinal()] += now - mark;
+        mark = now;
+        current = segment;
+    }
+
+    /**
+     * Stops the clock and unbinds the timing from the thread.
+     *
+     * @return Total request time in nanoseconds
+     */
+    public long finish() {
+        switchTo(current);
+        CURRENT.remove();
+        return mark - startNanos;
+    }
+
+    public long nanos(Segment segment) {
+        return nanos[segment.ordinal()];
+    }
+
+    /**
+     * Renders the segments measured so far as a {@code Server-Timing} header value, e.g.
+     * {@code security;dur=84.12, service;dur=0.31, db;dur=1.05, total;dur=85.70}.
+     * Durations are in milliseconds as the header requires.
+     */
+    public String headerValue() {
+        long now = System.nanoTime();
+        StringBuilder value = new StringBuilder(128);
+        for (Segment segment : Segment.values()) {
+            long elapsed = nanos[segment.ordinal()] + (segment == current ? now - mark : 0);
+            if (elapsed > 0) {
+                appendMetric(value, segment.metricName(), elapsed);
+            }
+        }
+        appendMetric(value, "total", now - startNanos);
+        headerWritten = true;
+        return value.toString();
+    }
+
+    public boolean headerWritten() {
+        return headerWritten;
+    }
+
+    private static void appendMetric(StringBuilder value, String name, long nanos) {
+        if (!value.isEmpty()) {
+            value.append(", ");
+        }
+        value.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0));
+    }
+}
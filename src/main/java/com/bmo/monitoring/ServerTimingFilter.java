@@ -0,0 +1,73 @@
+package com.bmo.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether a request is sampled and, if so, times it from just before Spring Security
+ * until the response is complete. The {@code Server-Timing} header is normally written by
+ * {@link ServerTimingResponseAdvice} just before the body; responses without a body get it here.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+    public static final String HEADER = "Server-Timing";
+
+    private final double sampleRate;
+    private final ServerTimingMetrics metrics;
+
+    public ServerTimingFilter(double sampleRate, ServerTimingMetrics metrics) {
+        this.sampleRate = sampleRate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!sampled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        RequestTiming timing = RequestTiming.start(RequestTiming.Segment.SECURITY);
+        long totalNanos;
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (!timing.headerWritten() && !response.isCommitted()) {
+                response.setHeader(HEADER, timing.headerValue());
+            }
+            totalNanos = timing.finish();
+        }
+        metrics.record(timing, totalNanos);
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1.0 || (sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    /**
+     * Marks the end of the security filter chain: from here on, time is charged to {@code mvc}
+     * until an instrumented layer takes over.
+     */
+    public static class AfterSecurity extends OncePerRequestFilter {
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            RequestTiming timing = RequestTiming.current();
+            if (timing == null) {
+                chain.doFilter(request, response);
+                return;
+            }
+            RequestTiming.Segment interrupted = timing.enter(RequestTiming.Segment.MVC);
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                timing.exit(interrupted);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.bmo.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-segment histograms of sampled requests, published as {@code http.server.segments}
+ * tagged by {@code segment}, plus the sampled request total as {@code segment=total}.
+ */
+public class ServerTimingMetrics {
+    private final Timer[] segments = new Timer[RequestTiming.Segment.values().length];
+    private final Timer total;
+
+    public ServerTimingMetrics(MeterRegistry meterRegistry) {
+        for (RequestTiming.Segment segment : RequestTiming.Segment.values()) {
+            segments[segment.ordinal()] = timer(meterRegistry, segment.metricName());
+        }
+        this.total = timer(meterRegistry, "total");
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String segment) {
+        return Timer.builder("http.server.segments")
+            .description("Exclusive time per layer of sampled requests")
+            .tag("segment", segment)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofNanos(10_000))
+            .maximumExpectedValue(Duration.ofSeconds(10))
+            .register(meterRegistry);
+    }
+
+    /** Segments a request never entered are not recorded, so they do not drag percentiles to zero. */
+    public void record(RequestTiming timing, long totalNanos) {
+        for (RequestTiming.Segment segment : RequestTiming.Segment.values()) {
+            long nanos = timing.nanos(segment);
+            if (nanos > 0) {
+                segments[segment.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        total.record(totalNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,48 @@
+package com.bmo.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes slow statements to the log from a single background thread, so the connection that ran
+ * the statement never waits on log I/O. When the queue is full the entry is dropped and counted
+ * in {@code sql.slow.log.dropped}.
+ */
+public class SlowQueryLog implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    private final ThreadPoolExecutor writer;
+    private final Counter dropped;
+
+    public SlowQueryLog(int queueCapacity, MeterRegistry meterRegistry) {
+        this.dropped = Counter.builder("sql.slow.log.dropped")
+            .description("Slow statements not logged because the log queue was full")
+            .register(meterRegistry);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("sql-slow-log-");
+        threadFactory.setDaemon(true);
+        this.writer = new ThreadPoolExecutor(
+            1, 1,
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+            threadFactory,
+            (task, executor) -> dropped.increment()
+        );
+    }
+
+    public void submit(String fingerprint, String sql, long elapsedNanos, String parameters) {
+        writer.execute(() -> log.warn("Slow query took {} ms: {} | parameters: {} | fingerprint: {}",
+            TimeUnit.NANOSECONDS.toMillis(elapsedNanos), sql, parameters, fingerprint));
+    }
+
+    @Override
+    public void close() {
+        writer.shutdown();
+    }
+}
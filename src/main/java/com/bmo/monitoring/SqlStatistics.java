@@ -0,0 +1,193 @@
+package com.bmo.monitoring;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Execution statistics per SQL fingerprint. A fingerprint is the statement with comments removed,
+ * literals replaced by {@code ?}, placeholder lists collapsed and whitespace normalized, so every
+ * execution of the same query shape lands in one entry whatever its parameters or IN-list size.
+ * <p>
+ * Recording is lock-free: the raw statement string is looked up in a map (Hibernate reuses the
+ * same strings, so the hash is cached), and counters, the time total and a log-scale latency
+ * histogram are updated with adders and atomics. Fingerprints beyond the configured maximum are
+ * counted under {@value #OTHER}.
+ */
+public class SqlStatistics {
+    static final String OTHER = "(other)";
+    /** Bucket i holds latencies in [2^(i-1), 2^i) microseconds; the last bucket is open-ended. */
+    private static final int BUCKETS = 32;
+
+    private static final Pattern COMMENT = Pattern.compile("/\\*.*?\\*/|--[^\\n]*", Pattern.DOTALL);
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.$])-?\\d+(?:\\.\\d+)?(?:[eE][-+]?\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern ROW_LIST = Pattern.compile("\\(\\?\\.\\.\\.\\)(?:\\s*,\\s*\\(\\?\\.\\.\\.\\))+");
+
+    private final int maxFingerprints;
+    private final Map<String, Entry> bySql = new ConcurrentHashMap<>();
+    private final Map<String, Entry> byFingerprint = new ConcurrentHashMap<>();
+
+    public SqlStatistics(int maxFingerprints) {
+        this.maxFingerprints = Math.max(1, maxFingerprints);
+    }
+
+    /**
+     * Records one execution.
+     *
+     * @param sql Statement as sent to the driver
+     * @param elapsedNanos Execution time
+     * @param success Whether the driver call completed without an exception
+     * @param slow Whether the execution crossed the slow-query threshold
+     * @return The fingerprint the execution was counted under
+     */
+    public String record(String sql, long elapsedNanos, boolean success, boolean slow) {
+        Entry entry = entryFor(sql);
+        entry.record(elapsedNanos, success, slow);
+        return entry.fingerprint;
+    }
+
+    private Entry entryFor(String sql) {
+        Entry entry = bySql.get(sql);
+        if (entry != null) {
+            return entry;
+        }
+        String fingerprint = fingerprint(sql);
+        entry = byFingerprint.get(fingerprint);
+        if (entry == null) {
+            entry = byFingerprint.size() < maxFingerprints
+                ? byFingerprint.computeIfAbsent(fingerprint, Entry::new)
+                : byFingerprint.computeIfAbsent(OTHER, Entry::new);
+        }
+        // Statements with inlined literals map many strings to one fingerprint; stop caching them
+        // rather than letting the raw map grow without bound.
+        if (bySql.size() < maxFingerprints * 4) {
+            bySql.putIfAbsent(sql, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Normalizes a statement to its fingerprint.
+     */
+    static String fingerprint(String sql) {
+        String normalized = COMMENT.matcher(sql).replaceAll(" ");
+        normalized = STRING_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        normalized = PLACEHOLDER_LIST.matcher(normalized).replaceAll("(?...)");
+        return ROW_LIST.matcher(normalized).replaceAll("(?...)...");
+    }
+
+    /**
+     * Builds a point-in-time report of the most expensive fingerprints.
+     *
+     * @param limit Maximum number of fingerprints to include
+     * @param order What "most expensive" means
+     * @return Totals and the top fingerprints
+     */
+    public SqlStatsReport report(int limit, SqlStatsReport.Order order) {
+        List<SqlStatsReport.Fingerprint> all = byFingerprint.values().stream()
+            .map(Entry::snapshot)
+            .toList();
+        Comparator<SqlStatsReport.Fingerprint> comparator = switch (order) {
+            case TOTAL -> Comparator.comparingDouble(SqlStatsReport.Fingerprint::totalMillis);
+            case COUNT -> Comparator.comparingLong(SqlStatsReport.Fingerprint::count);
+            case P99 -> Comparator.comparingDouble(SqlStatsReport.Fingerprint::p99Millis);
+            case MAX -> Comparator.comparingDouble(SqlStatsReport.Fingerprint::maxMillis);
+        };
+        return new SqlStatsReport(
+            all.stream().mapToLong(SqlStatsReport.Fingerprint::count).sum(),
+            all.stream().mapToLong(SqlStatsReport.Fingerprint::slow).sum(),
+            all.size(),
+            order,
+            all.stream().sorted(comparator.reversed()).limit(limit).toList()
+        );
+    }
+
+    /** Forgets every fingerprint, e.g. between load-test runs. */
+    public void reset() {
+        bySql.clear();
+        byFingerprint.clear();
+    }
+
+    private static final class Entry {
+        private final String fingerprint;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder slow = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+        private Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        private void record(long elapsedNanos, boolean success, boolean slowExecution) {
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulate(elapsedNanos);
+            long micros = TimeUnit.NANOSECONDS.toMicros(elapsedNanos);
+            histogram.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros)));
+            if (!success) {
+                errors.increment();
+            }
+            if (slowExecution) {
+                slow.increment();
+            }
+        }
+
+        private SqlStatsReport.Fingerprint snapshot() {
+            long[] buckets = new long[BUCKETS];
+            long recorded = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = histogram.get(i);
+                recorded += buckets[i];
+            }
+            long executions = count.sum();
+            double total = millis(totalNanos.sum());
+            double max = millis(maxNanos.get());
+            return new SqlStatsReport.Fingerprint(
+                fingerprint,
+                executions,
+                errors.sum(),
+                slow.sum(),
+                total,
+                executions == 0 ? 0.0 : total / executions,
+                percentile(buckets, recorded, 0.50, max),
+                percentile(buckets, recorded, 0.95, max),
+                percentile(buckets, recorded, 0.99, max),
+                max
+            );
+        }
+
+        /** Upper bound of the bucket holding the quantile, capped at the observed maximum. */
+        private static double percentile(long[] buckets, long recorded, double quantile, double max) {
+            if (recorded == 0) {
+                return 0.0;
+            }
+            long rank = (long) Math.ceil(quantile * recorded);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    return Math.min(max, (1L << i) / 1000.0);
+                }
+            }
+            return max;
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
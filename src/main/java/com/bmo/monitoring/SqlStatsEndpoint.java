@@ -0,0 +1,53 @@
+package com.bmo.monitoring;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Actuator endpoint exposing the most expensive SQL fingerprints at {@code /actuator/sqlstats}.
+ * {@code order} is one of {@code total} (default), {@code count}, {@code p99} or {@code max};
+ * a DELETE clears the statistics.
+ */
+@Component
+@Endpoint(id = "sqlstats")
+@ConditionalOnProperty(prefix = "employee-nexus.sql-stats", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatsEndpoint {
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final SqlStatistics statistics;
+
+    public SqlStatsEndpoint(SqlStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @ReadOperation
+    public SqlStatsReport sqlStats(@Nullable Integer limit, @Nullable String order) {
+        return statistics.report(limit != null ? limit : DEFAULT_LIMIT, order(order));
+    }
+
+    @DeleteOperation
+    public void reset() {
+        statistics.reset();
+    }
+
+    private static SqlStatsReport.Order order(@Nullable String order) {
+        if (order == null) {
+            return SqlStatsReport.Order.TOTAL;
+        }
+        try {
+            return SqlStatsReport.Order.valueOf(order.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            String message = "Unknown order '" + order + "', expected one of "
+                + Arrays.toString(SqlStatsReport.Order.values()).toLowerCase(Locale.ROOT);
+            throw new InvalidEndpointRequestException(message, message);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.bmo.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Datasource-proxy listener that feeds every statement into {@link SqlStatistics} and hands slow
+ * ones to the {@link SlowQueryLog}. Elapsed times must come from a nanosecond stopwatch.
+ * Parameters are only formatted for slow statements, on the calling thread, because the
+ * driver-side parameter lists are reused by the next execution.
+ */
+public class SqlStatsListener implements QueryExecutionListener {
+    private static final int MAX_VALUE_LENGTH = 100;
+
+    private final SqlStatistics statistics;
+    private final SlowQueryLog slowQueryLog;
+    private final long slowThresholdNanos;
+    private final int parameterSamples;
+
+    public SqlStatsListener(SqlStatistics statistics, SlowQueryLog slowQueryLog,
+                            Duration slowThreshold, int parameterSamples) {
+        this.statistics = statistics;
+        this.slowQueryLog = slowQueryLog;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.parameterSamples = parameterSamples;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (queryInfoList.isEmpty()) {
+            return;
+        }
+        String sql = queryInfoList.size() == 1
+            ? queryInfoList.get(0).getQuery()
+            : queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        long elapsedNanos = execInfo.getElapsedTime();
+        boolean slow = elapsedNanos >= slowThresholdNanos;
+        String fingerprint = statistics.record(sql, elapsedNanos, execInfo.isSuccess(), slow);
+        if (slow) {
+            slowQueryLog.submit(fingerprint, sql, elapsedNanos, parameters(queryInfoList));
+        }
+    }
+
+    private String parameters(List<QueryInfo> queryInfoList) {
+        StringBuilder out = new StringBuilder();
+        int sets = 0;
+        int sampled = 0;
+        for (QueryInfo queryInfo : queryInfoList) {
+            for (List<ParameterSetOperation> operations : queryInfo.getParametersList()) {
+                if (operations.isEmpty()) {
+                    continue;
+                }
+                sets++;
+                if (sampled == parameterSamples) {
+                    continue;
+                }
+                if (sampled++ > 0) {
+                    out.append(", ");
+                }
+                // Operations are kept in call order, which is bind order for Hibernate and JdbcTemplate.
+                out.append(operations.stream()
+                    .map(SqlStatsListener::value)
+                    .collect(Collectors.joining(", ", "[", "]")));
+            }
+        }
+        if (sets > sampled) {
+            out.append(" (+").append(sets - sampled).append(" more)");
+        }
+        return sets == 0 ? "none" : out.toString();
+    }
+
+    private static String value(ParameterSetOperation operation) {
+        Object[] args = operation.getArgs();
+        if (ParameterSetOperation.isSetNullParameterOperation(operation) || args.length < 2 || args[1] == null) {
+            return "null";
+        }
+        Object value = args[1];
+        if (value instanceof byte[] bytes) {
+            return "<" + bytes.length + " bytes>";
+        }
+        String text = value.toString();
+        if (text.length() > MAX_VALUE_LENGTH) {
+            text = text.substring(0, MAX_VALUE_LENGTH) + "...";
+        }
+        return value instanceof CharSequence ? "'" + text + "'" : text;
+    }
+}
@@ -0,0 +1,38 @@
+package com.bmo.monitoring;
+
+import java.util.List;
+
+/**
+ * Snapshot of SQL execution statistics, grouped by fingerprint. Times are in milliseconds;
+ * percentiles are upper bounds of power-of-two microsecond buckets.
+ *
+ * @param statements Executions recorded
+ * @param slowStatements Executions at or above the slow-query threshold
+ * @param fingerprints Distinct fingerprints tracked
+ * @param order Ranking applied to {@code top}
+ * @param top Most expensive fingerprints by {@code order}
+ */
+public record SqlStatsReport(
+    long statements,
+    long slowStatements,
+    int fingerprints,
+    Order order,
+    List<Fingerprint> top
+) {
+    public enum Order {
+        TOTAL, COUNT, P99, MAX
+    }
+
+    public record Fingerprint(
+        String fingerprint,
+        long count,
+        long errors,
+        long slow,
+        double totalMillis,
+        double meanMillis,
+        double p50Millis,
+        double p95Millis,
+        double p99Millis,
+        double maxMillis
+    ) {}
+}
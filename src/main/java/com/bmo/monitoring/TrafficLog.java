@@ -0,0 +1,208 @@
+package com.bmo.monitoring;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary format of recorded traffic.
+ * <p>
+ * A log starts with a header (magic, format version, wall-clock start) followed by tagged
+ * records. The first request to an endpoint defines it once, and later requests refer to it by
+ * index. Numbers are written as unsigned variable-length integers, so a request takes a few
+ * dozen bytes. Only the parameters in {@link #PARAMETERS} are kept, and bodies are
+ * reduced to their length, so names and departments never reach the log. A log cut short by a
+ * crash reads up to its last complete record.
+ */
+public final class TrafficLog {
+    /**
+     * Query parameters that shape a request. Anything else is dropped when recording.
+     */
+    public static final List<String> PARAMETERS =
+        List.of("pageParam", "size", "sort", "fields", "includeArchived", "ids", "rejections");
+
+    private static final int MAGIC = 0x454E544C;
+    private static final int VERSION = 1;
+    private static final int ENDPOINT = 1;
+    private static final int REQUEST = 2;
+
+    private TrafficLog() {
+    }
+
+    /**
+     * One recorded request.
+     *
+     * @param method HTTP method
+     * @param pattern Matched handler pattern, for example {@code /api/v1/employee/{id}}
+     * @param offsetMicros Start of the request, relative to the start of the recording
+     * @param durationMicros Time until the response was complete
+     * @param status Response status
+     * @param id Value of the {@code id} path variable, null when there is none
+     * @param bodyBytes Length of the request body
+     * @param parameters Recorded query parameters, in {@link #PARAMETERS} order
+     */
+    public record Request(
+        String method,
+        String pattern,
+        long offsetMicros,
+        long durationMicros,
+        int status,
+        Long id,
+        long bodyBytes,
+        Map<String, String> parameters
+    ) {
+        /**
+         * @return Method and pattern, with multi-gets told apart from list requests
+         */
+        public String endpoint() {
+            return method + " " + pattern + (parameters.containsKey("ids") ? "?ids" : "");
+        }
+    }
+
+    /**
+     * Appends requests to a log. Not thread-safe.
+     */
+    public static final class Writer implements AutoCloseable {
+        private final DataOutputStream out;
+        private final Map<String, Integer> endpoints = new HashMap<>();
+
+        public Writer(OutputStream out, long startEpochMillis) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(out, 64 * 1024));
+            this.out.writeInt(MAGIC);
+            this.out.writeByte(VERSION);
+            this.out.writeLong(startEpochMillis);
+        }
+
+        public void write(Request request) throws IOException {
+            String key = request.method() + " " + request.pattern();
+            Integer endpoint = endpoints.get(key);
+            if (endpoint == null) {
+                endpoint = endpoints.size();
+                endpoints.put(key, endpoint);
+                out.writeByte(ENDPOINT);
+                out.writeUTF(request.method());
+                out.writeUTF(request.pattern());
+            }
+            out.writeByte(REQUEST);
+            writeVarLong(endpoint);
+            writeVarLong(request.offsetMicros());
+            writeVarLong(request.durationMicros());
+            writeVarLong(request.status());
+            writeVarLong(request.id() != null ? request.id() + 1 : 0);
+            writeVarLong(request.bodyBytes());
+            writeVarLong(request.parameters().size());
+            for (Map.Entry<String, String> parameter : request.parameters().entrySet()) {
+                writeVarLong(PARAMETERS.indexOf(parameter.getKey()));
+                out.writeUTF(parameter.getValue());
+            }
+        }
+
+        /**
+         * @return Bytes written so far, saturating at {@link Integer#MAX_VALUE}
+         */
+        public long size() {
+            return out.size();
+        }
+
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+
+        private void writeVarLong(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                out.writeByte((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.writeByte((int) value);
+        }
+    }
+
+    /**
+     * Reads requests back in the order they were recorded.
+     */
+    public static final class Reader implements AutoCloseable {
+        private final DataInputStream in;
+        private final long startEpochMillis;
+        private final List<String[]> endpoints = new ArrayList<>();
+
+        public Reader(InputStream in) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(in, 64 * 1024));
+            if (this.in.readInt() != MAGIC) {
+                throw new IOException("Not a traffic log");
+            }
+            int version = this.in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported traffic log version " + version);
+            }
+            this.startEpochMillis = this.in.readLong();
+        }
+
+        public long startEpochMillis() {
+            return startEpochMillis;
+        }
+
+        /**
+         * @return The next request, or null at the end of the log
+         */
+        public Request next() throws IOException {
+            try {
+                int tag = in.read();
+                while (tag == ENDPOINT) {
+                    endpoints.add(new String[] {in.readUTF(), in.readUTF()});
+                    tag = in.read();
+                }
+                if (tag != REQUEST) {
+                    return null;
+                }
+                String[] endpoint = endpoints.get((int) readVarLong());
+                long offset = readVarLong();
+                long duration = readVarLong();
+                int status = (int) readVarLong();
+                long id = readVarLong();
+                long bodyBytes = readVarLong();
+                int count = (int) readVarLong();
+                Map<String, String> parameters = new LinkedHashMap<>(count * 2);
+                for (int i = 0; i < count; i++) {
+                    parameters.put(PARAMETERS.get((int) readVarLong()), in.readUTF());
+                }
+                return new Request(endpoint[0], endpoint[1], offset, duration, status, id == 0 ? null : id - 1,
+                    bodyBytes, parameters);
+            } catch (EOFException e) {
+                // The recorder stopped in the middle of a record.
+                return null;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        private long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = in.readUnsignedByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed traffic log");
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.bmo.monitoring;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records the shape of every API request that reached a handler: method, matched pattern,
+ * numeric id, the query parameters in {@link TrafficLog#PARAMETERS}, body length, status and
+ * timing. Requests rejected before dispatch, such as unauthenticated ones, have no pattern and
+ * are skipped. Asynchronous requests are recorded when their response completes.
+ */
+public class TrafficRecordFilter extends OncePerRequestFilter {
+    // Keeps a value within what the log can store as one string
+    private static final int MAX_VALUE_LENGTH = 16_384;
+
+    private final TrafficRecorder recorder;
+
+    public TrafficRecordFilter(TrafficRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, response, start);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(request, response, start);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, long start) {
+        long end = System.nanoTime();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return;
+        }
+        Map<String, String> parameters = new LinkedHashMap<>();
+        for (String name : TrafficLog.PARAMETERS) {
+            String[] values = request.getParameterValues(name);
+            if (values != null) {
+                String value = String.join(",", values);
+                parameters.put(name, value.length() > MAX_VALUE_LENGTH ? value.substring(0, MAX_VALUE_LENGTH) : value);
+            }
+        }
+        recorder.record(new TrafficLog.Request(
+            request.getMethod(),
+            pattern.toString(),
+            recorder.offsetMicros(start),
+            (end - start) / 1_000,
+            response.getStatus(),
+            id(request),
+            Math.max(0, request.getContentLengthLong()),
+            parameters
+        ));
+    }
+
+    private static Long id(HttpServletRequest request) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables =
+            (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String id = variables != null ? variables.get("id") : null;
+        if (id == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
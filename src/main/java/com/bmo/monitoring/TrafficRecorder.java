@@ -0,0 +1,130 @@
+package com.bmo.monitoring;
+
+import com.bmo.service.RingBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes recorded requests to a {@link TrafficLog} from a background thread. Request threads
+ * only add to a lock-free buffer; when it is full, or once the log has reached its maximum size,
+ * requests are no longer recorded and are counted in {@code traffic.record.dropped}.
+ */
+public class TrafficRecorder implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(TrafficRecorder.class);
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final long FLUSH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final int DRAIN_BATCH = 1024;
+
+    private final Path file;
+    private final long startNanos = System.nanoTime();
+    private final TrafficLog.Writer out;
+    private final long maxBytes;
+    private final RingBuffer<TrafficLog.Request> buffer;
+    private final Counter recorded;
+    private final Counter dropped;
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile boolean full;
+
+    public TrafficRecorder(Path directory, long maxBytes, int bufferCapacity, MeterRegistry meterRegistry)
+            throws IOException {
+        Files.createDirectories(directory);
+        this.file = directory.resolve("traffic-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".bin");
+        this.out = new TrafficLog.Writer(Files.newOutputStream(file), System.currentTimeMillis());
+        this.maxBytes = maxBytes;
+        this.buffer = new RingBuffer<>(bufferCapacity);
+        this.recorded = Counter.builder("traffic.record.requests")
+            .description("Requests written to the traffic log")
+            .register(meterRegistry);
+        this.dropped = Counter.builder("traffic.record.dropped")
+            .description("Requests not recorded because the buffer was full or the log reached its maximum size")
+            .register(meterRegistry);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("traffic-recorder-");
+        threadFactory.setDaemon(true);
+        this.writer = threadFactory.newThread(this::run);
+        this.writer.start();
+        log.info("Recording API traffic to {}", file);
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * @return Microseconds between the start of the recording and {@code nanoTime}
+     */
+    public long offsetMicros(long nanoTime) {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanoTime - startNanos));
+    }
+
+    public void record(TrafficLog.Request request) {
+        if (full || !buffer.offer(request)) {
+            dropped.increment();
+        }
+    }
+
+    private void run() {
+        List<TrafficLog.Request> batch = new ArrayList<>(DRAIN_BATCH);
+        while (true) {
+            // Read before draining, so the requests recorded before close() are written.
+            boolean stopping = !running;
+            int drained = buffer.drainTo(batch, DRAIN_BATCH);
+            try {
+                for (TrafficLog.Request request : batch) {
+                    write(request);
+                }
+                if (drained == 0) {
+                    out.flush();
+                }
+            } catch (IOException e) {
+                log.warn("Writing traffic log {} failed; recording stopped", file, e);
+                full = true;
+            }
+            batch.clear();
+            if (drained == 0) {
+                if (stopping) {
+                    return;
+                }
+                LockSupport.parkNanos(FLUSH_INTERVAL_NANOS);
+            }
+        }
+    }
+
+    private void write(TrafficLog.Request request) throws IOException {
+        if (full) {
+            dropped.increment();
+            return;
+        }
+        out.write(request);
+        recorded.increment();
+        if (out.size() >= maxBytes) {
+            full = true;
+            log.warn("Traffic log {} reached its maximum size; recording stopped", file);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        out.close();
+    }
+}
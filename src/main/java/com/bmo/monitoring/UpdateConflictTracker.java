@@ -0,0 +1,111 @@
+package com.bmo.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts optimistic locking conflicts on employee updates and keeps a bounded
+ * table of the most contended ids.
+ * Conflicts are published as the {@code employee.update.conflicts} counter, tagged by outcome,
+ * next to {@code employee.updates} so a conflict rate can be derived.
+ */
+@Component
+public class UpdateConflictTracker {
+    static final int MAX_TRACKED_KEYS = 1024;
+    private static final String ENTITY = "employee";
+
+    private final Counter updates;
+    private final Counter retried;
+    private final Counter overlapping;
+    private final Counter exhausted;
+    private final Map<Long, LongAdder> conflictsById = new ConcurrentHashMap<>();
+
+    public UpdateConflictTracker(MeterRegistry meterRegistry) {
+        this.updates = Counter.builder("employee.updates")
+            .description("Update requests handled")
+            .tag("entity", ENTITY)
+            .register(meterRegistry);
+        this.retried = conflictCounter(meterRegistry, "retried");
+        this.overlapping = conflictCounter(meterRegistry, "overlapping");
+        this.exhausted = conflictCounter(meterRegistry, "exhausted");
+    }
+
+    private static Counter conflictCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("employee.update.conflicts")
+            .description("Optimistic locking conflicts on update, by outcome")
+            .tag("entity", ENTITY)
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    public void recordUpdate() {
+        updates.increment();
+    }
+
+    /** The conflict was absorbed by re-applying the update on a fresh read. */
+    public void recordRetried(Long id) {
+        retried.increment();
+        recordHotKey(id);
+    }
+
+    /** The winning write changed a field this update also changes. */
+    public void recordOverlapping(Long id) {
+        overlapping.increment();
+        recordHotKey(id);
+    }
+
+    /** The retry budget ran out. */
+    public void recordExhausted(Long id) {
+        exhausted.increment();
+        recordHotKey(id);
+    }
+
+    private void recordHotKey(Long id) {
+        LongAdder adder = conflictsById.get(id);
+        if (adder == null) {
+            if (conflictsById.size() >= MAX_TRACKED_KEYS) {
+                evictColdest();
+            }
+            adder = conflictsById.computeIfAbsent(id, key -> new LongAdder());
+        }
+        adder.increment();
+    }
+
+    private void evictColdest() {
+        conflictsById.entrySet().stream()
+            .min(Comparator.comparingLong(entry -> entry.getValue().sum()))
+            .ifPresent(entry -> conflictsById.remove(entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * Builds a point-in-time contention report.
+     *
+     * @param limit Maximum number of hot keys to include
+     * @return Totals, conflict rate and the most contended ids
+     */
+    public ContentionReport report(int limit) {
+        double total = updates.count();
+        double conflicts = retried.count() + overlapping.count() + exhausted.count();
+        List<ContentionReport.HotKey> hotKeys = conflictsById.entrySet().stream()
+            .map(entry -> new ContentionReport.HotKey(entry.getKey(), entry.getValue().sum()))
+            .sorted(Comparator.comparingLong(ContentionReport.HotKey::conflicts).reversed())
+            .limit(limit)
+            .toList();
+        return new ContentionReport(
+            ENTITY,
+            (long) total,
+            (long) conflicts,
+            (long) retried.count(),
+            (long) (overlapping.count() + exhausted.count()),
+            total == 0 ? 0.0 : conflicts / total,
+            hotKeys
+        );
+    }
+}
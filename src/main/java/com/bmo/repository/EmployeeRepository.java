@@ -6,8 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 /**
  * JPA Repository interface for Employee entities.
  * Extends JpaRepository to inherit basic CRUD operations and pagination
- * support.
- * No custom methods needed as basic JPA functionality covers all requirements.
+ * support, and {@link EmployeeRepositoryCustom} for column projections.
  */
-public interface EmployeeRepository extends JpaRepository<EmployeeEntity, Long> {
+public interface EmployeeRepository extends JpaRepository<EmployeeEntity, Long>, EmployeeRepositoryCustom {
 }
@@ -0,0 +1,66 @@
+package com.bmo.repository;
+
+import com.bmo.dto.EmployeeDto;
+import com.bmo.dto.EmployeeField;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Custom queries that read only a subset of employee columns, optionally across the hot
+ * {@code employees} table and {@code employees_archive}.
+ * Unselected fields are left null in the returned DTOs.
+ */
+public interface EmployeeRepositoryCustom {
+
+    /**
+     * Reads a page of employees selecting only the given columns.
+     *
+     * @param fields Columns to read
+     * @param pageable Page, size and sort
+     * @return Page of partially populated employees
+     */
+    Page<EmployeeDto> findAllProjected(Set<EmployeeField> fields, Pageable pageable);
+
+    /**
+     * Reads the same rows as {@link #findAllProjected} one at a time from an open cursor, without
+     * counting them. The stream must be consumed and closed inside a transaction.
+     *
+     * @param fields Columns to read
+     * @param pageable Page, size and sort
+     * @return Partially populated employees in page order
+     */
+    Stream<EmployeeDto> streamProjected(Set<EmployeeField> fields, Pageable pageable);
+
+    /**
+     * Reads one employee selecting only the given columns.
+     *
+     * @param id Employee id
+     * @param fields Columns to read
+     * @return Partially populated employee, if found
+     */
+    Optional<EmployeeDto> findProjectedById(Long id, Set<EmployeeField> fields);
+
+    /**
+     * Reads a page of employees from both the hot table and the archive, including employees
+     * deleted but not yet archived.
+     *
+     * @param fields Columns to read
+     * @param pageable Page, size and sort; sort properties must be employee fields
+     * @return Page of partially populated employees
+     * @throws IllegalArgumentException if a sort property is not an employee field
+     */
+    Page<EmployeeDto> findAllIncludingArchived(Set<EmployeeField> fields, Pageable pageable);
+
+    /**
+     * Reads one employee from the hot table or, failing that, the archive.
+     *
+     * @param id Employee id
+     * @param fields Columns to read
+     * @return Partially populated employee, if found in either table
+     */
+    Optional<EmployeeDto> findIncludingArchivedById(Long id, Set<EmployeeField> fields);
+}
@@ -0,0 +1,183 @@
+package com.bmo.repository;
+
+import com.bmo.dto.EmployeeDto;
+import com.bmo.dto.EmployeeField;
+import com.bmo.entity.EmployeeEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.stream.Stream;
+
+/**
+ * Criteria-based implementation of {@link EmployeeRepositoryCustom}.
+ * Builds a constructor projection into {@link EmployeeDto} where unselected columns are
+ * replaced by null literals, so they are never read from the database.
+ * Reads that include the archive are native {@code UNION ALL} queries, since the archive
+ * is not visible to entity queries on {@link EmployeeEntity}.
+ */
+class EmployeeRepositoryImpl implements EmployeeRepositoryCustom {
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<EmployeeDto> findAllProjected(Set<EmployeeField> fields, Pageable pageable) {
+        List<EmployeeDto> content = projectedPage(fields, pageable).getResultList();
+        return PageableExecutionUtils.getPage(content, pageable, this::countAll);
+    }
+
+    @Override
+    public Stream<EmployeeDto> streamProjected(Set<EmployeeField> fields, Pageable pageable) {
+        TypedQuery<EmployeeDto> query = projectedPage(fields, pageable);
+        // Drivers such as PostgreSQL's read the whole result into memory unless a fetch size is set.
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE);
+        return query.getResultStream();
+    }
+
+    private TypedQuery<EmployeeDto> projectedPage(Set<EmployeeField> fields, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeDto> query = cb.createQuery(EmployeeDto.class);
+        Root<EmployeeEntity> root = query.from(EmployeeEntity.class);
+        query.select(projection(cb, root, fields));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        TypedQuery<EmployeeDto> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery;
+    }
+
+    @Override
+    public Optional<EmployeeDto> findProjectedById(Long id, Set<EmployeeField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeDto> query = cb.createQuery(EmployeeDto.class);
+        Root<EmployeeEntity> root = query.from(EmployeeEntity.class);
+        query.select(projection(cb, root, fields)).where(cb.equal(root.get("id"), id));
+        return entityManager.createQuery(query).getResultStream().findFirst();
+    }
+
+    @Override
+    public Page<EmployeeDto> findAllIncludingArchived(Set<EmployeeField> fields, Pageable pageable) {
+        // Sort keys are read even when they are not selected, so that each branch and the union
+        // order by real values; they are dropped again in toDtos.
+        Set<EmployeeField> read = EnumSet.noneOf(EmployeeField.class);
+        read.addAll(fields);
+        String orderBy = "";
+        if (pageable.getSort().isSorted()) {
+            StringJoiner orders = new StringJoiner(", ", " ORDER BY ", "");
+            for (Sort.Order order : pageable.getSort()) {
+                EmployeeField field = sortField(order.getProperty());
+                read.add(field);
+                orders.add(field.attribute() + (order.isAscending() ? " ASC" : " DESC"));
+            }
+            orderBy = orders.toString();
+        }
+        String columns = columns(read);
+        // Each table contributes at most offset + size rows, which it reads in index order when
+        // sorting by id, so only those rows are merged instead of sorting both tables whole.
+        String branchLimit = pageable.isPaged() ? " LIMIT " + (pageable.getOffset() + pageable.getPageSize()) : "";
+        String sql = "(SELECT " + columns + " FROM employees" + orderBy + branchLimit + ")"
+            + " UNION ALL (SELECT " + columns + " FROM employees_archive" + orderBy + branchLimit + ")" + orderBy;
+
+        Query query = entityManager.createNativeQuery(sql, Object[].class);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<EmployeeDto> content = toDtos(query.getResultList(), fields);
+        return PageableExecutionUtils.getPage(content, pageable, () -> ((Number) entityManager.createNativeQuery(
+            "SELECT (SELECT COUNT(*) FROM employees) + (SELECT COUNT(*) FROM employees_archive)")
+            .getSingleResult()).longValue());
+    }
+
+    @Override
+    public Optional<EmployeeDto> findIncludingArchivedById(Long id, Set<EmployeeField> fields) {
+        String columns = columns(fields);
+        Query query = entityManager.createNativeQuery("SELECT " + columns + " FROM employees WHERE id = :id"
+            + " UNION ALL SELECT " + columns + " FROM employees_archive WHERE id = :id", Object[].class);
+        query.setParameter("id", id);
+        return toDtos(query.getResultList(), fields).stream().findFirst();
+    }
+
+    private static String columns(Set<EmployeeField> fields) {
+        StringJoiner columns = new StringJoiner(", ");
+        for (EmployeeField field : EmployeeField.values()) {
+            // Columns carry the attribute names, so an unselected one becomes a typed null aliased to it.
+            columns.add(fields.contains(field) ? field.attribute()
+                : (field == EmployeeField.NAME || field == EmployeeField.DEPARTMENT
+                    ? "CAST(NULL AS VARCHAR)" : "CAST(NULL AS BIGINT)") + " AS " + field.attribute());
+        }
+        return columns.toString();
+    }
+
+    private static EmployeeField sortField(String property) {
+        for (EmployeeField field : EmployeeField.values()) {
+            if (field.attribute().equals(property)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Cannot sort archived employees by " + property);
+    }
+
+    /** Builds DTOs from rows in {@link #columns} order, keeping only the selected fields. */
+    private static List<EmployeeDto> toDtos(List<?> rows, Set<EmployeeField> fields) {
+        List<EmployeeDto> employees = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            employees.add(new EmployeeDto(
+                fields.contains(EmployeeField.ID) ? longValue(columns[0]) : null,
+                fields.contains(EmployeeField.NAME) ? (String) columns[1] : null,
+                fields.contains(EmployeeField.DEPARTMENT) ? (String) columns[2] : null,
+                fields.contains(EmployeeField.VERSION) ? longValue(columns[3]) : null));
+        }
+        return employees;
+    }
+
+    private static Long longValue(Object column) {
+        return column == null ? null : ((Number) column).longValue();
+    }
+
+    private long countAll() {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        query.select(cb.count(query.from(EmployeeEntity.class)));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static Selection<EmployeeDto> projection(CriteriaBuilder cb, Root<EmployeeEntity> root,
+                                                     Set<EmployeeField> fields) {
+        return cb.construct(EmployeeDto.class,
+            column(cb, root, fields, EmployeeField.ID, Long.class),
+            column(cb, root, fields, EmployeeField.NAME, String.class),
+            column(cb, root, fields, EmployeeField.DEPARTMENT, String.class),
+            column(cb, root, fields, EmployeeField.VERSION, Long.class));
+    }
+
+    private static <T> Selection<T> column(CriteriaBuilder cb, Root<EmployeeEntity> root,
+                                           Set<EmployeeField> fields, EmployeeField field, Class<T> type) {
+        return fields.contains(field) ? root.get(field.attribute()) : cb.nullLiteral(type);
+    }
+}
@@ -0,0 +1,43 @@
+package com.bmo.repository;
+
+import com.bmo.entity.ImportJobEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA Repository for bulk import jobs.
+ * Progress and completion are written with bulk updates that clear the persistence context,
+ * so a later {@code findById} in the same request sees the new values.
+ */
+public interface ImportJobRepository extends JpaRepository<ImportJobEntity, String> {
+
+    /**
+     * Advances a job past a chunk, only if nothing else advanced it first.
+     *
+     * @return 1 if the job was advanced, 0 if its committed line was no longer {@code fromLine}
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        update ImportJobEntity j
+           set j.committedLine = :toLine,
+               j.importedRows = j.importedRows + :imported,
+               j.rejectedRows = j.rejectedRows + :rejected,
+               j.updatedAt = :now
+         where j.id = :id and j.committedLine = :fromLine
+        """)
+    int advance(@Param("id") String id, @Param("fromLine") long fromLine, @Param("toLine") long toLine,
+                @Param("imported") long imported, @Param("rejected") long rejected, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        update ImportJobEntity j
+           set j.status = :status, j.error = :error, j.finishedAt = :now, j.updatedAt = :now
+         where j.id = :id
+        """)
+    int finish(@Param("id") String id, @Param("status") ImportJobEntity.Status status,
+               @Param("error") String error, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,14 @@
+package com.bmo.repository;
+
+import com.bmo.entity.ImportRejectionEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+/**
+ * JPA Repository for the rejected lines of bulk import jobs.
+ */
+public interface ImportRejectionRepository extends JpaRepository<ImportRejectionEntity, Long> {
+    List<ImportRejectionEntity> findByJobIdOrderByLineNumber(String jobId, Pageable pageable);
+}
@@ -0,0 +1,45 @@
+package com.bmo.service;
+
+import com.bmo.exception.BulkheadFullException;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The configured bulkheads by name. Annotated handlers are limited by the web interceptor; work
+ * that uses pooled connections off the request thread, such as the async executor and import
+ * writers, takes its permit here so that it counts against the same budget.
+ */
+public class Bulkheads {
+    /** Latency-sensitive single-record reads and writes. */
+    public static final String INTERACTIVE = "interactive";
+    /** List pages, multi-gets, imports and other requests that read or write many rows. */
+    public static final String BULK = "bulk";
+
+    private final Map<String, ConcurrencyLimiter> limiters;
+
+    public Bulkheads(Map<String, ConcurrencyLimiter> limiters) {
+        this.limiters = new TreeMap<>(limiters);
+    }
+
+    /**
+     * @return The named bulkhead, or null when none is configured under that name
+     */
+    public ConcurrencyLimiter get(String name) {
+        return limiters.get(name);
+    }
+
+    /**
+     * Takes a permit from the named bulkhead, queueing as its policy allows.
+     *
+     * @return The bulkhead to release the permit to, or null when none is configured under that name
+     * @throws BulkheadFullException if no permit could be taken
+     */
+    public ConcurrencyLimiter acquire(String name) {
+        ConcurrencyLimiter limiter = limiters.get(name);
+        if (limiter != null && !limiter.tryAcquire()) {
+            throw new BulkheadFullException(name);
+        }
+        return limiter;
+    }
+}
@@ -0,0 +1,114 @@
+package com.bmo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A named bulkhead: at most {@code limit} callers hold a permit at once. A caller that finds
+ * no free permit either waits, if fewer than {@code maxQueue} callers are already waiting,
+ * for up to {@code maxWait}, or is rejected straight away. Permits are handed out in arrival
+ * order.
+ * <p>
+ * Published per bulkhead (tag {@code bulkhead}): {@code bulkhead.active}, {@code bulkhead.waiting},
+ * {@code bulkhead.limit}, {@code bulkhead.calls} tagged {@code outcome=permitted|rejected}, and
+ * {@code bulkhead.wait} for callers that had to queue.
+ */
+public class ConcurrencyLimiter {
+    private final int limit;
+    private final int maxQueue;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Counter permitted;
+    private final Counter rejected;
+    private final Timer waitTimer;
+
+    public ConcurrencyLimiter(String name, int limit, int maxQueue, Duration maxWait, MeterRegistry meterRegistry) {
+        this.limit = Math.max(1, limit);
+        this.maxQueue = Math.max(0, maxQueue);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.permits = new Semaphore(this.limit, true);
+        this.permitted = calls(meterRegistry, name, "permitted");
+        this.rejected = calls(meterRegistry, name, "rejected");
+        this.waitTimer = Timer.builder("bulkhead.wait")
+            .description("Time callers queued for a bulkhead permit")
+            .tag("bulkhead", name)
+            .register(meterRegistry);
+        Gauge.builder("bulkhead.active", this, ConcurrencyLimiter::active)
+            .description("Permits held")
+            .tag("bulkhead", name)
+            .register(meterRegistry);
+        Gauge.builder("bulkhead.waiting", waiting, AtomicInteger::get)
+            .description("Callers queued for a permit")
+            .tag("bulkhead", name)
+            .register(meterRegistry);
+        Gauge.builder("bulkhead.limit", this, ConcurrencyLimiter::limit)
+            .description("Permits available when idle")
+            .tag("bulkhead", name)
+            .register(meterRegistry);
+    }
+
+    private static Counter calls(MeterRegistry meterRegistry, String name, String outcome) {
+        return Counter.builder("bulkhead.calls")
+            .description("Calls admitted or turned away by the bulkhead")
+            .tag("bulkhead", name)
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Takes a permit, queueing if the policy allows. A permitted caller must call {@link #release()}.
+     *
+     * @return Whether a permit was taken
+     */
+    public boolean tryAcquire() {
+        try {
+            // The timed form honours fairness; the untimed tryAcquire() would barge past waiters.
+            if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+                permitted.increment();
+                return true;
+            }
+            if (maxQueue == 0 || maxWaitNanos <= 0) {
+                rejected.increment();
+                return false;
+            }
+            if (waiting.incrementAndGet() > maxQueue) {
+                waiting.decrementAndGet();
+                rejected.increment();
+                return false;
+            }
+            long start = System.nanoTime();
+            try {
+                boolean acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+                waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                (acquired ? permitted : rejected).increment();
+                return acquired;
+            } finally {
+                waiting.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            return false;
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int active() {
+        return limit - permits.availablePermits();
+    }
+
+    public int limit() {
+        return limit;
+    }
+}
@@ -0,0 +1,170 @@
+package com.bmo.service;
+
+import com.bmo.config.ArchiveProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves deleted employees from {@code employees} to {@code employees_archive} on a background
+ * thread, so the hot table holds only active rows and deletes stay a single-row update.
+ * <p>
+ * Each batch is copied and removed in one transaction. Between batches the archiver sleeps
+ * long enough to stay under {@code rows-per-second}, which drains a large backlog at a steady
+ * pace instead of in one burst that competes with requests for connections and locks.
+ * <p>
+ * Every instance runs its own archiver. A batch locks its rows before copying them, so when two
+ * instances pick the same rows, the second waits for the first to commit and then finds them
+ * gone; each row is moved exactly once.
+ */
+@Service
+@ConditionalOnProperty(prefix = "employee-nexus.archive", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeArchiver implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(EmployeeArchiver.class);
+
+    // Reads the front of the archivable_since index. Moved rows leave it, so the next batch starts
+    // where this one ended. Without a lower bound H2 would begin at the NULLs of the active rows.
+    private static final String SELECT_BATCH = "SELECT id FROM employees "
+        + "WHERE archivable_since > TIMESTAMP '1970-01-01 00:00:00' AND archivable_since <= :cutoff "
+        + "ORDER BY archivable_since, id LIMIT :limit";
+    private static final String CLAIM_BATCH =
+        "SELECT id FROM employees WHERE id IN (:ids) AND deleted_at IS NOT NULL FOR UPDATE";
+    private static final String COPY_BATCH =
+        "INSERT INTO employees_archive (id, name, department, version, deleted_at, archived_at) "
+            + "SELECT id, name, department, version, deleted_at, LOCALTIMESTAMP FROM employees "
+            + "WHERE id IN (:ids) AND deleted_at IS NOT NULL";
+    private static final String DELETE_BATCH =
+        "DELETE FROM employees WHERE id IN (:ids) AND deleted_at IS NOT NULL";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchiveProperties properties;
+    private final Counter archivedRows;
+    private final Timer batchTimer;
+    private volatile ScheduledExecutorService scheduler;
+
+    public EmployeeArchiver(
+        NamedParameterJdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        ArchiveProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.archivedRows = Counter.builder("employee.archive.rows")
+            .description("Deleted employees moved to the archive table")
+            .register(meterRegistry);
+        this.batchTimer = Timer.builder("employee.archive.batch")
+            .description("Time to copy and remove one batch of deleted employees")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Archives every employee deleted at least {@code retention} ago, one batch per transaction.
+     *
+     * @return Number of employees moved to the archive
+     * @throws InterruptedException if the thread is interrupted while throttling
+     */
+    public long archive() throws InterruptedException {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.retention());
+        int batchSize = Math.max(1, properties.batchSize());
+        long total = 0;
+        while (true) {
+            long batchStart = System.nanoTime();
+            List<Long> ids = jdbcTemplate.queryForList(SELECT_BATCH, new MapSqlParameterSource()
+                .addValue("cutoff", cutoff)
+                .addValue("limit", batchSize), Long.class);
+            if (ids.isEmpty()) {
+                return total;
+            }
+            Integer moved = transactionTemplate.execute(status -> {
+                List<Long> claimed = jdbcTemplate.queryForList(CLAIM_BATCH,
+                    new MapSqlParameterSource("ids", ids), Long.class);
+                if (claimed.isEmpty()) {
+                    return 0;
+                }
+                MapSqlParameterSource batch = new MapSqlParameterSource("ids", claimed);
+                jdbcTemplate.update(COPY_BATCH, batch);
+                return jdbcTemplate.update(DELETE_BATCH, batch);
+            });
+            long elapsed = System.nanoTime() - batchStart;
+            batchTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            archivedRows.increment(moved);
+            total += moved;
+            if (ids.size() < batchSize) {
+                return total;
+            }
+            throttle(ids.size(), elapsed);
+        }
+    }
+
+    private void throttle(int rows, long elapsedNanos) throws InterruptedException {
+        int rowsPerSecond = properties.rowsPerSecond();
+        if (rowsPerSecond > 0) {
+            TimeUnit.NANOSECONDS.sleep(TimeUnit.SECONDS.toNanos(rows) / rowsPerSecond - elapsedNanos);
+        }
+    }
+
+    private void runScheduled() {
+        try {
+            long start = System.nanoTime();
+            long moved = archive();
+            if (moved > 0) {
+                log.info("Archived {} deleted employees in {} ms", moved, (System.nanoTime() - start) / 1_000_000);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Archiving deleted employees failed; retrying in {}", properties.interval(), e);
+        }
+    }
+
+    @Override
+    public void start() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("employee-archiver-");
+        threadFactory.setDaemon(true);
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        long interval = Math.max(1, properties.interval().toMillis());
+        executor.scheduleWithFixedDelay(this::runScheduled, interval, interval, TimeUnit.MILLISECONDS);
+        scheduler = executor;
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService executor = scheduler;
+        if (executor == null) {
+            return;
+        }
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("Archiver did not stop within 5 s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        scheduler = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+}
@@ -0,0 +1,328 @@
+package com.bmo.service;
+
+import com.bmo.config.AuditProperties;
+import com.bmo.config.AuditProperties.Overflow;
+import com.bmo.event.EmployeeChangedEvent;
+import com.bmo.event.EmployeesChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Records who changed which employee in the append-only {@code employee_audit} table, without
+ * adding a write to the mutating transaction.
+ * <p>
+ * Once a change commits, the request thread puts an audit record into a lock-free
+ * {@link RingBuffer} and returns. A writer thread drains the buffer and inserts the records in
+ * batches, each batch in its own transaction. When the buffer is full the configured
+ * {@link Overflow} policy decides whether the request waits or the record is dropped. On shutdown
+ * the writer keeps going until the buffer is empty or {@code shutdown-timeout} has passed, and
+ * this lifecycle stops only after the web server, so requests still completing during a graceful
+ * shutdown are recorded too.
+ * <p>
+ * Only changes committed on this instance are recorded: the listener does not run for the
+ * events the {@link EmployeeChangeLog} re-publishes outside a transaction.
+ */
+@Service
+@ConditionalOnProperty(prefix = "employee-nexus.audit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeAuditTrail implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(EmployeeAuditTrail.class);
+
+    static final String SYSTEM_PRINCIPAL = "system";
+    private static final String INSERT_RECORD = "INSERT INTO employee_audit "
+        + "(employee_id, change_type, principal, old_version, new_version, changed_fields, committed_at) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final long BLOCK_PAUSE_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final RingBuffer<AuditRecord> buffer;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditProperties properties;
+    private final int batchSize;
+    private final Counter written;
+    private final Counter dropped;
+    private final Timer blocked;
+    private final Timer batchTimer;
+
+    private volatile Thread writer;
+    // The last writer thread started, kept after stop so late records are not drained while it still runs
+    private volatile Thread lastWriter;
+    private volatile boolean running;
+    private volatile boolean overflowing;
+    // Confined to the writer thread
+    private boolean failing;
+
+    /**
+     * What the request thread hands over: the event as published, the principal and the commit
+     * time in epoch milliseconds. Everything else is derived on the writer thread.
+     */
+    private record AuditRecord(EmployeeChangedEvent change, String principal, long committedAt) {}
+
+    public EmployeeAuditTrail(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        AuditProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        this.buffer = new RingBuffer<>(properties.capacity());
+        this.jdbcTemplate = jdbcTemplate;
+        // Records written on a request thread after commit must not join its finished transaction.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.properties = properties;
+        this.batchSize = Math.max(1, properties.batchSize());
+        this.written = Counter.builder("employee.audit.written")
+            .description("Audit records inserted into employee_audit")
+            .register(meterRegistry);
+        this.dropped = Counter.builder("employee.audit.dropped")
+            .description("Audit records discarded because the buffer was full")
+            .register(meterRegistry);
+        this.blocked = Timer.builder("employee.audit.blocked")
+            .description("Time requests waited for space in the full audit buffer")
+            .register(meterRegistry);
+        this.batchTimer = Timer.builder("employee.audit.batch")
+            .description("Time to insert one batch of audit records")
+            .register(meterRegistry);
+        Gauge.builder("employee.audit.buffered", buffer, RingBuffer::size)
+            .description("Audit records waiting to be written")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Records a committed change as made by the user of the current security context.
+     */
+    @TransactionalEventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        record(new AuditRecord(event, principal(), System.currentTimeMillis()));
+    }
+
+    @TransactionalEventListener
+    public void onEmployeesChanged(EmployeesChangedEvent batch) {
+        batch.changes().forEach(this::onEmployeeChanged);
+    }
+
+    private static String principal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : SYSTEM_PRINCIPAL;
+    }
+
+    private void record(AuditRecord record) {
+        Thread writerThread = writer;
+        if (writerThread == null) {
+            writeThrough(record);
+            return;
+        }
+        if (buffer.offer(record)) {
+            // Waking the writer only for a half-full buffer keeps it to one burst of batches per flush
+            // interval under load, instead of a batch every few milliseconds competing with requests.
+            if (buffer.size() >= buffer.capacity() / 2) {
+                LockSupport.unpark(writerThread);
+            }
+            if (writer == null) {
+                // The writer stopped while the record was being added and may not have seen it.
+                flushRemaining();
+            }
+            return;
+        }
+        if (!overflowing) {
+            overflowing = true;
+            log.warn("Audit buffer is full ({} records); applying overflow policy {}",
+                buffer.capacity(), properties.overflow());
+        }
+        if (properties.overflow() == Overflow.DROP) {
+            dropped.increment();
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + properties.blockTimeout().toNanos();
+        LockSupport.unpark(writerThread);
+        while (!buffer.offer(record)) {
+            if (System.nanoTime() - deadline >= 0) {
+                writeThrough(record);
+                break;
+            }
+            LockSupport.parkNanos(BLOCK_PAUSE_NANOS);
+        }
+        blocked.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void writeThrough(AuditRecord record) {
+        try {
+            write(List.of(record));
+        } catch (RuntimeException e) {
+            // The change itself has committed; failing the request now would only hide that.
+            log.error("Could not write audit record for employee {} ({})", record.change().employeeId(),
+                record.change().type(), e);
+        }
+    }
+
+    private void write(List<AuditRecord> records) {
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.batchUpdate(INSERT_RECORD, records, records.size(), (ps, record) -> {
+                EmployeeChangedEvent change = record.change();
+                ps.setLong(1, change.employeeId());
+                ps.setString(2, change.type().name());
+                ps.setString(3, record.principal());
+                setNullableLong(ps, 4, change.oldVersion());
+                setNullableLong(ps, 5, change.newVersion());
+                ps.setString(6, String.join(",", change.changedFields()));
+                ps.setTimestamp(7, new Timestamp(record.committedAt()));
+            }));
+        written.increment(records.size());
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+
+    private void runWriter() {
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        long flushInterval = properties.flushInterval().toNanos();
+        while (running) {
+            buffer.drainTo(batch, batchSize - batch.size());
+            if (!batch.isEmpty() && !tryWrite(batch)) {
+                LockSupport.parkNanos(flushInterval);
+                continue;
+            }
+            if (buffer.size() < batchSize) {
+                if (overflowing && buffer.size() == 0) {
+                    overflowing = false;
+                    log.info("Audit buffer drained; {} records dropped since startup", (long) dropped.count());
+                }
+                LockSupport.parkNanos(flushInterval);
+            }
+        }
+        long deadline = System.nanoTime() + properties.shutdownTimeout().toNanos();
+        while (true) {
+            buffer.drainTo(batch, batchSize - batch.size());
+            if (batch.isEmpty()) {
+                return;
+            }
+            if (!tryWrite(batch)) {
+                if (System.nanoTime() - deadline >= 0) {
+                    log.error("Shutting down with {} audit records unwritten", batch.size() + buffer.size());
+                    return;
+                }
+                LockSupport.parkNanos(flushInterval);
+            }
+        }
+    }
+
+    private boolean tryWrite(List<AuditRecord> batch) {
+        long start = System.nanoTime();
+        try {
+            write(batch);
+        } catch (RuntimeException e) {
+            if (!failing) {
+                log.warn("Writing audit records failed; retrying every {} while the buffer holds up to {} records",
+                    properties.flushInterval(), buffer.capacity(), e);
+                failing = true;
+            }
+            return false;
+        }
+        batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batch.clear();
+        if (failing) {
+            log.info("Writing audit records recovered");
+            failing = false;
+        }
+        return true;
+    }
+
+    /**
+     * Writes what is left in the buffer on the calling thread, once the writer has stopped.
+     */
+    private synchronized void flushRemaining() {
+        Thread thread = lastWriter;
+        if (thread != null && thread.isAlive()) {
+            return;
+        }
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            try {
+                write(batch);
+            } catch (RuntimeException e) {
+                log.error("Could not write {} audit records after shutdown", batch.size(), e);
+            }
+            batch.clear();
+        }
+    }
+
+    @Override
+    public void start() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("employee-audit-");
+        threadFactory.setDaemon(true);
+        Thread thread = threadFactory.newThread(this::runWriter);
+        running = true;
+        writer = thread;
+        lastWriter = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = writer;
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(properties.shutdownTimeout().toMillis() + 1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            log.warn("Audit writer did not stop within {}", properties.shutdownTimeout());
+        }
+        writer = null;
+        flushRemaining();
+    }
+
+    /**
+     * @return The running writer thread, or null when stopped; lets tests wait for it to go idle
+     */
+    Thread writerThread() {
+        return writer;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null;
+    }
+
+    /**
+     * Stops after the web server, whose graceful shutdown lets in-flight requests finish.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
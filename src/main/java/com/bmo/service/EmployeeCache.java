@@ -0,0 +1,146 @@
+package com.bmo.service;
+
+import com.bmo.config.EmployeeCacheProperties;
+import com.bmo.dto.EmployeeDto;
+import com.bmo.event.EmployeeChangedEvent;
+import com.bmo.event.EmployeeChangedEvent.ChangeType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process cache of single employees and list pages, kept coherent by the
+ * {@link EmployeeChangedEvent}s of this instance and, through {@link EmployeeChangeLog}, of
+ * every other instance sharing the database.
+ * <p>
+ * A change evicts its employee and only the pages it can affect: every page after a create or
+ * delete, since those shift rows between pages, but after an update only the pages that hold the
+ * employee or are sorted by a field that changed. Every eviction advances a generation, and a
+ * value loaded before the latest eviction is not stored, so a load racing with a change cannot
+ * put the old state back.
+ */
+@Component
+@ConditionalOnProperty(prefix = "employee-nexus.cache", name = "enabled", havingValue = "true")
+public class EmployeeCache {
+    private final Map<Long, EmployeeDto> employees = new ConcurrentHashMap<>();
+    private final Map<Pageable, Page<EmployeeDto>> pages = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final EmployeeCacheProperties properties;
+    private final Counter hits;
+    private final Counter misses;
+
+    public EmployeeCache(EmployeeCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+        Gauge.builder("employee.cache.size", employees, Map::size)
+            .description("Entries held by the employee cache")
+            .tag("cache", "employee")
+            .register(meterRegistry);
+        Gauge.builder("employee.cache.size", pages, Map::size)
+            .description("Entries held by the employee cache")
+            .tag("cache", "page")
+            .register(meterRegistry);
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("employee.cache.requests")
+            .description("Employee and page cache lookups")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    /**
+     * @return Token to pass to {@link #put} for a value loaded after this call
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public EmployeeDto get(Long id) {
+        return count(employees.get(id));
+    }
+
+    public Page<EmployeeDto> getPage(Pageable pageable) {
+        return count(pages.get(pageable));
+    }
+
+    /**
+     * Stores an employee unless the cache is full or a change was applied since {@code generation}.
+     */
+    public void put(EmployeeDto employee, long generation) {
+        if (employees.size() < properties.maxEmployees() && this.generation.get() == generation) {
+            employees.put(employee.id(), employee);
+            // An eviction that ran between the check and the put may have missed this entry.
+            if (this.generation.get() != generation) {
+                employees.remove(employee.id(), employee);
+            }
+        }
+    }
+
+    /**
+     * Stores a page unless the cache is full or a change was applied since {@code generation}.
+     */
+    public void putPage(Pageable pageable, Page<EmployeeDto> page, long generation) {
+        if (pages.size() < properties.maxPages() && this.generation.get() == generation) {
+            pages.put(pageable, page);
+            if (this.generation.get() != generation) {
+                pages.remove(pageable, page);
+            }
+        }
+    }
+
+    /**
+     * Evicts the employee and the pages the change can affect.
+     */
+    public void evict(EmployeeChangedEvent event) {
+        generation.incrementAndGet();
+        employees.remove(event.employeeId());
+        if (event.type() != ChangeType.UPDATED) {
+            pages.clear();
+            return;
+        }
+        pages.entrySet().removeIf(entry -> sortedByAny(entry.getKey().getSort(), event.changedFields())
+            || contains(entry.getValue(), event.employeeId()));
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        employees.clear();
+        pages.clear();
+    }
+
+    private static boolean sortedByAny(Sort sort, Set<String> changedFields) {
+        for (Sort.Order order : sort) {
+            // Every update that changes a field also bumps the version.
+            if (order.getProperty().equals("version") || changedFields.contains(order.getProperty())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean contains(Page<EmployeeDto> page, Long id) {
+        for (EmployeeDto employee : page.getContent()) {
+            if (id.equals(employee.id())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private <T> T count(T value) {
+        (value != null ? hits : misses).increment();
+        return value;
+    }
+}
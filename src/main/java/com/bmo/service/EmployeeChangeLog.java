@@ -0,0 +1,327 @@
+package com.bmo.service;
+
+import com.bmo.config.ChangeLogProperties;
+import com.bmo.dto.EmployeeDto;
+import com.bmo.event.EmployeeChangedEvent;
+import com.bmo.event.EmployeeChangedEvent.ChangeType;
+import com.bmo.event.EmployeesChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transactional change log shared by every instance on the same database.
+ * <p>
+ * Each mutation is appended to {@code employee_change_log} in the mutating transaction, so an
+ * entry exists exactly when the change commits. Every instance polls the log by primary key and
+ * re-publishes the changes made by other instances as {@link EmployeeChangedEvent}s, outside any
+ * transaction, with the employee's current row attached. Listeners that accept events without a
+ * transaction (the service's caches and the read model) therefore follow remote writes the same
+ * way they follow local ones, while this class's own listener does not log them again.
+ * <p>
+ * Each poll reads in batches of {@code batch-size} until it has caught up, so a backlog longer
+ * than one batch is not mistaken for being current.
+ * <p>
+ * Sequence numbers are taken when a row is inserted, not when it commits, so a poll can see
+ * {@code n + 1} before {@code n}. Reading continues from the highest number seen and entries above
+ * a missing number are applied right away. The missing number is looked up on every poll until its
+ * entry shows up or {@code gap-timeout} passes, which is taken to mean its transaction rolled back.
+ */
+@Service
+@ConditionalOnProperty(prefix = "employee-nexus.change-log", name = "enabled", havingValue = "true")
+public class EmployeeChangeLog implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(EmployeeChangeLog.class);
+
+    private static final String INSERT_ENTRY = "INSERT INTO employee_change_log "
+        + "(employee_id, change_type, version, changed_fields, origin, changed_at) VALUES (?, ?, ?, ?, ?, LOCALTIMESTAMP)";
+    private static final String SELECT_START =
+        "SELECT COALESCE(MAX(seq), 0) FROM employee_change_log WHERE changed_at < DATEADD('MILLISECOND', ?, LOCALTIMESTAMP)";
+    // Ages are computed on the database clock, which every instance shares.
+    private static final String ENTRY_COLUMNS = "SELECT seq, employee_id, change_type, version, changed_fields, origin, "
+        + "DATEDIFF('MILLISECOND', changed_at, LOCALTIMESTAMP) FROM employee_change_log ";
+    private static final String SELECT_ENTRIES = ENTRY_COLUMNS + "WHERE seq > ? ORDER BY seq LIMIT ?";
+    private static final String SELECT_MISSING = ENTRY_COLUMNS + "WHERE seq IN (:seqs) ORDER BY seq";
+    private static final String SELECT_EMPLOYEES =
+        "SELECT id, name, department, version FROM employees WHERE id IN (:ids) AND deleted_at IS NULL";
+    private static final String PRUNE =
+        "DELETE FROM employee_change_log WHERE changed_at < DATEADD('MILLISECOND', ?, LOCALTIMESTAMP)";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChangeLogProperties properties;
+    private final Timer lag;
+    private final Counter applied;
+
+    // Tailing state, confined to the poll thread
+    private long highestSeen;
+    private final NavigableMap<Long, Long> missingSince = new TreeMap<>();
+    private long lastPrune;
+    private boolean failing;
+
+    private volatile long currentAsOf;
+    private volatile ScheduledExecutorService scheduler;
+
+    private record Entry(long seq, Long employeeId, ChangeType type, Long version, Set<String> changedFields,
+                         String origin, long ageMillis) {}
+
+    public EmployeeChangeLog(
+        JdbcTemplate jdbcTemplate,
+        NamedParameterJdbcTemplate namedJdbcTemplate,
+        ApplicationEventPublisher eventPublisher,
+        ChangeLogProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.lag = Timer.builder("employee.changelog.lag")
+            .description("Time from a change committing on another instance to this instance applying it")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.applied = Counter.builder("employee.changelog.applied")
+            .description("Changes made by other instances and applied to this instance's caches")
+            .register(meterRegistry);
+        Gauge.builder("employee.changelog.staleness", this, changeLog -> changeLog.stalenessNanos() / 1e9)
+            .description("Age of the latest completed poll; caches are bypassed above employee-nexus.change-log.max-staleness")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+
+    /**
+     * @return Id written with this instance's entries
+     */
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Whether every change committed more than {@code max-staleness} ago has been applied, so that
+     * caches may serve reads.
+     */
+    public boolean isCurrent() {
+        return scheduler != null && stalenessNanos() <= properties.maxStaleness().toNanos();
+    }
+
+    private long stalenessNanos() {
+        return System.nanoTime() - currentAsOf;
+    }
+
+    /**
+     * Queues the change for the log. A transaction's entries are written in one batch just before
+     * it commits, which keeps bulk imports to one extra statement per chunk.
+     */
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<EmployeeChangedEvent> pending = (List<EmployeeChangedEvent>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<EmployeeChangedEvent> batch = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    write(batch);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(EmployeeChangeLog.this);
+                }
+            });
+            pending = batch;
+        }
+        pending.add(event);
+    }
+
+    @EventListener
+    public void onEmployeesChanged(EmployeesChangedEvent batch) {
+        batch.changes().forEach(this::onEmployeeChanged);
+    }
+
+    private void write(List<EmployeeChangedEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_ENTRY, events, events.size(), (ps, event) -> {
+            ps.setLong(1, event.employeeId());
+            ps.setString(2, event.type().name());
+            if (event.newVersion() != null) {
+                ps.setLong(3, event.newVersion());
+            } else {
+                ps.setNull(3, Types.BIGINT);
+            }
+            ps.setString(4, String.join(",", event.changedFields()));
+            ps.setString(5, nodeId);
+        });
+    }
+
+    /**
+     * Looks up the entries still missing below the highest one seen, then reads everything after
+     * it, and applies those of other instances.
+     */
+    void poll() {
+        long start = System.nanoTime();
+        missingSince.values().removeIf(since -> start - since >= properties.gapTimeout().toNanos());
+        if (!missingSince.isEmpty()) {
+            List<Entry> found = namedJdbcTemplate.query(SELECT_MISSING,
+                new MapSqlParameterSource("seqs", missingSince.keySet()), EmployeeChangeLog::entry);
+            List<Entry> remote = new ArrayList<>(found.size());
+            for (Entry entry : found) {
+                missingSince.remove(entry.seq());
+                if (!nodeId.equals(entry.origin())) {
+                    remote.add(entry);
+                }
+            }
+            if (!remote.isEmpty()) {
+                apply(remote);
+            }
+        }
+
+        int batchSize = Math.max(1, properties.batchSize());
+        List<Entry> entries;
+        do {
+            entries = jdbcTemplate.query(SELECT_ENTRIES, EmployeeChangeLog::entry, highestSeen, batchSize);
+            List<Entry> remote = new ArrayList<>(entries.size());
+            for (Entry entry : entries) {
+                // With nothing seen yet there is no lower end to look for gaps from.
+                for (long seq = highestSeen + 1; highestSeen > 0 && seq < entry.seq(); seq++) {
+                    missingSince.put(seq, start);
+                }
+                highestSeen = entry.seq();
+                if (!nodeId.equals(entry.origin())) {
+                    remote.add(entry);
+                }
+            }
+            if (!remote.isEmpty()) {
+                apply(remote);
+            }
+        } while (entries.size() == batchSize);
+        currentAsOf = start;
+        if (start - lastPrune > properties.retention().toNanos() / 2) {
+            jdbcTemplate.update(PRUNE, -properties.retention().toMillis());
+            lastPrune = start;
+        }
+    }
+
+    private void apply(List<Entry> entries) {
+        List<Long> ids = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            if (entry.type() != ChangeType.DELETED) {
+                ids.add(entry.employeeId());
+            }
+        }
+        Map<Long, EmployeeDto> current = new HashMap<>(ids.size() * 2);
+        if (!ids.isEmpty()) {
+            namedJdbcTemplate.query(SELECT_EMPLOYEES, new MapSqlParameterSource("ids", ids), rs -> {
+                current.put(rs.getLong(1), new EmployeeDto(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getLong(4)));
+            });
+        }
+        List<EmployeeChangedEvent> changes = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            changes.add(new EmployeeChangedEvent(entry.type(), entry.employeeId(), null,
+                entry.version(), entry.changedFields(), current.get(entry.employeeId())));
+            lag.record(entry.ageMillis(), TimeUnit.MILLISECONDS);
+            applied.increment();
+        }
+        eventPublisher.publishEvent(new EmployeesChangedEvent(changes));
+    }
+
+    private static Entry entry(ResultSet rs, int rowNum) throws SQLException {
+        return new Entry(
+            rs.getLong(1),
+            rs.getLong(2),
+            ChangeType.valueOf(rs.getString(3)),
+            rs.getObject(4, Long.class),
+            fields(rs.getString(5)),
+            rs.getString(6),
+            rs.getLong(7)
+        );
+    }
+
+    private static Set<String> fields(String fields) {
+        return fields == null || fields.isEmpty() ? Set.of() : Set.of(fields.split(","));
+    }
+
+    private void pollScheduled() {
+        try {
+            poll();
+            if (failing) {
+                log.info("Change log polling recovered");
+                failing = false;
+            }
+        } catch (RuntimeException e) {
+            if (!failing) {
+                log.warn("Change log polling failed; caches are bypassed after {} without a poll",
+                    properties.maxStaleness(), e);
+                failing = true;
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        // Entries that may still be in flight are read again; applying a change twice is harmless.
+        currentAsOf = System.nanoTime();
+        missingSince.clear();
+        highestSeen = jdbcTemplate.queryForObject(SELECT_START, Long.class, -properties.gapTimeout().toMillis());
+        lastPrune = currentAsOf;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("employee-change-log-");
+        threadFactory.setDaemon(true);
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        long interval = Math.max(1, properties.pollInterval().toMillis());
+        executor.scheduleWithFixedDelay(this::pollScheduled, 0, interval, TimeUnit.MILLISECONDS);
+        scheduler = executor;
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService executor = scheduler;
+        if (executor == null) {
+            return;
+        }
+        scheduler = null;
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+}
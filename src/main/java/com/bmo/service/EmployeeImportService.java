@@ -0,0 +1,432 @@
+package com.bmo.service;
+
+import com.bmo.config.ImportExecutorConfig;
+import com.bmo.config.ImportProperties;
+import com.bmo.dto.EmployeeDto;
+import com.bmo.dto.ImportFormat;
+import com.bmo.dto.ImportJobDto;
+import com.bmo.dto.ImportJobDto.RejectedRowDto;
+import com.bmo.entity.ImportJobEntity;
+import com.bmo.entity.ImportJobEntity.Status;
+import com.bmo.event.EmployeeChangedEvent;
+import com.bmo.event.EmployeeChangedEvent.ChangeType;
+import com.bmo.event.EmployeesChangedEvent;
+import com.bmo.exception.BulkheadFullException;
+import com.bmo.exception.ImportJobConflictException;
+import com.bmo.exception.ImportJobNotFoundException;
+import com.bmo.exception.InvalidImportException;
+import com.bmo.repository.ImportJobRepository;
+import com.bmo.repository.ImportRejectionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Streams CSV or NDJSON employee files into the database.
+ * <p>
+ * The request thread parses and validates lines and hands chunks of rows to a writer thread
+ * through a bounded queue. When the writer falls behind, the queue fills and parsing blocks,
+ * which in turn stops reading from the socket. Each chunk is written in one transaction:
+ * a batched insert of the valid rows, the rejected lines for the report, and the job's progress.
+ * The committed line therefore always matches what is in the table, and an interrupted import
+ * can be resumed by sending the same file again with its job id.
+ * <p>
+ * Rows are inserted with JDBC batches because the {@code IDENTITY} id generator disables
+ * Hibernate's insert batching. The CREATED {@link EmployeeChangedEvent}s of a chunk are published
+ * together as one {@link EmployeesChangedEvent}, so caches and the read model follow the import
+ * and the read model merges each chunk in one pass.
+ */
+@Service
+public class EmployeeImportService {
+    private static final String INSERT_EMPLOYEE =
+        "INSERT INTO employees (name, department, version) VALUES (?, ?, 0)";
+    private static final String INSERT_REJECTION =
+        "INSERT INTO import_rejections (job_id, line_number, reason) VALUES (?, ?, ?)";
+    private static final List<ImportRow> END = Collections.unmodifiableList(new ArrayList<>());
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ImportJobRepository importJobRepository;
+    private final ImportRejectionRepository importRejectionRepository;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExecutorService executor;
+    private final ImportProperties properties;
+    private final Bulkheads bulkheads;
+    private final Set<String> activeJobs = ConcurrentHashMap.newKeySet();
+    private final Counter importedRows;
+    private final Counter rejectedRows;
+
+    /**
+     * Constructor injection of the import collaborators.
+     *
+     * @param jdbcTemplate JDBC access for batched inserts
+     * @param transactionManager Transaction manager used to commit each chunk
+     * @param importJobRepository Job progress
+     * @param importRejectionRepository Rejected lines, for the job report
+     * @param validator Bean validation of {@link EmployeeDto} constraints
+     * @param objectMapper Parser for NDJSON lines
+     * @param eventPublisher Publisher for {@link EmployeeChangedEvent}s
+     * @param executor Writer threads
+     * @param properties Chunk, queue and concurrency limits
+     * @param meterRegistry Registry for imported and rejected row counters
+     * @param bulkheads Bulkheads whose bulk permit each writer takes, null when bulkheads are off
+     */
+    public EmployeeImportService(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        ImportJobRepository importJobRepository,
+        ImportRejectionRepository importRejectionRepository,
+        Validator validator,
+        ObjectMapper objectMapper,
+        ApplicationEventPublisher eventPublisher,
+        @Qualifier(ImportExecutorConfig.IMPORT_EXECUTOR) ExecutorService executor,
+        ImportProperties properties,
+        MeterRegistry meterRegistry,
+        @Nullable Bulkheads bulkheads
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.importJobRepository = importJobRepository;
+        this.importRejectionRepository = importRejectionRepository;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.executor = executor;
+        this.properties = properties;
+        this.bulkheads = bulkheads;
+        this.importedRows = rowCounter(meterRegistry, "imported");
+        this.rejectedRows = rowCounter(meterRegistry, "rejected");
+    }
+
+    private static Counter rowCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("employee.import.rows")
+            .description("Rows processed by bulk imports")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Imports a request body, blocking until every line has been committed or the import stops.
+     *
+     * @param body Request body
+     * @param format Body format
+     * @param jobId Id of an earlier, unfinished job to resume, or a new id to use; null generates one
+     * @return The job after this run; status FAILED means it can be resumed with the same file
+     * @throws ImportJobConflictException if the job is running or complete, or was started with another format
+     * @throws InvalidImportException if the CSV header lacks the required columns
+     * @throws RejectedExecutionException if too many imports are running
+     * @throws BulkheadFullException if the bulk bulkhead has no connection left for the writer
+     */
+    public ImportJobDto importEmployees(InputStream body, ImportFormat format, String jobId) {
+        String id = jobId == null || jobId.isBlank() ? UUID.randomUUID().toString() : jobId;
+        if (!activeJobs.add(id)) {
+            throw new ImportJobConflictException("Import job " + id + " is already running");
+        }
+        ConcurrencyLimiter permit = null;
+        try {
+            // The writer holds a pooled connection of its own besides the request's.
+            permit = bulkheads != null ? bulkheads.acquire(Bulkheads.BULK) : null;
+            ImportJobEntity job = startJob(id, format);
+            BlockingQueue<List<ImportRow>> queue = new ArrayBlockingQueue<>(Math.max(1, properties.queueCapacity()));
+            Future<?> writer;
+            try {
+                writer = executor.submit(() -> write(job, queue));
+            } catch (RejectedExecutionException ex) {
+                finishJob(id, "Too many imports are running");
+                throw ex;
+            }
+
+            String error = null;
+            InvalidImportException invalid = null;
+            try (ImportRowReader reader = ImportRowReader.open(body, format, objectMapper)) {
+                read(reader, job.getCommittedLine(), queue, writer);
+            } catch (InvalidImportException ex) {
+                invalid = ex;
+                error = ex.getMessage();
+            } catch (IOException | UncheckedIOException ex) {
+                error = "Reading the request body failed: " + ex.getMessage();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                error = "Interrupted";
+            } finally {
+                hand(queue, END, writer);
+            }
+
+            try {
+                writer.get();
+            } catch (ExecutionException ex) {
+                error = ex.getCause().getMessage();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                writer.cancel(true);
+                error = "Interrupted";
+            }
+            finishJob(id, error);
+            if (invalid != null) {
+                throw invalid;
+            }
+            return getJob(id, properties.maxReportedRejections());
+        } finally {
+            if (permit != null) {
+                permit.release();
+            }
+            activeJobs.remove(id);
+        }
+    }
+
+    /**
+     * Returns a job's progress with up to {@code rejections} rejected lines.
+     *
+     * @throws ImportJobNotFoundException if no such job exists
+     */
+    public ImportJobDto getJob(String jobId, int rejections) {
+        ImportJobEntity job = importJobRepository.findById(jobId)
+            .orElseThrow(() -> new ImportJobNotFoundException("Import job not found with id: " + jobId));
+        List<RejectedRowDto> rejected = rejections <= 0 ? List.of()
+            : importRejectionRepository.findByJobIdOrderByLineNumber(jobId, PageRequest.of(0, rejections)).stream()
+                .map(rejection -> new RejectedRowDto(rejection.getLineNumber(), rejection.getReason()))
+                .toList();
+        return toDto(job, rejected);
+    }
+
+    private ImportJobDto toDto(ImportJobEntity job, List<RejectedRowDto> rejections) {
+        long rows = job.getImportedRows() + job.getRejectedRows() - job.getRowsAtStart();
+        long millis = job.getStartedAt() == null || job.getUpdatedAt() == null ? 0
+            : Duration.between(job.getStartedAt(), job.getUpdatedAt()).toMillis();
+        double rowsPerSecond = millis > 0 ? Math.round(rows * 10_000.0 / millis) / 10.0 : 0;
+        return new ImportJobDto(
+            job.getId(),
+            job.getFormat(),
+            job.getStatus().name(),
+            job.getCommittedLine(),
+            job.getImportedRows(),
+            job.getRejectedRows(),
+            rowsPerSecond,
+            job.getStartedAt(),
+            job.getUpdatedAt(),
+            job.getFinishedAt(),
+            job.getError(),
+            rejections
+        );
+    }
+
+    private ImportJobEntity startJob(String id, ImportFormat format) {
+        return transactionTemplate.execute(status -> {
+            ImportJobEntity job = importJobRepository.findById(id).orElseGet(() -> {
+                ImportJobEntity created = new ImportJobEntity();
+                created.setId(id);
+                created.setFormat(format);
+                return created;
+            });
+            if (job.getStatus() == Status.COMPLETED) {
+                throw new ImportJobConflictException("Import job " + id + " has already completed");
+            }
+            if (job.getFormat() != format) {
+                throw new ImportJobConflictException("Import job " + id + " was started with " + job.getFormat()
+                    + " content and must be resumed with the same file");
+            }
+            LocalDateTime now = LocalDateTime.now();
+            job.setStatus(Status.RUNNING);
+            job.setStartedAt(now);
+            job.setUpdatedAt(now);
+            job.setFinishedAt(null);
+            job.setError(null);
+            job.setRowsAtStart(job.getImportedRows() + job.getRejectedRows());
+            return importJobRepository.save(job);
+        });
+    }
+
+    private void finishJob(String id, String error) {
+        String trimmed = error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+        transactionTemplate.executeWithoutResult(status -> importJobRepository.finish(
+            id, error == null ? Status.COMPLETED : Status.FAILED, trimmed, LocalDateTime.now()));
+    }
+
+    /**
+     * Parses and validates lines after {@code skipThrough} and queues them in chunks.
+     * Returns early when the writer has stopped.
+     */
+    private void read(ImportRowReader reader, long skipThrough, BlockingQueue<List<ImportRow>> queue, Future<?> writer)
+        throws IOException, InterruptedException {
+        int chunkSize = Math.max(1, properties.chunkSize());
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        String line;
+        while ((line = reader.nextLine()) != null) {
+            if (reader.lineNumber() <= skipThrough) {
+                continue;
+            }
+            chunk.add(toRow(reader, line));
+            if (chunk.size() == chunkSize) {
+                if (!hand(queue, chunk, writer)) {
+                    return;
+                }
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            hand(queue, chunk, writer);
+        }
+    }
+
+    private ImportRow toRow(ImportRowReader reader, String line) {
+        EmployeeDto employee;
+        try {
+            employee = reader.parse(line);
+        } catch (IllegalArgumentException ex) {
+            return ImportRow.rejected(reader.lineNumber(), ex.getMessage());
+        }
+        Set<ConstraintViolation<EmployeeDto>> violations = validator.validate(employee);
+        if (violations.isEmpty()) {
+            return new ImportRow(reader.lineNumber(), employee, null);
+        }
+        return ImportRow.rejected(reader.lineNumber(), violations.stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining("; ")));
+    }
+
+    /**
+     * Puts a chunk on the queue, waiting while it is full.
+     *
+     * @return false if the writer stopped, so the chunk will never be taken
+     */
+    private boolean hand(BlockingQueue<List<ImportRow>> queue, List<ImportRow> chunk, Future<?> writer) {
+        try {
+            while (!queue.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+                if (writer.isDone()) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Void write(ImportJobEntity job, BlockingQueue<List<ImportRow>> queue) throws InterruptedException {
+        long committedLine = job.getCommittedLine();
+        long storedRejections = Math.min(job.getRejectedRows(), properties.maxReportedRejections());
+        while (true) {
+            List<ImportRow> chunk = queue.take();
+            if (chunk == END) {
+                return null;
+            }
+            long fromLine = committedLine;
+            long reportable = Math.max(0, properties.maxReportedRejections() - storedRejections);
+            ChunkResult result = transactionTemplate.execute(status -> writeChunk(job.getId(), fromLine, chunk, reportable));
+            committedLine = chunk.get(chunk.size() - 1).line();
+            storedRejections += result.storedRejections();
+            importedRows.increment(result.imported());
+            rejectedRows.increment(result.rejected());
+        }
+    }
+
+    private ChunkResult writeChunk(String jobId, long fromLine, List<ImportRow> chunk, long reportable) {
+        List<EmployeeDto> employees = new ArrayList<>(chunk.size());
+        List<ImportRow> rejections = new ArrayList<>();
+        for (ImportRow row : chunk) {
+            if (row.employee() != null) {
+                employees.add(row.employee());
+            } else {
+                rejections.add(row);
+            }
+        }
+
+        if (!employees.isEmpty()) {
+            GeneratedKeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_EMPLOYEE, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setString(1, employees.get(i).name());
+                        ps.setString(2, employees.get(i).department());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return employees.size();
+                    }
+                },
+                keys
+            );
+            List<Map<String, Object>> generated = keys.getKeyList();
+            List<EmployeeChangedEvent> created = new ArrayList<>(employees.size());
+            for (int i = 0; i < employees.size(); i++) {
+                Long id = ((Number) generated.get(i).values().iterator().next()).longValue();
+                EmployeeDto employee = employees.get(i);
+                created.add(new EmployeeChangedEvent(ChangeType.CREATED, id, null, 0L,
+                    Set.of("name", "department"), new EmployeeDto(id, employee.name(), employee.department(), 0L)));
+            }
+            eventPublisher.publishEvent(new EmployeesChangedEvent(created));
+        }
+
+        List<ImportRow> stored = rejections.subList(0, (int) Math.min(rejections.size(), reportable));
+        if (!stored.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_REJECTION, stored, stored.size(), (ps, row) -> {
+                ps.setString(1, jobId);
+                ps.setLong(2, row.line());
+                ps.setString(3, row.rejection().length() <= MAX_ERROR_LENGTH
+                    ? row.rejection() : row.rejection().substring(0, MAX_ERROR_LENGTH));
+            });
+        }
+
+        long toLine = chunk.get(chunk.size() - 1).line();
+        if (importJobRepository.advance(jobId, fromLine, toLine, employees.size(), rejections.size(),
+                LocalDateTime.now()) == 0) {
+            // Another run of the same job committed first; roll this chunk back rather than import it twice.
+            throw new ImportJobConflictException("Import job " + jobId + " was advanced by another run");
+        }
+        return new ChunkResult(employees.size(), rejections.size(), stored.size());
+    }
+
+    /**
+     * A parsed line: either a valid employee or the reason it was rejected.
+     */
+    private record ImportRow(long line, EmployeeDto employee, String rejection) {
+        static ImportRow rejected(long line, String reason) {
+            return new ImportRow(line, null, reason);
+        }
+    }
+
+    private record ChunkResult(int imported, int rejected, int storedRejections) {}
+}
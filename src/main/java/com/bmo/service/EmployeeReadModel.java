@@ -0,0 +1,485 @@
+package com.bmo.service;
+
+import com.bmo.dto.EmployeeDto;
+import com.bmo.dto.EmployeeField;
+import com.bmo.event.EmployeeChangedEvent;
+import com.bmo.event.EmployeesChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory copy of the employees table that serves list pages without touching the database.
+ * <p>
+ * Rows are stored column by column in primitive arrays, indexed by slot: long ids and versions,
+ * dictionary-encoded departments and interned names. For every sortable field a permutation of the
+ * live slots is kept in sort order, with the id as tie-breaker, so a page is a straight read of
+ * {@code size} consecutive entries. Single writes keep the permutations sorted by binary search
+ * and an array shift; batches of new employees are sorted and merged in.
+ * <p>
+ * The model is filled once at startup by {@code EmployeeReadModelLoader}. After that it follows
+ * committed {@link EmployeeChangedEvent}s. Events that arrive before the load finishes are buffered
+ * and replayed on top of the loaded snapshot. Stale upserts are skipped by version, so replaying an
+ * event already contained in the snapshot is harmless.
+ */
+@Component
+@ConditionalOnProperty(prefix = "employee-nexus.read-model", name = "enabled", havingValue = "true")
+public class EmployeeReadModel {
+    private static final EmployeeField[] SORT_KEYS = EmployeeField.values();
+    private static final int MIN_CAPACITY = 16;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<EmployeeChangedEvent> pending = new ArrayList<>();
+    private volatile boolean ready;
+
+    // Columns, indexed by slot
+    private long[] ids;
+    private long[] versions;
+    private int[] departmentCodes;
+    private String[] names;
+
+    // Sort permutations, indexed by EmployeeField ordinal; the first size entries are live slots
+    private final int[][] indexes = new int[SORT_KEYS.length][];
+
+    private final List<String> departments = new ArrayList<>();
+    private final Map<String, Integer> departmentCodesByName = new HashMap<>();
+    private int[] freeSlots;
+    private int freeCount;
+    private int slotCount;
+    private int size;
+    private long nameBytes;
+
+    public EmployeeReadModel(MeterRegistry meterRegistry) {
+        allocate(MIN_CAPACITY);
+        Gauge.builder("employee.read-model.rows", this, model -> model.size)
+            .description("Employees held by the in-memory read model")
+            .register(meterRegistry);
+        Gauge.builder("employee.read-model.heap", this, EmployeeReadModel::estimatedHeapBytes)
+            .description("Estimated heap retained by the in-memory read model")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Replaces the contents with a full snapshot and starts serving reads.
+     *
+     * @param expectedRows Row count used to size the columns; may be approximate
+     * @param rows Snapshot rows, ideally in id order
+     */
+    public void rebuild(int expectedRows, Stream<EmployeeDto> rows) {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            allocate(Math.max(MIN_CAPACITY, expectedRows));
+            departments.clear();
+            departmentCodesByName.clear();
+            freeCount = 0;
+            slotCount = 0;
+            size = 0;
+            nameBytes = 0;
+            rows.forEach(row -> {
+                int slot = newSlot();
+                write(slot, row);
+                size++;
+            });
+            int[] live = new int[size];
+            for (int i = 0; i < size; i++) {
+                live[i] = i;
+            }
+            for (int key = 0; key < SORT_KEYS.length; key++) {
+                System.arraycopy(live, 0, indexes[key], 0, size);
+                sort(key, indexes[key], size);
+            }
+            applyAll(pending);
+            pending.clear();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a committed change. Before the first {@link #rebuild} the change is buffered instead.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (ready) {
+                apply(event);
+            } else {
+                pending.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a batch of committed changes under one write lock, merging new employees into the
+     * permutations in one pass.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesChanged(EmployeesChangedEvent batch) {
+        lock.writeLock().lock();
+        try {
+            if (ready) {
+                applyAll(batch.changes());
+            } else {
+                pending.addAll(batch.changes());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns a page with every field populated.
+     *
+     * @see #findPage(Pageable, Set)
+     */
+    public Optional<Page<EmployeeDto>> findPage(Pageable pageable) {
+        return findPage(pageable, EmployeeField.ALL);
+    }
+
+    /**
+     * Returns a page in the requested order, or empty when the model cannot answer it:
+     * before the first load, for unpaged requests, and for sorts on more than one property
+     * other than an {@code id} tie-breaker in the same direction, which the model's indexes already break ties by.
+     *
+     * @param pageable Page, size and an optional single-property sort
+     * @param fields Fields to populate; the others are null
+     * @return The page, or empty to fall back to the database
+     */
+    public Optional<Page<EmployeeDto>> findPage(Pageable pageable, Set<EmployeeField> fields) {
+        if (!ready || pageable.isUnpaged()) {
+            return Optional.empty();
+        }
+        Sort.Order order = singleOrder(pageable.getSort());
+        EmployeeField key = order == null ? EmployeeField.ID : sortKey(order.getProperty());
+        if (key == null || !tieBrokenById(pageable.getSort(), order)) {
+            return Optional.empty();
+        }
+        boolean ascending = order == null || order.isAscending();
+
+        lock.readLock().lock();
+        try {
+            int[] index = indexes[key.ordinal()];
+            long from = Math.min(pageable.getOffset(), size);
+            int to = (int) Math.min(from + pageable.getPageSize(), size);
+            List<EmployeeDto> content = new ArrayList<>(to - (int) from);
+            for (int position = (int) from; position < to; position++) {
+                content.add(toDto(index[ascending ? position : size - 1 - position], fields));
+            }
+            return Optional.of(new PageImpl<>(content, pageable, size));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Estimates the retained heap: column and index arrays at their current capacity, plus name strings
+     * (compressed oops and Latin-1 strings assumed).
+     */
+    public long estimatedHeapBytes() {
+        long perSlot = Long.BYTES * 2L + Integer.BYTES * 2L + Integer.BYTES * (long) SORT_KEYS.length
+            + Integer.BYTES;
+        return ids.length * perSlot + nameBytes;
+    }
+
+    private static Sort.Order singleOrder(Sort sort) {
+        return sort.isSorted() ? sort.iterator().next() : null;
+    }
+
+    /** Whether the sort is {@code order}, optionally followed by {@code id} in the same direction. */
+    private static boolean tieBrokenById(Sort sort, Sort.Order order) {
+        List<Sort.Order> orders = sort.toList();
+        return orders.size() <= 1 || orders.size() == 2
+            && orders.get(1).getProperty().equals(EmployeeField.ID.attribute())
+            && orders.get(1).getDirection() == order.getDirection();
+    }
+
+    private static EmployeeField sortKey(String property) {
+        for (EmployeeField field : SORT_KEYS) {
+            if (field.attribute().equals(property)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Applies changes in order. Runs of creates for unknown ids are written to new slots, sorted
+     * per key and merged into each permutation, which costs one pass over the permutation per run
+     * rather than one array shift per row.
+     */
+    private void applyAll(List<EmployeeChangedEvent> events) {
+        int[] added = new int[events.size()];
+        Set<Long> addedIds = new HashSet<>();
+        int count = 0;
+        for (EmployeeChangedEvent event : events) {
+            boolean create = event.type() != EmployeeChangedEvent.ChangeType.DELETED && event.employee() != null
+                && !addedIds.contains(event.employee().id()) && findSlot(event.employee().id()) < 0;
+            if (create) {
+                int slot = newSlot();
+                write(slot, event.employee());
+                added[count++] = slot;
+                addedIds.add(event.employee().id());
+                continue;
+            }
+            if (count > 0) {
+                merge(added, count);
+                count = 0;
+                addedIds.clear();
+            }
+            apply(event);
+        }
+        if (count > 0) {
+            merge(added, count);
+        }
+    }
+
+    private void apply(EmployeeChangedEvent event) {
+        if (event.type() == EmployeeChangedEvent.ChangeType.DELETED) {
+            remove(event.employeeId());
+        } else if (event.employee() != null) {
+            upsert(event.employee());
+        }
+    }
+
+    private void upsert(EmployeeDto employee) {
+        int slot = findSlot(employee.id());
+        if (slot < 0) {
+            slot = newSlot();
+            write(slot, employee);
+            for (int key = 0; key < SORT_KEYS.length; key++) {
+                insert(key, slot);
+            }
+            size++;
+            return;
+        }
+        if (versions[slot] >= versionOf(employee)) {
+            return;
+        }
+        // The id never changes, so the id permutation stays as it is.
+        for (int key = 1; key < SORT_KEYS.length; key++) {
+            delete(key, slot);
+        }
+        nameBytes -= stringBytes(names[slot]);
+        write(slot, employee);
+        size--;
+        for (int key = 1; key < SORT_KEYS.length; key++) {
+            insert(key, slot);
+        }
+        size++;
+    }
+
+    private void remove(long id) {
+        int slot = findSlot(id);
+        if (slot < 0) {
+            return;
+        }
+        for (int key = 0; key < SORT_KEYS.length; key++) {
+            delete(key, slot);
+        }
+        size--;
+        nameBytes -= stringBytes(names[slot]);
+        names[slot] = null;
+        freeSlots[freeCount++] = slot;
+    }
+
+    private void write(int slot, EmployeeDto employee) {
+        String name = employee.name().intern();
+        ids[slot] = employee.id();
+        versions[slot] = versionOf(employee);
+        names[slot] = name;
+        departmentCodes[slot] = departmentCode(employee.department());
+        nameBytes += stringBytes(name);
+    }
+
+    private static long versionOf(EmployeeDto employee) {
+        return employee.version() == null ? 0 : employee.version();
+    }
+
+    private EmployeeDto toDto(int slot, Set<EmployeeField> fields) {
+        return new EmployeeDto(
+            fields.contains(EmployeeField.ID) ? ids[slot] : null,
+            fields.contains(EmployeeField.NAME) ? names[slot] : null,
+            fields.contains(EmployeeField.DEPARTMENT) ? departments.get(departmentCodes[slot]) : null,
+            fields.contains(EmployeeField.VERSION) ? versions[slot] : null
+        );
+    }
+
+    private int departmentCode(String department) {
+        Integer code = departmentCodesByName.get(department);
+        if (code == null) {
+            code = departments.size();
+            departments.add(department.intern());
+            departmentCodesByName.put(departments.get(code), code);
+        }
+        return code;
+    }
+
+    private int newSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (slotCount == ids.length) {
+            grow(ids.length + (ids.length >> 1));
+        }
+        return slotCount++;
+    }
+
+    /** Binary search of the id permutation; returns the slot or -1. */
+    private int findSlot(long id) {
+        int[] index = indexes[EmployeeField.ID.ordinal()];
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = ids[index[mid]];
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return index[mid];
+            }
+        }
+        return -1;
+    }
+
+    /** First position in the permutation whose slot does not sort before the given slot. */
+    private int position(int key, int slot) {
+        int[] index = indexes[key];
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(key, index[mid], slot) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** Adds written slots that are not yet in any permutation. */
+    private void merge(int[] slots, int count) {
+        int[] sorted = new int[count];
+        for (int key = 0; key < SORT_KEYS.length; key++) {
+            System.arraycopy(slots, 0, sorted, 0, count);
+            sort(key, sorted, count);
+            int[] index = indexes[key];
+            int existing = size - 1;
+            int next = count - 1;
+            for (int out = size + count - 1; next >= 0; out--) {
+                index[out] = existing >= 0 && compare(key, index[existing], sorted[next]) > 0
+                    ? index[existing--] : sorted[next--];
+            }
+        }
+        size += count;
+    }
+
+    private void insert(int key, int slot) {
+        int[] index = indexes[key];
+        int at = position(key, slot);
+        System.arraycopy(index, at, index, at + 1, size - at);
+        index[at] = slot;
+    }
+
+    private void delete(int key, int slot) {
+        int[] index = indexes[key];
+        int at = position(key, slot);
+        System.arraycopy(index, at + 1, index, at, size - at - 1);
+    }
+
+    /** Total order for a sort key: the key's value, then the id. */
+    private int compare(int key, int a, int b) {
+        int result = switch (SORT_KEYS[key]) {
+            case ID -> 0;
+            case NAME -> names[a].compareTo(names[b]);
+            case DEPARTMENT -> departmentCodes[a] == departmentCodes[b] ? 0
+                : departments.get(departmentCodes[a]).compareTo(departments.get(departmentCodes[b]));
+            case VERSION -> Long.compare(versions[a], versions[b]);
+        };
+        return result != 0 ? result : Long.compare(ids[a], ids[b]);
+    }
+
+    /** Merge sort over slot numbers, avoiding boxed comparators for large loads. */
+    private void sort(int key, int[] slots, int length) {
+        int[] buffer = new int[length];
+        for (int width = 1; width < length; width <<= 1) {
+            for (int low = 0; low < length - width; low += width << 1) {
+                int mid = low + width;
+                int high = Math.min(low + (width << 1), length);
+                if (compare(key, slots[mid - 1], slots[mid]) <= 0) {
+                    continue;
+                }
+                int left = low;
+                int right = mid;
+                int out = low;
+                while (left < mid && right < high) {
+                    buffer[out++] = compare(key, slots[left], slots[right]) <= 0 ? slots[left++] : slots[right++];
+                }
+                while (left < mid) {
+                    buffer[out++] = slots[left++];
+                }
+                while (right < high) {
+                    buffer[out++] = slots[right++];
+                }
+                System.arraycopy(buffer, low, slots, low, high - low);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        ids = new long[capacity];
+        versions = new long[capacity];
+        departmentCodes = new int[capacity];
+        names = new String[capacity];
+        freeSlots = new int[capacity];
+        for (int key = 0; key < SORT_KEYS.length; key++) {
+            indexes[key] = new int[capacity];
+        }
+    }
+
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        departmentCodes = Arrays.copyOf(departmentCodes, capacity);
+        names = Arrays.copyOf(names, capacity);
+        freeSlots = Arrays.copyOf(freeSlots, capacity);
+        for (int key = 0; key < SORT_KEYS.length; key++) {
+            indexes[key] = Arrays.copyOf(indexes[key], capacity);
+        }
+    }
+
+    /** Object header, value array header and Latin-1 payload, each 8-byte aligned. */
+    private static long stringBytes(String value) {
+        return value == null ? 0 : 24 + ((16 + value.length() + 7) & ~7L);
+    }
+}
@@ -1,14 +1,45 @@
 package com.bmo.service;
 
+import com.bmo.config.BatchLookupProperties;
+import com.bmo.config.UpdateRetryProperties;
+import com.bmo.dto.EmployeeBatchResponseDto;
 import com.bmo.dto.EmployeeDto;
+import com.bmo.dto.EmployeeField;
 import com.bmo.entity.EmployeeEntity;
+import com.bmo.event.EmployeeChangedEvent;
+import com.bmo.event.EmployeeChangedEvent.ChangeType;
+import com.bmo.event.EmployeesChangedEvent;
+import com.bmo.exception.BatchTooLargeException;
 import com.bmo.exception.EmployeeNotFoundException;
+import com.bmo.monitoring.UpdateConflictTracker;
 import com.bmo.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.lang.Nullable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
 /**
  * Service layer for employee-related business logic.
  * Handles data transformation between DTOs and entities.
@@ -17,14 +48,69 @@ import org.springframework.data.domain.Pageable;
 @Service
 public class EmployeeService {
     private final EmployeeRepository employeeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final UpdateRetryProperties retryProperties;
+    private final UpdateConflictTracker conflictTracker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SingleFlight<Long, EmployeeDto> employeeLoads;
+    private final SingleFlight<Pageable, Page<EmployeeDto>> pageLoads;
+    private final BatchLookupProperties batchLookupProperties;
+    private final EmployeeReadModel readModel;
+    private final EmployeeCache cache;
+    private final EmployeeChangeLog changeLog;
 
     /**
-     * Constructor injection of employee repository.
+     * Constructor injection of employee repository and collaborators.
      *
      * @param employeeRepository JPA repository for employee data access
+     * @param transactionManager Transaction manager used to run each update attempt in its own transaction
+     * @param retryProperties Retry policy for updates that lose an optimistic locking race
+     * @param conflictTracker Conflict counters and hot-key tracking
+     * @param eventPublisher Publisher for {@link EmployeeChangedEvent}s
+     * @param meterRegistry Registry for read coalescing metrics
+     * @param batchLookupProperties Limits for multi-get lookups
+     * @param readModel In-memory read model serving list pages, null when disabled
+     * @param cache Cache of employees and list pages, null when disabled
+     * @param changeLog Change log shared with other instances, null when this instance runs alone
      */
-    public EmployeeService(EmployeeRepository employeeRepository) {
+    public EmployeeService(
+        EmployeeRepository employeeRepository,
+        PlatformTransactionManager transactionManager,
+        UpdateRetryProperties retryProperties,
+        UpdateConflictTracker conflictTracker,
+        ApplicationEventPublisher eventPublisher,
+        MeterRegistry meterRegistry,
+        BatchLookupProperties batchLookupProperties,
+        @Nullable EmployeeReadModel readModel,
+        @Nullable EmployeeCache cache,
+        @Nullable EmployeeChangeLog changeLog
+    ) {
         this.employeeRepository = employeeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retryProperties = retryProperties;
+        this.conflictTracker = conflictTracker;
+        this.eventPublisher = eventPublisher;
+        this.employeeLoads = new SingleFlight<>(coalescedCounter(meterRegistry, "by-id"));
+        this.pageLoads = new SingleFlight<>(coalescedCounter(meterRegistry, "list"));
+        this.batchLookupProperties = batchLookupProperties;
+        this.readModel = readModel;
+        this.cache = cache;
+        this.changeLog = changeLog;
+    }
+
+    /**
+     * Whether in-process copies of the data may answer reads: always when this instance runs
+     * alone, otherwise only while the change log is applied within its staleness bound.
+     */
+    private boolean localCopiesCurrent() {
+        return changeLog == null || changeLog.isCurrent();
+    }
+
+    private static Counter coalescedCounter(MeterRegistry meterRegistry, String query) {
+        return Counter.builder("employee.reads.coalesced")
+            .description("Reads that joined an identical in-flight database load")
+            .tag("query", query)
+            .register(meterRegistry);
     }
 
     /**
@@ -68,40 +154,374 @@ public class EmployeeService {
         entity.setDepartment(dto.department());
     }
 
+    /**
+     * Returns a page of employees, from the read model when it is enabled and can answer the sort,
+     * or from the page cache. Otherwise concurrent requests for the same page, size and sort share
+     * a single database load. Callers inside a transaction always read the database, so they see
+     * their own writes.
+     */
     public Page<EmployeeDto> getAllEmployees(Pageable pageable) {
+        if (TransactionSynchronizationManager.isActualTransactionActive() || !localCopiesCurrent()) {
+            return loadPage(pageable);
+        }
+        if (readModel != null) {
+            Optional<Page<EmployeeDto>> page = readModel.findPage(pageable);
+            if (page.isPresent()) {
+                return page.get();
+            }
+        }
+        if (cache == null) {
+            return pageLoads.execute(pageable, () -> loadPage(pageable));
+        }
+        Page<EmployeeDto> cached = cache.getPage(pageable);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = cache.generation();
+        Page<EmployeeDto> page = pageLoads.execute(pageable, () -> loadPage(pageable));
+        cache.putPage(pageable, page, generation);
+        return page;
+    }
+
+    /**
+     * Returns a page of employees reading only the selected columns; unselected fields are null.
+     *
+     * @param pageable Page, size and sort
+     * @param fields Fields to read
+     * @return Page of partially populated employees
+     */
+    public Page<EmployeeDto> getAllEmployees(Pageable pageable, Set<EmployeeField> fields) {
+        if (readModel != null && !TransactionSynchronizationManager.isActualTransactionActive()
+                && localCopiesCurrent()) {
+            Optional<Page<EmployeeDto>> page = readModel.findPage(pageable, fields);
+            if (page.isPresent()) {
+                return page.get();
+            }
+        }
+        return employeeRepository.findAllProjected(fields, pageable);
+    }
+
+    /**
+     * Reads a page row by row for pages too large to hold in memory. The rows come from one
+     * database cursor and are handed to {@code consumer} without being collected, and the active
+     * employees are counted once the last row is read. The read model and caches are bypassed.
+     *
+     * @param pageable Page, size and sort
+     * @param fields Fields to read
+     * @param consumer Receives each employee in page order
+     * @return Total number of active employees
+     */
+    @Transactional(readOnly = true)
+    public long streamEmployees(Pageable pageable, Set<EmployeeField> fields, Consumer<EmployeeDto> consumer) {
+        try (Stream<EmployeeDto> rows = employeeRepository.streamProjected(fields, pageable)) {
+            rows.forEach(consumer);
+        }
+        return employeeRepository.count();
+    }
+
+    private Page<EmployeeDto> loadPage(Pageable pageable) {
         return employeeRepository.findAll(pageable)
                 .map(this::toDto);
     }
 
+    /**
+     * Returns one employee, from the cache when it is enabled. Concurrent requests for the same id
+     * share a single database load. Callers inside a transaction always load on their own, so
+     * uncommitted state is never shared.
+     */
     public EmployeeDto getEmployeeById(Long id) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loadEmployee(id);
+        }
+        if (cache == null || !localCopiesCurrent()) {
+            return employeeLoads.execute(id, () -> loadEmployee(id));
+        }
+        EmployeeDto cached = cache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = cache.generation();
+        EmployeeDto employee = employeeLoads.execute(id, () -> loadEmployee(id));
+        cache.put(employee, generation);
+        return employee;
+    }
+
+    /**
+     * Returns one employee reading only the selected columns; unselected fields are null.
+     *
+     * @param id Employee id
+     * @param fields Fields to read
+     * @return Partially populated employee
+     */
+    public EmployeeDto getEmployeeById(Long id, Set<EmployeeField> fields) {
+        return employeeRepository.findProjectedById(id, fields)
+                .orElseThrow(() -> new EmployeeNotFoundException(id));
+    }
+
+    /**
+     * Returns a page of employees including deleted and archived ones. The read model and read
+     * coalescing only cover active employees, so this always reads both tables.
+     *
+     * @param pageable Page, size and sort
+     * @param fields Fields to read
+     * @return Page of active, deleted and archived employees
+     */
+    public Page<EmployeeDto> getAllEmployeesIncludingArchived(Pageable pageable, Set<EmployeeField> fields) {
+        return employeeRepository.findAllIncludingArchived(fields, pageable);
+    }
+
+    /**
+     * Returns one employee, looking in the archive when it is not active.
+     *
+     * @param id Employee id
+     * @param fields Fields to read
+     * @return Active, deleted or archived employee
+     */
+    public EmployeeDto getEmployeeByIdIncludingArchived(Long id, Set<EmployeeField> fields) {
+        return employeeRepository.findIncludingArchivedById(id, fields)
+                .orElseThrow(() -> new EmployeeNotFoundException(id));
+    }
+
+    private EmployeeDto loadEmployee(Long id) {
         return employeeRepository.findById(id)
                 .map(this::toDto)
-                .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with id: " + id));
+                .orElseThrow(() -> new EmployeeNotFoundException(id));
+    }
+
+    /**
+     * Resolves many employees at once. Ids held by the cache are answered from it when local
+     * copies are current and the caller is not inside a transaction; the rest are read with
+     * chunked {@code IN (...)} queries, so a request for n uncached ids costs
+     * ceil(n / chunk size) statements, and the loaded employees are cached.
+     * Duplicate ids are resolved once; results keep the order of first occurrence.
+     *
+     * @param ids Employee ids to resolve
+     * @return Found employees and missing ids, both in request order
+     * @throws BatchTooLargeException if more ids are requested than allowed
+     */
+    public EmployeeBatchResponseDto getEmployeesByIds(List<Long> ids) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        requested.remove(null);
+        if (requested.size() > batchLookupProperties.maxIds()) {
+            throw new BatchTooLargeException("Too many ids: " + requested.size()
+                    + ". At most " + batchLookupProperties.maxIds() + " ids can be requested at once");
+        }
+
+        Map<Long, EmployeeDto> found = new HashMap<>(requested.size() * 2);
+        List<Long> pending = new ArrayList<>(requested.size());
+        boolean cached = cache != null && !TransactionSynchronizationManager.isActualTransactionActive()
+                && localCopiesCurrent();
+        for (Long id : requested) {
+            EmployeeDto employee = cached ? cache.get(id) : null;
+            if (employee != null) {
+                found.put(id, employee);
+            } else {
+                pending.add(id);
+            }
+        }
+
+        long generation = cached ? cache.generation() : 0;
+        int chunkSize = Math.max(1, batchLookupProperties.chunkSize());
+        for (int from = 0; from < pending.size(); from += chunkSize) {
+            List<Long> chunk = pending.subList(from, Math.min(from + chunkSize, pending.size()));
+            for (EmployeeEntity entity : employeeRepository.findAllById(chunk)) {
+                EmployeeDto employee = toDto(entity);
+                found.put(entity.getId(), employee);
+                if (cached) {
+                    cache.put(employee, generation);
+                }
+            }
+        }
+
+        List<EmployeeDto> content = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>(requested.size() - found.size());
+        for (Long id : requested) {
+            EmployeeDto employee = found.get(id);
+            if (employee != null) {
+                content.add(employee);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new EmployeeBatchResponseDto(content, missingIds);
+    }
+
+    /**
+     * Detaches in-flight loads and evicts cached copies once a change has committed, so reads
+     * that start after the write never see the previous state. Changes made by other instances
+     * arrive here from the {@link EmployeeChangeLog}.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        employeeLoads.forget(event.employeeId());
+        pageLoads.forgetAll();
+        // Evicting last means a reader that sees the new cache generation cannot join a load
+        // that started before the change.
+        if (cache != null) {
+            cache.evict(event);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesChanged(EmployeesChangedEvent batch) {
+        batch.changes().forEach(this::onEmployeeChanged);
     }
 
     @Transactional
     public EmployeeDto createEmployee(EmployeeDto employeeDto) {
         EmployeeEntity entity = toEntity(employeeDto);
         EmployeeEntity savedEntity = employeeRepository.save(entity);
-        return toDto(savedEntity);
+        EmployeeDto created = toDto(savedEntity);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(ChangeType.CREATED, savedEntity.getId(),
+                null, savedEntity.getVersion(), Set.of("name", "department"), created));
+        return created;
     }
 
-    @Transactional
+    /**
+     * Updates an employee, re-applying the change when it loses an optimistic locking race
+     * to a write that did not touch the fields being updated.
+     * Each attempt runs in its own transaction; when called inside an existing transaction
+     * the update is attempted once, since a retry could not see the winning write.
+     *
+     * @param id Employee id
+     * @param employeeDto New field values
+     * @return Updated employee
+     */
     public EmployeeDto updateEmployee(Long id, EmployeeDto employeeDto) {
-        return employeeRepository.findById(id)
-                .map(entity -> {
-                    updateEntityFromDto(entity, employeeDto);
-                    return employeeRepository.save(entity);
-                })
-                .map(this::toDto)
-                .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with id: " + id));
+        conflictTracker.recordUpdate();
+        int maxAttempts = TransactionSynchronizationManager.isActualTransactionActive()
+                ? 1 : Math.max(1, retryProperties.maxAttempts());
+        UpdateAttempt attempt = new UpdateAttempt(id, employeeDto);
+
+        while (true) {
+            try {
+                return transactionTemplate.execute(status -> applyUpdate(attempt));
+            } catch (ObjectOptimisticLockingFailureException ex) {
+                if (attempt.overlapping) {
+                    conflictTracker.recordOverlapping(id);
+                    throw ex;
+                }
+                if (++attempt.number > maxAttempts) {
+                    conflictTracker.recordExhausted(id);
+                    throw ex;
+                }
+                conflictTracker.recordRetried(id);
+                attempt.conflict = ex;
+                backOff(attempt.number - 1, ex);
+            }
+        }
+    }
+
+    private EmployeeDto applyUpdate(UpdateAttempt attempt) {
+        EmployeeEntity entity = employeeRepository.findById(attempt.id)
+                .orElseThrow(() -> new EmployeeNotFoundException(attempt.id));
+        String previousName = entity.getName();
+        String previousDepartment = entity.getDepartment();
+        if (attempt.baseName == null) {
+            attempt.baseName = entity.getName();
+            attempt.baseDepartment = entity.getDepartment();
+            updateEntityFromDto(entity, attempt.dto);
+        } else if (attempt.overlapsWith(entity)) {
+            attempt.overlapping = true;
+            throw attempt.conflict;
+        } else {
+            attempt.applyChangedFields(entity);
+        }
+        EmployeeDto updated = toDto(employeeRepository.save(entity));
+        publishUpdate(entity, previousName, previousDepartment);
+        return updated;
+    }
+
+    private void publishUpdate(EmployeeEntity entity, String previousName, String previousDepartment) {
+        Set<String> changedFields = new HashSet<>(2);
+        if (!Objects.equals(previousName, entity.getName())) {
+            changedFields.add("name");
+        }
+        if (!Objects.equals(previousDepartment, entity.getDepartment())) {
+            changedFields.add("department");
+        }
+        Long oldVersion = entity.getVersion();
+        // The version is incremented by one when the change is flushed at commit.
+        Long newVersion = changedFields.isEmpty() || oldVersion == null ? oldVersion : oldVersion + 1;
+        eventPublisher.publishEvent(new EmployeeChangedEvent(ChangeType.UPDATED, entity.getId(),
+                oldVersion, newVersion, Set.copyOf(changedFields),
+                new EmployeeDto(entity.getId(), entity.getName(), entity.getDepartment(), newVersion)));
+    }
+
+    /**
+     * Sleeps for a random delay up to an exponentially growing bound ("full jitter"),
+     * so competing writers spread out instead of colliding again.
+     */
+    private void backOff(int retry, ObjectOptimisticLockingFailureException conflict) {
+        long initial = retryProperties.initialBackoff().toMillis();
+        long bound = Math.min(retryProperties.maxBackoff().toMillis(), initial << Math.min(retry - 1, 20));
+        if (bound <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(bound + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+
+    /**
+     * State carried across the attempts of a single update.
+     * The field values seen by the first attempt are the base the change was made against.
+     */
+    private static final class UpdateAttempt {
+        private final Long id;
+        private final EmployeeDto dto;
+        private int number = 1;
+        private String baseName;
+        private String baseDepartment;
+        private boolean overlapping;
+        private ObjectOptimisticLockingFailureException conflict;
+
+        private UpdateAttempt(Long id, EmployeeDto dto) {
+            this.id = id;
+            this.dto = dto;
+        }
+
+        /**
+         * A field overlaps when this update changes it and the winning write changed it
+         * to something other than the value being written.
+         */
+        private boolean overlapsWith(EmployeeEntity current) {
+            return overlaps(baseName, current.getName(), dto.name())
+                    || overlaps(baseDepartment, current.getDepartment(), dto.department());
+        }
+
+        /**
+         * Re-applies only the fields this update changed, keeping the winning write's other changes.
+         */
+        private void applyChangedFields(EmployeeEntity entity) {
+            if (!Objects.equals(baseName, dto.name())) {
+                entity.setName(dto.name());
+            }
+            if (!Objects.equals(baseDepartment, dto.department())) {
+                entity.setDepartment(dto.department());
+            }
+        }
+
+        private static boolean overlaps(String base, String current, String requested) {
+            return !Objects.equals(base, requested)
+                    && !Objects.equals(base, current)
+                    && !Objects.equals(current, requested);
+        }
     }
 
+    /**
+     * Marks an employee deleted. The row stays in the hot table, hidden from every entity query,
+     * until {@link EmployeeArchiver} moves it to the archive.
+     */
     @Transactional
     public void deleteEmployee(Long id) {
-        if (!employeeRepository.existsById(id)) {
-            throw new EmployeeNotFoundException("Employee not found with id: " + id);
-        }
-        employeeRepository.deleteById(id);
+        EmployeeEntity entity = employeeRepository.findById(id)
+                .orElseThrow(() -> new EmployeeNotFoundException(id));
+        employeeRepository.delete(entity);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(ChangeType.DELETED, id, entity.getVersion(), null,
+                Set.of(), null));
     }
 }
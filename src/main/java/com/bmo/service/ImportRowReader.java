@@ -0,0 +1,159 @@
+package com.bmo.service;
+
+import com.bmo.dto.EmployeeDto;
+import com.bmo.dto.ImportFormat;
+import com.bmo.exception.InvalidImportException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads an import body one line at a time, so only the current line is held in memory.
+ * Line numbers count every physical line, including the CSV header and blank lines,
+ * so they can be matched against the file and used as resume positions.
+ */
+final class ImportRowReader implements Closeable {
+    private final BufferedReader reader;
+    private final ImportFormat format;
+    private final ObjectMapper objectMapper;
+    private long lineNumber;
+    private int nameColumn = -1;
+    private int departmentColumn = -1;
+
+    private ImportRowReader(InputStream body, ImportFormat format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024);
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Opens a reader and, for CSV, consumes the header line.
+     *
+     * @throws InvalidImportException if the CSV header does not name the required columns
+     */
+    static ImportRowReader open(InputStream body, ImportFormat format, ObjectMapper objectMapper) throws IOException {
+        ImportRowReader rows = new ImportRowReader(body, format, objectMapper);
+        if (format == ImportFormat.CSV) {
+            rows.readHeader();
+        }
+        return rows;
+    }
+
+    private void readHeader() throws IOException {
+        String header = nextLine();
+        if (header == null) {
+            return;
+        }
+        List<String> columns = splitCsv(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        for (int i = 0; i < columns.size(); i++) {
+            String column = columns.get(i).toLowerCase();
+            if (column.equals("name")) {
+                nameColumn = i;
+            } else if (column.equals("department")) {
+                departmentColumn = i;
+            }
+        }
+        if (nameColumn < 0 || departmentColumn < 0) {
+            throw new InvalidImportException("CSV header must contain name and department columns, found: " + header);
+        }
+    }
+
+    /**
+     * @return The next non-blank line, or null at the end of the body
+     */
+    String nextLine() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (!line.isBlank()) {
+                return line;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Number of the line last returned by {@link #nextLine()}, 1-based
+     */
+    long lineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Parses a line into an employee with only name and department set.
+     *
+     * @throws IllegalArgumentException if the line cannot be parsed
+     */
+    EmployeeDto parse(String line) {
+        if (format == ImportFormat.NDJSON) {
+            return parseJson(line);
+        }
+        List<String> fields = splitCsv(line);
+        return new EmployeeDto(null, field(fields, nameColumn), field(fields, departmentColumn), null);
+    }
+
+    private EmployeeDto parseJson(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        return new EmployeeDto(null, node.path("name").textValue(), node.path("department").textValue(), null);
+    }
+
+    private static String field(List<String> fields, int column) {
+        return column < fields.size() ? fields.get(column) : null;
+    }
+
+    /**
+     * Splits one CSV line (RFC 4180 quoting, no line breaks inside quotes) and trims each value.
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
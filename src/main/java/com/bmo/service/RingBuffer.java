@@ -0,0 +1,101 @@
+package com.bmo.service;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer.
+ * <p>
+ * Producers claim a position with one compare-and-set on the tail and then publish the value by
+ * advancing the slot's sequence number; the consumer takes a slot only once its sequence shows
+ * the value is there. A full buffer is reported to the producer instead of making it wait, so
+ * the caller decides what to do on overflow.
+ *
+ * @param <T> Element type
+ */
+public class RingBuffer<T> {
+    private final AtomicReferenceArray<T> slots;
+    // Slot i is free for position p when its sequence is p, and holds position p's value when it is p + 1.
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    // Written by the consumer only
+    private volatile long head;
+
+    /**
+     * @param capacity Minimum number of elements held; rounded up to a power of two
+     */
+    public RingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Adds an element unless the buffer is full. Safe to call from any thread.
+     *
+     * @return Whether the element was added
+     */
+    public boolean offer(T value) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long available = sequences.get(index) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, value);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (available < 0) {
+                // The consumer has not freed this slot since the previous lap.
+                return false;
+            } else {
+                // Another producer claimed this position first.
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Moves up to {@code max} elements, in the order they were added, to {@code target}.
+     * Must only be called from one thread at a time.
+     *
+     * @return Number of elements moved
+     */
+    public int drainTo(Collection<? super T> target, int max) {
+        long position = head;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            target.add(slots.get(index));
+            slots.set(index, null);
+            sequences.set(index, position + mask + 1);
+            position++;
+            drained++;
+        }
+        head = position;
+        return drained;
+    }
+
+    /**
+     * @return Number of claimed positions not yet drained; an estimate while producers are active
+     */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+}
@@ -0,0 +1,49 @@
+package com.bmo.startup;
+
+import com.bmo.dto.EmployeeDto;
+import com.bmo.service.EmployeeReadModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Stream;
+
+/**
+ * Fills the {@link EmployeeReadModel} from the employees table on startup.
+ * Runs after {@link H2CacheWarmer}, whose scan leaves the pages of the same rows in the cache.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+@ConditionalOnProperty(prefix = "employee-nexus.read-model", name = "enabled", havingValue = "true")
+public class EmployeeReadModelLoader implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(EmployeeReadModelLoader.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EmployeeReadModel readModel;
+
+    public EmployeeReadModelLoader(JdbcTemplate jdbcTemplate, EmployeeReadModel readModel) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readModel = readModel;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM employees WHERE deleted_at IS NULL", Integer.class);
+        try (Stream<EmployeeDto> rows = jdbcTemplate.queryForStream(
+            "SELECT id, name, department, version FROM employees WHERE deleted_at IS NULL ORDER BY id",
+            (rs, rowNum) -> new EmployeeDto(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getLong(4))
+        )) {
+            readModel.rebuild(count == null ? 0 : count, rows);
+        }
+        log.info("Loaded {} employees into the read model in {} ms, ~{} KB retained",
+            readModel.size(), (System.nanoTime() - start) / 1_000_000, readModel.estimatedHeapBytes() / 1024);
+    }
+}
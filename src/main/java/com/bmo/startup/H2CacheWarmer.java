@@ -0,0 +1,46 @@
+package com.bmo.startup;
+
+import com.bmo.config.H2PreloadProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pulls the hot pages of the employees table into the H2 page cache on startup.
+ * Runs as an {@link ApplicationRunner}, so the readiness state only flips to
+ * ACCEPTING_TRAFFIC once the scan has finished.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "employee-nexus.h2.preload", name = "enabled", havingValue = "true")
+public class H2CacheWarmer implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(H2CacheWarmer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final H2PreloadProperties properties;
+
+    public H2CacheWarmer(JdbcTemplate jdbcTemplate, H2PreloadProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        long[] rows = new long[1];
+        // Walking the primary key in order touches every leaf page of the table once.
+        jdbcTemplate.query(
+            "SELECT id, name, department, version FROM employees WHERE deleted_at IS NULL ORDER BY id LIMIT ?",
+            rs -> { rows[0]++; },
+            properties.maxRows()
+        );
+        log.info("Preloaded {} employee rows into the H2 cache in {} ms",
+            rows[0], (System.nanoTime() - start) / 1_000_000);
+    }
+}
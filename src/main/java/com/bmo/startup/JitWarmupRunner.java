@@ -0,0 +1,153 @@
+package com.bmo.startup;
+
+import com.bmo.config.WarmupProperties;
+import com.bmo.controller.EmployeeController;
+import com.bmo.dto.EmployeeDto;
+import com.bmo.dto.PageResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives the real employee code paths until the JIT has compiled them, before the
+ * readiness state flips to ACCEPTING_TRAFFIC.
+ * Each iteration runs create/update/delete through {@link EmployeeController} inside a
+ * rollback-only transaction, so no data is left behind, and then lists a page and reads its
+ * first employee outside any transaction, the way requests do, so the read model, cache and
+ * single-flight paths are compiled too. Payloads are round-tripped through the application
+ * {@link ObjectMapper} and bean validation. Rolled-back inserts still consume identity values,
+ * which leaves gaps in employee ids.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(prefix = "employee-nexus.warmup", name = "enabled", havingValue = "true")
+public class JitWarmupRunner implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(JitWarmupRunner.class);
+    private static final byte[] CREATE_BODY =
+        "{\"name\":\"Warmup Employee\",\"department\":\"Warmup\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] UPDATE_BODY =
+        "{\"name\":\"Warmup Employee Updated\",\"department\":\"Warmup\"}".getBytes(StandardCharsets.UTF_8);
+    private static final List<List<String>> SORTS = List.of(
+        List.of("id,asc"), List.of("name,asc"), List.of("department,desc"), List.of("version,asc"),
+        List.of("department,asc", "name,asc"));
+
+    private final EmployeeController employeeController;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final WarmupProperties properties;
+    private final Timer iterationTimer;
+    private final AtomicLong durationNanos = new AtomicLong();
+    private final AtomicLong finalLatencyNanos = new AtomicLong();
+
+    public JitWarmupRunner(
+        EmployeeController employeeController,
+        ObjectMapper objectMapper,
+        Validator validator,
+        PlatformTransactionManager transactionManager,
+        WarmupProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        this.employeeController = employeeController;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.iterationTimer = Timer.builder("employee.warmup.iteration")
+            .description("Latency of one warm-up round of list/get/create/update/delete")
+            .register(meterRegistry);
+        TimeGauge.builder("employee.warmup.duration", durationNanos, TimeUnit.NANOSECONDS, AtomicLong::get)
+            .description("Total time spent in the warm-up phase")
+            .register(meterRegistry);
+        TimeGauge.builder("employee.warmup.latency", finalLatencyNanos, TimeUnit.NANOSECONDS, AtomicLong::get)
+            .description("Mean round latency over the last tenth of the warm-up phase")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int iterations = properties.iterations();
+        int tailStart = iterations - Math.max(1, iterations / 10);
+        long tailNanos = 0;
+        long start = System.nanoTime();
+
+        for (int i = 0; i < iterations; i++) {
+            List<String> sort = SORTS.get(i % SORTS.size());
+            long roundStart = System.nanoTime();
+            transactionTemplate.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                runWriteRound();
+            });
+            runReadRound(sort);
+            long roundNanos = System.nanoTime() - roundStart;
+            iterationTimer.record(roundNanos, TimeUnit.NANOSECONDS);
+            if (i >= tailStart) {
+                tailNanos += roundNanos;
+            }
+        }
+
+        durationNanos.set(System.nanoTime() - start);
+        finalLatencyNanos.set(iterations > 0 ? tailNanos / (iterations - tailStart) : 0);
+        log.info("JIT warm-up finished {} rounds in {} ms, final round latency {} us",
+            iterations, TimeUnit.NANOSECONDS.toMillis(durationNanos.get()),
+            TimeUnit.NANOSECONDS.toMicros(finalLatencyNanos.get()));
+    }
+
+    private void runWriteRound() {
+        EmployeeDto created = employeeController.createEmployee(read(CREATE_BODY)).getBody();
+        write(created);
+        Long id = created.id();
+
+        write(employeeController.updateEmployee(id, read(UPDATE_BODY)).getBody());
+        employeeController.deleteEmployee(id);
+    }
+
+    private void runReadRound(List<String> sort) {
+        Object page = employeeController.getAllEmployees(0, 10, sort, null, false).getBody();
+        write(page);
+        // An empty table leaves nothing to read by id.
+        if (page instanceof PageResponseDto<?> dto && !dto.content().isEmpty()
+                && dto.content().get(0) instanceof EmployeeDto first) {
+            write(employeeController.getEmployeeById(first.id(), null, false).getBody());
+        }
+    }
+
+    private EmployeeDto read(byte[] body) {
+        try {
+            EmployeeDto dto = objectMapper.readValue(body, EmployeeDto.class);
+            if (!validator.validate(dto).isEmpty()) {
+                throw new IllegalStateException("Warm-up payload failed validation");
+            }
+            return dto;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(Object value) {
+        try {
+            objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.bmo.controller;
+
+import com.bmo.config.AsyncExecutorConfig;
+import com.bmo.entity.EmployeeEntity;
+import com.bmo.repository.EmployeeRepository;
+import com.bmo.service.EmployeeService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Saturates the bulk bulkhead with list requests that hold their pooled connection, directly or
+ * through the async endpoints, then checks that point lookups are still served from the reserved
+ * connection and that imports are turned away. Without the bulkhead, the list requests would take
+ * the whole pool and lookups would wait out the 250 ms connection timeout.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.hikari.maximum-pool-size=4",
+    "spring.datasource.hikari.connection-timeout=250",
+    "employee-nexus.bulkhead.compartments.interactive.reserved-connections=1",
+    "employee-nexus.bulkhead.compartments.bulk.max-queue=0"
+})
+@AutoConfigureMockMvc
+class BulkheadIsolationTest {
+
+    private static final int BULK_LIMIT = 3;
+    private static final int BULK_CALLERS = 6;
+    private static final int LOOKUPS = 100;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier(AsyncExecutorConfig.EMPLOYEE_THREAD_POOL)
+    private ThreadPoolExecutor asyncThreadPool;
+
+    @SpyBean
+    private EmployeeService employeeService;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private CountDownLatch bulkStarted;
+    private ExecutorService executor;
+    private Long employeeId;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(BULK_CALLERS);
+        employeeRepository.deleteAll();
+        EmployeeEntity employee = new EmployeeEntity();
+        employee.setName("Ada Lovelace");
+        employee.setDepartment("Engineering");
+        employeeId = employeeRepository.save(employee).getId();
+        // Each admitted list request reads its page, keeping the connection open-in-view holds, then stalls.
+        // Async workers have no open-in-view connection, so they hold one explicitly while they stall.
+        doAnswer(invocation -> {
+            Object page = invocation.callRealMethod();
+            try (Connection held = Thread.currentThread().getName().startsWith("employee-async-")
+                    ? dataSource.getConnection() : null) {
+                bulkStarted.countDown();
+                release.await(30, TimeUnit.SECONDS);
+            }
+            return page;
+        }).when(employeeService).getAllEmployees(any(Pageable.class));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void givenSaturatedBulkBulkhead_whenListing_thenRejectExcessCallersWith503() throws Exception {
+        // Given
+        double rejectedBefore = rejectedBulkCalls();
+
+        // When
+        List<Future<MvcResult>> calls = saturateBulk();
+        List<MvcResult> rejected = new ArrayList<>();
+        for (Future<MvcResult> call : calls) {
+            if (call.isDone()) {
+                rejected.add(call.get());
+            }
+        }
+
+        // Then
+        assertEquals(BULK_CALLERS - BULK_LIMIT, rejected.size());
+        for (MvcResult result : rejected) {
+            assertEquals(503, result.getResponse().getStatus());
+            assertEquals("1", result.getResponse().getHeader("Retry-After"));
+        }
+        assertEquals(BULK_CALLERS - BULK_LIMIT, rejectedBulkCalls() - rejectedBefore, 0.0);
+        assertEquals(BULK_LIMIT, meterRegistry.get("bulkhead.active").tag("bulkhead", "bulk").gauge().value(), 0.0);
+    }
+
+    @Test
+    void givenSaturatedBulkBulkhead_whenLookingUpById_thenLatencyStaysFlat() throws Exception {
+        // Given
+        long[] idle = lookupLatencies();
+        saturateBulk();
+        int activeConnections = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections();
+
+        // When
+        long[] saturated = lookupLatencies();
+
+        // Then
+        assertTrue(activeConnections >= BULK_LIMIT, "bulk requests should be holding connections");
+        assertFlat(idle, saturated);
+    }
+
+    private static void assertFlat(long[] idle, long[] saturated) {
+        long idleP99 = p99(idle);
+        long saturatedP99 = p99(saturated);
+        assertTrue(saturatedP99 < TimeUnit.MILLISECONDS.toNanos(250),
+            "p99 " + TimeUnit.NANOSECONDS.toMillis(saturatedP99) + " ms reached the connection timeout");
+        assertTrue(saturatedP99 < Math.max(idleP99 * 5, TimeUnit.MILLISECONDS.toNanos(50)),
+            "p99 went from " + idleP99 / 1000 + " us idle to " + saturatedP99 / 1000 + " us saturated");
+    }
+
+    @Test
+    void givenBulkSaturatedThroughAsyncEndpoints_whenLookingUpById_thenLatencyStaysFlat() throws Exception {
+        // Given
+        long[] idle = lookupLatencies();
+        bulkStarted = new CountDownLatch(BULK_LIMIT);
+
+        // When
+        for (int page = 0; page < BULK_CALLERS; page++) {
+            mockMvc.perform(get("/api/v1/async/employees").param("pageParam", String.valueOf(page)).with(user("admin")))
+                .andExpect(request().asyncStarted());
+        }
+        assertTrue(bulkStarted.await(10, TimeUnit.SECONDS));
+        int listStatus = mockMvc.perform(get("/api/v1/employees").param("pageParam", "99").with(user("admin")))
+            .andReturn().getResponse().getStatus();
+        long[] saturated = lookupLatencies();
+
+        // Then
+        assertEquals(BULK_LIMIT, asyncThreadPool.getMaximumPoolSize());
+        assertEquals(BULK_LIMIT, meterRegistry.get("bulkhead.active").tag("bulkhead", "bulk").gauge().value(), 0.0);
+        assertEquals(503, listStatus);
+        assertFlat(idle, saturated);
+    }
+
+    @Test
+    void givenBulkBulkheadWithoutRoomForAWriter_whenImporting_thenRejectWith503() throws Exception {
+        // Given
+        long[] idle = lookupLatencies();
+        saturateBulk(BULK_LIMIT - 1, BULK_LIMIT - 1);
+
+        // When
+        MvcResult result = mockMvc.perform(post("/api/v1/employees/import")
+                .contentType("text/csv")
+                .content("name,department\nGrace Hopper,Engineering\n")
+                .with(user("admin")))
+            .andReturn();
+        long[] saturated = lookupLatencies();
+
+        // Then
+        assertEquals(503, result.getResponse().getStatus());
+        assertEquals("1", result.getResponse().getHeader("Retry-After"));
+        assertEquals(1, employeeRepository.count());
+        assertFlat(idle, saturated);
+    }
+
+    private List<Future<MvcResult>> saturateBulk() throws Exception {
+        return saturateBulk(BULK_CALLERS, BULK_LIMIT);
+    }
+
+    /**
+     * Starts {@code callers} list requests, each for a different page so that none is coalesced
+     * with another, and returns once {@code admitted} of them hold their connections and the
+     * rest have been turned away.
+     */
+    private List<Future<MvcResult>> saturateBulk(int callers, int admitted) throws Exception {
+        bulkStarted = new CountDownLatch(admitted);
+        List<Future<MvcResult>> calls = new ArrayList<>();
+        for (int page = 0; page < callers; page++) {
+            int pageParam = page;
+            calls.add(executor.submit(() -> mockMvc.perform(get("/api/v1/employees")
+                    .param("pageParam", String.valueOf(pageParam))
+                    .with(user("admin")))
+                .andReturn()));
+        }
+        assertTrue(bulkStarted.await(10, TimeUnit.SECONDS));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (calls.stream().filter(Future::isDone).count() < callers - admitted) {
+            assertTrue(System.nanoTime() < deadline, "excess bulk callers were not rejected");
+            Thread.sleep(10);
+        }
+        return calls;
+    }
+
+    private long[] lookupLatencies() throws Exception {
+        long[] latencies = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            long start = System.nanoTime();
+            int status = mockMvc.perform(get("/api/v1/employee/{id}", employeeId).with(user("admin")))
+                .andReturn().getResponse().getStatus();
+            latencies[i] = System.nanoTime() - start;
+            assertEquals(200, status);
+        }
+        return latencies;
+    }
+
+    private static long p99(long[] latencies) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.ceil(sorted.length * 0.99) - 1];
+    }
+
+    private double rejectedBulkCalls() {
+        return meterRegistry.get("bulkhead.calls").tag("bulkhead", "bulk").tag("outcome", "rejected")
+            .counter().count();
+    }
+}
@@ -0,0 +1,204 @@
+package com.bmo.controller;
+
+import com.bmo.config.AsyncExecutorConfig;
+import com.bmo.config.AsyncExecutorProperties;
+import com.bmo.config.StreamingProperties;
+import com.bmo.config.TestSecurityConfig;
+import com.bmo.dto.EmployeeDto;
+import com.bmo.exception.EmployeeNotFoundException;
+import com.bmo.service.EmployeeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = EmployeeAsyncController.class,
+    properties = {"employee-nexus.async.timeout=300ms", "employee-nexus.streaming.threshold=5"})
+@Import({TestSecurityConfig.class, EmployeeController.class, EmployeeAsyncControllerTest.SingleWorkerExecutor.class})
+class EmployeeAsyncControllerTest {
+
+    private static final String USERNAME = "admin";
+    private static final String PASSWORD = "password";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EmployeeService employeeService;
+
+    @Autowired
+    @Qualifier(AsyncExecutorConfig.EMPLOYEE_EXECUTOR)
+    private ExecutorService executor;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    /**
+     * One worker and one queue slot, so a test can saturate the executor with two blocking tasks.
+     */
+    @TestConfiguration
+    @EnableConfigurationProperties({AsyncExecutorProperties.class, StreamingProperties.class})
+    static class SingleWorkerExecutor {
+        @Bean(name = AsyncExecutorConfig.EMPLOYEE_THREAD_POOL, destroyMethod = "shutdownNow")
+        ThreadPoolExecutor employeeServiceThreadPool() {
+            return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+        }
+
+        @Bean(name = AsyncExecutorConfig.EMPLOYEE_EXECUTOR)
+        ExecutorService employeeServiceExecutor(
+                @Qualifier(AsyncExecutorConfig.EMPLOYEE_THREAD_POOL) ThreadPoolExecutor threadPool) {
+            return threadPool;
+        }
+    }
+
+    private MockHttpServletRequestBuilder securedRequest(MockHttpServletRequestBuilder request) {
+        return request.with(httpBasic(USERNAME, PASSWORD));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    void givenEmployeeExists_whenFetchingAsync_thenReturnEmployeeOnAsyncDispatch() throws Exception {
+        // Given
+        when(employeeService.getEmployeeById(1L)).thenReturn(new EmployeeDto(1L, "Foo", "Engineering", 1L));
+
+        // When
+        MvcResult result = mockMvc.perform(securedRequest(get("/api/v1/async/employee/1")))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name", is("Foo")))
+            .andExpect(jsonPath("$.department", is("Engineering")));
+    }
+
+    @Test
+    void givenEmployeeMissing_whenFetchingAsync_thenReturnNotFound() throws Exception {
+        // Given
+        when(employeeService.getEmployeeById(99L)).thenThrow(new EmployeeNotFoundException("Employee not found with id: 99"));
+
+        // When
+        MvcResult result = mockMvc.perform(securedRequest(get("/api/v1/async/employee/99")))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void givenPageAboveStreamingThreshold_whenListingAsync_thenRejectWithoutQueueing() throws Exception {
+        // Given
+        executor.execute(this::awaitRelease);
+        executor.execute(this::awaitRelease);
+
+        // When/Then
+        mockMvc.perform(securedRequest(get("/api/v1/async/employees?size=50")))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message", containsString("At most 5")));
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    void givenExecutorSaturated_whenFetchingAsync_thenReturnServiceUnavailable() throws Exception {
+        // Given
+        executor.execute(this::awaitRelease);
+        executor.execute(this::awaitRelease);
+
+        // When/Then
+        mockMvc.perform(securedRequest(get("/api/v1/async/employee/1")))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(jsonPath("$.status", is(503)));
+    }
+
+    @Test
+    void givenWriteQueuedPastTimeout_whenTimingOut_thenRemoveItFromTheQueueAndAllowRetry() throws Exception {
+        // Given
+        executor.execute(this::awaitRelease);
+
+        // When
+        MvcResult result = mockMvc.perform(securedRequest(post("/api/v1/async/employee"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Foo\",\"department\":\"Engineering\"}"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string("Retry-After", "1"));
+
+        // Then
+        // The worker is still busy, so the next task only fits if the timed-out one left the queue.
+        Future<?> next = executor.submit(() -> { });
+        release.countDown();
+        next.get(5, TimeUnit.SECONDS);
+        verify(employeeService, never()).createEmployee(any());
+    }
+
+    @Test
+    void givenWriteRunningPastTimeout_whenTimingOut_thenReportUnknownOutcomeWithoutRetryAfter() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            awaitRelease();
+            return null;
+        }).when(employeeService).deleteEmployee(1L);
+
+        // When
+        MvcResult result = mockMvc.perform(securedRequest(delete("/api/v1/async/employee/1")))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().doesNotExist("Retry-After"))
+            .andExpect(jsonPath("$.message", containsString("may still be applied")));
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
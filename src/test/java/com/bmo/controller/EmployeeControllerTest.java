@@ -1,13 +1,19 @@
 package com.bmo.controller;
 
+import com.bmo.config.StreamingProperties;
 import com.bmo.config.TestSecurityConfig;
+import com.bmo.dto.EmployeeBatchResponseDto;
 import com.bmo.dto.EmployeeDto;
+import com.bmo.dto.EmployeeField;
+import com.bmo.dto.PageResponseDto;
+import com.bmo.dto.SparseEmployeeDto;
 import com.bmo.exception.EmployeeNotFoundException;
 import com.bmo.service.EmployeeService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
@@ -17,7 +23,10 @@ import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
@@ -25,6 +34,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.hamcrest.Matchers.containsString;
@@ -32,6 +42,7 @@ import static org.springframework.security.test.web.servlet.request.SecurityMock
 
 @WebMvcTest(EmployeeController.class)
 @Import(TestSecurityConfig.class)
+@EnableConfigurationProperties(StreamingProperties.class)
 class EmployeeControllerTest {
 
     private static final String USERNAME = "admin";
@@ -93,6 +104,35 @@ class EmployeeControllerTest {
         verify(employeeService).getAllEmployees(any(Pageable.class));
     }
 
+    @Test
+    void givenPageAboveStreamingThreshold_whenFetchingAll_thenStreamRowsInTheBufferedShape() throws Exception {
+        // Given
+        PageRequest pageRequest = PageRequest.of(1, 2000, Sort.by("id").ascending());
+        Set<EmployeeField> fields = EnumSet.of(EmployeeField.ID, EmployeeField.NAME);
+        List<EmployeeDto> rows = List.of(new EmployeeDto(2001L, "Foo", null, null), new EmployeeDto(2002L, "Bar", null, null));
+        when(employeeService.streamEmployees(eq(pageRequest), eq(fields), any())).thenAnswer(invocation -> {
+            Consumer<EmployeeDto> consumer = invocation.getArgument(2);
+            rows.forEach(consumer);
+            return 2002L;
+        });
+        String buffered = objectMapper.writeValueAsString(
+            PageResponseDto.from(new PageImpl<>(rows, pageRequest, 2002).map(SparseEmployeeDto::from)));
+
+        // When/Then
+        mockMvc.perform(securedRequest(get("/api/v1/employees"))
+                .param("pageParam", "1")
+                .param("size", "2000")
+                .param("fields", "id,name"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+            .andExpect(content().json(buffered, true))
+            .andExpect(jsonPath("$.content[1].department").doesNotExist())
+            .andExpect(jsonPath("$.metadata.totalPages", is(2)))
+            .andExpect(jsonPath("$.metadata.last", is(true)));
+
+        verify(employeeService, never()).getAllEmployees(any(Pageable.class), any());
+    }
+
     @Test
     void givenInvalidSortProperty_whenFetchingAllWithPagination_thenReturnBadRequest() throws Exception {
         // When/Then
@@ -109,6 +149,124 @@ class EmployeeControllerTest {
     }
 
 
+    @Test
+    void givenMultiKeySort_whenFetchingAllWithPagination_thenSortByEachKeyThenId() throws Exception {
+        // Given
+        Sort expected = Sort.by(Sort.Order.asc("department"), Sort.Order.desc("name"), Sort.Order.desc("id"));
+        when(employeeService.getAllEmployees(any(Pageable.class)))
+            .thenReturn(new PageImpl<>(List.of(testEmployee), PageRequest.of(0, 10, expected), 1));
+
+        // When/Then
+        mockMvc.perform(securedRequest(get("/api/v1/employees"))
+                .param("sort", "Department,asc")
+                .param("sort", "name,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content", hasSize(1)));
+
+        verify(employeeService).getAllEmployees(PageRequest.of(0, 10, expected));
+    }
+
+    @Test
+    void givenRepeatedSortProperty_whenFetchingAllWithPagination_thenReturnBadRequest() throws Exception {
+        // When/Then
+        mockMvc.perform(securedRequest(get("/api/v1/employees"))
+                .param("sort", "name,asc")
+                .param("sort", "name,desc"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value(containsString("only once")));
+
+        verify(employeeService, never()).getAllEmployees(any(Pageable.class));
+    }
+
+    @Test
+    void givenSparseFieldset_whenFetchingAllWithPagination_thenReturnOnlySelectedFields() throws Exception {
+        // Given
+        Page<EmployeeDto> pagedResponse = new PageImpl<>(
+            List.of(new EmployeeDto(1L, "Foo", null, null)),
+            PageRequest.of(0, 10, Sort.by("id").ascending()),
+            1
+        );
+        when(employeeService.getAllEmployees(any(Pageable.class), eq(EnumSet.of(EmployeeField.ID, EmployeeField.NAME))))
+            .thenReturn(pagedResponse);
+
+        // When/Then
+        mockMvc.perform(securedRequest(get("/api/v1/employees"))
+                .param("fields", "id,name")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[0].id", is(1)))
+            .andExpect(jsonPath("$.content[0].name", is("Foo")))
+            .andExpect(jsonPath("$.content[0].department").doesNotExist())
+            .andExpect(jsonPath("$.content[0].version").doesNotExist());
+
+        verify(employeeService, never()).getAllEmployees(any(Pageable.class));
+    }
+
+    @Test
+    void givenIncludeArchived_whenFetchingAllWithPagination_thenReadActiveAndArchivedEmployees() throws Exception {
+        // Given
+        Page<EmployeeDto> pagedResponse = new PageImpl<>(
+            List.of(testEmployee, new EmployeeDto(2L, "Departed", "HR", 3L)),
+            PageRequest.of(0, 10, Sort.by("id").ascending()),
+            2
+        );
+        when(employeeService.getAllEmployeesIncludingArchived(any(Pageable.class), eq(EmployeeField.ALL)))
+            .thenReturn(pagedResponse);
+
+        // When/Then
+        mockMvc.perform(securedRequest(get("/api/v1/employees"))
+                .param("includeArchived", "true")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content", hasSize(2)))
+            .andExpect(jsonPath("$.content[1].name", is("Departed")));
+
+        verify(employeeService, never()).getAllEmployees(any(Pageable.class));
+    }
+
+    @Test
+    void givenIncludeArchivedAboveStreamingThreshold_whenFetchingAllWithPagination_thenReturnBadRequest() throws Exception {
+        // When/Then
+        mockMvc.perform(securedRequest(get("/api/v1/employees"))
+                .param("size", "2000")
+                .param("includeArchived", "true"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value(containsString("At most 1000")))
+            .andExpect(jsonPath("$.status", is(400)));
+
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    void givenUnknownField_whenFetchingEmployeeDetails_thenReturnBadRequest() throws Exception {
+        // When/Then
+        mockMvc.perform(securedRequest(get("/api/v1/employee/1"))
+                .param("fields", "id,salary")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value(containsString("Invalid field: salary")));
+
+        verify(employeeService, never()).getEmployeeById(any());
+    }
+
+    @Test
+    void givenSomeIdsExist_whenFetchingEmployeesByIds_thenReturnFoundAndMissingIds() throws Exception {
+        // Given
+        when(employeeService.getEmployeesByIds(List.of(1L, 7L)))
+            .thenReturn(new EmployeeBatchResponseDto(List.of(testEmployee), List.of(7L)));
+
+        // When/Then
+        mockMvc.perform(securedRequest(get("/api/v1/employees"))
+                .param("ids", "1,7")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content", hasSize(1)))
+            .andExpect(jsonPath("$.content[0].id", is(1)))
+            .andExpect(jsonPath("$.missingIds[0]", is(7)));
+
+        verify(employeeService).getEmployeesByIds(List.of(1L, 7L));
+        verify(employeeService, never()).getAllEmployees(any(Pageable.class));
+    }
 
     @Test
     void givenEmployeeIdExists_whenFetchingEmployeeDetails_thenReturnEmployeeSummary() throws Exception {
@@ -126,16 +284,46 @@ class EmployeeControllerTest {
         verify(employeeService).getEmployeeById(1L);
     }
 
+    @Test
+    void givenSparseFieldset_whenFetchingEmployeeDetails_thenReturnOnlySelectedFields() throws Exception {
+        // Given
+        when(employeeService.getEmployeeById(1L, EnumSet.of(EmployeeField.ID, EmployeeField.NAME)))
+            .thenReturn(new EmployeeDto(1L, "Foo", null, null));
+
+        // When/Then
+        mockMvc.perform(securedRequest(get("/api/v1/employee/1"))
+                .param("fields", "id,name"))
+            .andExpect(status().isOk())
+            .andExpect(content().json("{\"id\":1,\"name\":\"Foo\"}", true));
+    }
+
+    @Test
+    void givenNullFieldWithoutFieldSelection_whenCreatingEmployee_thenWriteItAsNull() throws Exception {
+        // Given
+        when(employeeService.createEmployee(any(EmployeeDto.class))).thenReturn(new EmployeeDto(1L, "Foo", "Engineering", null));
+
+        // When/Then
+        mockMvc.perform(securedRequest(post("/api/v1/employee"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Foo\",\"department\":\"Engineering\"}"))
+            .andExpect(status().isOk())
+            .andExpect(content().json("{\"id\":1,\"name\":\"Foo\",\"department\":\"Engineering\",\"version\":null}", true));
+    }
+
     @Test
     void givenEmployeeDoesNotExist_whenFetchingEmployeeDetails_thenReturnNotFound() throws Exception {
         // Given
         when(employeeService.getEmployeeById(1L))
-                .thenThrow(new EmployeeNotFoundException("Employee not found with id: 1"));
+                .thenThrow(new EmployeeNotFoundException(1L));
 
         // When/Then
         mockMvc.perform(securedRequest(get("/api/v1/employee/1"))
                 .contentType(MediaType.APPLICATION_JSON))
-            .andExpect(status().isNotFound());
+            .andExpect(status().isNotFound())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.message", is("Employee not found with id: 1")))
+            .andExpect(jsonPath("$.status", is(404)))
+            .andExpect(jsonPath("$.timestamp").isString());
 
         verify(employeeService).getEmployeeById(1L);
     }
@@ -167,7 +355,11 @@ class EmployeeControllerTest {
         mockMvc.perform(securedRequest(post("/api/v1/employee"))
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(invalidEmployee)))
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message", is("Validation failed")))
+            .andExpect(jsonPath("$.status", is(400)))
+            .andExpect(jsonPath("$.errors.name").isString())
+            .andExpect(jsonPath("$.errors.department").isString());
 
         verify(employeeService, never()).createEmployee(any(EmployeeDto.class));
     }
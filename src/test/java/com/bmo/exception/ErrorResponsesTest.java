@@ -0,0 +1,84 @@
+package com.bmo.exception;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ErrorResponsesTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private JsonNode json(ResponseEntity<byte[]> response) throws Exception {
+        return objectMapper.readTree(response.getBody());
+    }
+
+    @Test
+    void givenEmployeeId_whenWritingNotFound_thenBodyHasTheSharedShape() throws Exception {
+        // When
+        JsonNode body = json(ErrorResponses.notFound(new EmployeeNotFoundException(9_007_199_254L)));
+
+        // Then
+        assertEquals("Employee not found with id: 9007199254", body.get("message").asText());
+        assertEquals(404, body.get("status").asInt());
+        assertTrue(body.get("timestamp").asText().matches("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}"));
+    }
+
+    @Test
+    void givenNegativeOrExtremeEmployeeId_whenWritingNotFound_thenWriteItLikeLongToString() throws Exception {
+        for (long id : new long[] {0L, -5L, -10L, Long.MIN_VALUE, Long.MAX_VALUE}) {
+            // When
+            JsonNode body = json(ErrorResponses.notFound(new EmployeeNotFoundException(id)));
+
+            // Then
+            assertEquals("Employee not found with id: " + id, body.get("message").asText());
+        }
+    }
+
+    @Test
+    void givenMessageWithQuotesAndControlCharacters_whenWriting_thenEscapeThem() throws Exception {
+        // When
+        JsonNode body = json(ErrorResponses.of(HttpStatus.BAD_REQUEST, "bad \"header\"\n\\ café"));
+
+        // Then
+        assertEquals("bad \"header\"\n\\ café", body.get("message").asText());
+    }
+
+    @Test
+    void givenSeveralErrorsForOneField_whenWritingValidation_thenKeepTheFirstPerField() throws Exception {
+        // Given
+        List<FieldError> errors = List.of(
+            new FieldError("employee", "name", "Name is required"),
+            new FieldError("employee", "name", "Name must be between 2 and 100 characters"),
+            new FieldError("employee", "department", "Department is required")
+        );
+
+        // When
+        JsonNode body = json(ErrorResponses.validation(errors));
+
+        // Then
+        assertEquals(400, body.get("status").asInt());
+        assertEquals("Name is required", body.get("errors").get("name").asText());
+        assertEquals("Department is required", body.get("errors").get("department").asText());
+        assertEquals(2, body.get("errors").size());
+    }
+
+    @Test
+    void givenConstantMessage_whenRespondingTwiceWithinASecond_thenReuseTheBody() {
+        // Given
+        ErrorResponses.Constant constant = ErrorResponses.constant(HttpStatus.CONFLICT, "Conflict");
+
+        // When
+        byte[] first = constant.response().getBody();
+        byte[] second = constant.response().getBody();
+
+        // Then: same array unless the second boundary was crossed in between
+        assertTrue(first == second || !new String(first).equals(new String(second)));
+    }
+}
@@ -0,0 +1,65 @@
+package com.bmo.monitoring;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTimingTest {
+
+    @AfterEach
+    void tearDown() {
+        if (RequestTiming.current() != null) {
+            RequestTiming.current().finish();
+        }
+    }
+
+    @Test
+    void givenNestedSegments_whenFinishing_thenExclusiveTimesAddUpToTotal() {
+        // Given
+        RequestTiming timing = RequestTiming.start(RequestTiming.Segment.SECURITY);
+        pause();
+        RequestTiming.Segment beforeService = timing.enter(RequestTiming.Segment.SERVICE);
+        pause();
+        RequestTiming.Segment beforeRepository = timing.enter(RequestTiming.Segment.REPOSITORY);
+        pause();
+        timing.exit(beforeRepository);
+        timing.exit(beforeService);
+
+        // When
+        long total = timing.finish();
+
+        // Then
+        assertNull(RequestTiming.current());
+        assertEquals(RequestTiming.Segment.SERVICE, beforeRepository);
+        long sum = 0;
+        for (RequestTiming.Segment segment : RequestTiming.Segment.values()) {
+            sum += timing.nanos(segment);
+        }
+        assertEquals(total, sum);
+        assertTrue(timing.nanos(RequestTiming.Segment.REPOSITORY) > 0);
+        assertEquals(0, timing.nanos(RequestTiming.Segment.CONTROLLER));
+    }
+
+    @Test
+    void givenStartedSegments_whenRenderingHeader_thenListOnlyEnteredSegmentsAndTotal() {
+        // Given
+        RequestTiming timing = RequestTiming.start(RequestTiming.Segment.SECURITY);
+        pause();
+        timing.enter(RequestTiming.Segment.MVC);
+        pause();
+
+        // When
+        String header = timing.headerValue();
+
+        // Then
+        assertTrue(header.matches("security;dur=\\d+\\.\\d{2}, mvc;dur=\\d+\\.\\d{2}, total;dur=\\d+\\.\\d{2}"), header);
+        assertTrue(timing.headerWritten());
+    }
+
+    private static void pause() {
+        LockSupport.parkNanos(100_000);
+    }
+}
@@ -0,0 +1,84 @@
+package com.bmo.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatisticsTest {
+
+    @Test
+    void givenLiteralsCommentsAndInLists_whenFingerprinting_thenOnlyTheQueryShapeRemains() {
+        // When
+        String fingerprint = SqlStatistics.fingerprint(
+            "/* load */ select e1_0.id,e1_0.name from employees e1_0\n  where e1_0.department = 'O''Neil'"
+                + " and e1_0.version > 42 and e1_0.id in (?, ?,?)");
+
+        // Then
+        assertEquals("select e1_0.id,e1_0.name from employees e1_0 where e1_0.department = ?"
+            + " and e1_0.version > ? and e1_0.id in (?...)", fingerprint);
+    }
+
+    @Test
+    void givenDifferentInListSizes_whenRecording_thenCountUnderOneFingerprint() {
+        // Given
+        SqlStatistics statistics = new SqlStatistics(10);
+
+        // When
+        statistics.record("select * from employees where id in (?,?)", millis(1), true, false);
+        statistics.record("select * from employees where id in (?,?,?,?)", millis(3), true, false);
+        statistics.record("select * from employees where id in (?,?)", millis(2), false, false);
+        SqlStatsReport report = statistics.report(10, SqlStatsReport.Order.TOTAL);
+
+        // Then
+        assertEquals(1, report.fingerprints());
+        SqlStatsReport.Fingerprint top = report.top().get(0);
+        assertEquals("select * from employees where id in (?...)", top.fingerprint());
+        assertEquals(3, top.count());
+        assertEquals(1, top.errors());
+        assertEquals(6.0, top.totalMillis(), 0.001);
+        assertEquals(3.0, top.maxMillis(), 0.001);
+    }
+
+    @Test
+    void givenSkewedLatencies_whenReporting_thenPercentilesFollowTheHistogram() {
+        // Given
+        SqlStatistics statistics = new SqlStatistics(10);
+        for (int i = 0; i < 99; i++) {
+            statistics.record("select 1", TimeUnit.MICROSECONDS.toNanos(100), true, false);
+        }
+        statistics.record("select 1", millis(50), true, true);
+
+        // When
+        SqlStatsReport.Fingerprint fingerprint = statistics.report(1, SqlStatsReport.Order.P99).top().get(0);
+
+        // Then
+        assertEquals(0.128, fingerprint.p50Millis(), 0.001);
+        assertEquals(0.128, fingerprint.p99Millis(), 0.001);
+        assertEquals(50.0, fingerprint.maxMillis(), 0.001);
+        assertEquals(1, fingerprint.slow());
+    }
+
+    @Test
+    void givenMoreShapesThanTracked_whenRecording_thenOverflowIsCountedAsOther() {
+        // Given
+        SqlStatistics statistics = new SqlStatistics(2);
+
+        // When
+        statistics.record("select a from t", millis(1), true, false);
+        statistics.record("select b from t", millis(1), true, false);
+        statistics.record("select c from t", millis(5), true, false);
+        statistics.record("select d from t", millis(5), true, false);
+        SqlStatsReport report = statistics.report(10, SqlStatsReport.Order.TOTAL);
+
+        // Then
+        assertEquals(4, report.statements());
+        assertEquals(SqlStatistics.OTHER, report.top().get(0).fingerprint());
+        assertEquals(2, report.top().get(0).count());
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
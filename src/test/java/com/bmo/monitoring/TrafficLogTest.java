@@ -0,0 +1,88 @@
+package com.bmo.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrafficLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void givenRequestsToOneEndpoint_whenWrittenAndRead_thenTheyRoundTripUpToATruncatedTail() throws Exception {
+        // Given
+        TrafficLog.Request list = new TrafficLog.Request("GET", "/api/v1/employees", 5, 1_200, 200, null, 0,
+            Map.of("size", "20"));
+        TrafficLog.Request byId = new TrafficLog.Request("GET", "/api/v1/employee/{id}", 70_000_000_000L, 800, 404,
+            0L, 0, Map.of());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (TrafficLog.Writer writer = new TrafficLog.Writer(bytes, 1_700_000_000_000L)) {
+            writer.write(list);
+            writer.write(byId);
+            writer.write(list);
+        }
+        byte[] truncated = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 2);
+
+        // When
+        TrafficLog.Reader reader = new TrafficLog.Reader(new ByteArrayInputStream(truncated));
+
+        // Then
+        assertEquals(1_700_000_000_000L, reader.startEpochMillis());
+        assertEquals(list, reader.next());
+        assertEquals(byId, reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void givenRequestWithBodyAndUnlistedParameters_whenFiltered_thenOnlyItsShapeIsRecorded() throws Exception {
+        // Given
+        TrafficRecorder recorder = new TrafficRecorder(directory, 1 << 20, 16, new SimpleMeterRegistry());
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/v1/employee/42");
+        request.setContent("{\"name\":\"Ada Lovelace\",\"department\":\"Engineering\"}".getBytes(StandardCharsets.UTF_8));
+        request.setParameter("fields", "id,name");
+        request.setParameter("token", "secret");
+        MockFilterChain chain = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/employee/{id}");
+                req.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", "42"));
+                ((MockHttpServletResponse) res).setStatus(409);
+            }
+        };
+
+        // When
+        new TrafficRecordFilter(recorder).doFilter(request, new MockHttpServletResponse(), chain);
+        recorder.close();
+
+        // Then
+        byte[] log = Files.readAllBytes(recorder.file());
+        assertFalse(new String(log, StandardCharsets.UTF_8).contains("Lovelace"));
+        try (InputStream in = Files.newInputStream(recorder.file()); TrafficLog.Reader reader = new TrafficLog.Reader(in)) {
+            TrafficLog.Request recorded = reader.next();
+            assertEquals("PUT /api/v1/employee/{id}", recorded.endpoint());
+            assertEquals(42L, recorded.id());
+            assertEquals(409, recorded.status());
+            assertEquals(request.getContentLengthLong(), recorded.bodyBytes());
+            assertEquals(Map.of("fields", "id,name"), recorded.parameters());
+            assertNull(reader.next());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.bmo.perf;
+
+import com.bmo.EmployeeNexusApiApplication;
+import com.bmo.dto.EmployeeField;
+import com.bmo.service.EmployeeArchiver;
+import com.bmo.service.EmployeeService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
+
+/**
+ * List and point-read latency while the number of departed employees grows to 10x the active
+ * set. At each step the departed rows are first left soft-deleted in the hot table, then moved
+ * to the archive, so the two layouts are compared on the same data. Rows are generated with SQL
+ * rather than the API so that large archives can be built quickly; active employee {@code x} has
+ * id {@code 11x} and the departed ones fill the ids in between, as they would after years of
+ * turnover. Run through {@code perf/archive-growth.sh}.
+ */
+public final class ArchiveGrowthBench {
+    private static final int[] FACTORS = {0, 1, 2, 5, 10};
+    private static final int ID_STRIDE = 11;
+    private static final int WARMUP = 500;
+    private static final int SAMPLES = 1000;
+    private static final int PAGE_SIZE = 20;
+
+    private ArchiveGrowthBench() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int active = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EmployeeNexusApiApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(
+                "--logging.level.root=WARN",
+                "--employee-nexus.sql-stats.enabled=false",
+                "--employee-nexus.server-timing.enabled=false",
+                "--employee-nexus.archive.interval=1h",
+                "--employee-nexus.archive.rows-per-second=0",
+                "--employee-nexus.archive.batch-size=1000")) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            EmployeeService service = context.getBean(EmployeeService.class);
+            EmployeeArchiver archiver = context.getBean(EmployeeArchiver.class);
+
+            insert(jdbcTemplate, active, 0);
+            int pages = active / PAGE_SIZE;
+
+            System.out.printf("%-8s %-13s %22s %22s %22s %22s%n", "departed", "layout",
+                "list_by_id p50/p99", "list_by_name p50/p99", "point p50/p99", "incl_archived p50/p99");
+            int departed = 0;
+            for (int factor : FACTORS) {
+                for (int slot = departed + 1; slot <= factor; slot++) {
+                    insert(jdbcTemplate, active, slot);
+                }
+                departed = factor;
+                IntConsumer listById = i -> service.getAllEmployees(
+                    PageRequest.of(i % pages, PAGE_SIZE, Sort.by("id")));
+                IntConsumer listByName = i -> service.getAllEmployees(
+                    PageRequest.of(i % pages, PAGE_SIZE, Sort.by("name")));
+                IntConsumer point = i -> service.getEmployeeById(
+                    ID_STRIDE * ThreadLocalRandom.current().nextLong(1, active + 1));
+                IntConsumer includeArchived = i -> service.getAllEmployeesIncludingArchived(
+                    PageRequest.of(i % pages, PAGE_SIZE, Sort.by("id")), EmployeeField.ALL);
+
+                row(factor + "x", "soft-deleted", listById, listByName, point, includeArchived);
+                long start = System.nanoTime();
+                long archived = archiver.archive();
+                double seconds = (System.nanoTime() - start) / 1e9;
+                row(factor + "x", "archived", listById, listByName, point, includeArchived);
+                if (archived > 0) {
+                    System.out.printf("        archived %d rows in %.2f s (%.0f rows/s unthrottled)%n",
+                        archived, seconds, archived / seconds);
+                }
+            }
+        }
+    }
+
+    /**
+     * Inserts one row per active employee at id {@code 11x + slot}; slot 0 holds the active
+     * employees and slots 1 to 10 hold departed ones.
+     */
+    private static void insert(JdbcTemplate jdbcTemplate, int rows, int slot) {
+        jdbcTemplate.update("INSERT INTO employees (id, name, department, version, deleted_at) "
+            + "SELECT X * " + ID_STRIDE + " + " + slot + ", 'Employee ' || X || '-' || " + slot
+            + ", 'Dept ' || MOD(X, 20), 0, " + (slot == 0 ? "NULL" : "LOCALTIMESTAMP")
+            + " FROM SYSTEM_RANGE(1, ?)", rows);
+    }
+
+    private static void row(String departed, String layout, IntConsumer... readers) {
+        StringBuilder line = new StringBuilder(String.format("%-8s %-13s", departed, layout));
+        for (IntConsumer reader : readers) {
+            long[] micros = time(reader);
+            line.append(String.format(" %22s", micros[SAMPLES / 2] + "/" + micros[SAMPLES * 99 / 100] + " us"));
+        }
+        System.out.println(line);
+    }
+
+    private static long[] time(IntConsumer reader) {
+        for (int i = 0; i < WARMUP; i++) {
+            reader.accept(i);
+        }
+        long[] micros = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            reader.accept(i * 7919);
+            micros[i] = (System.nanoTime() - start) / 1_000;
+        }
+        Arrays.sort(micros);
+        return micros;
+    }
+}
@@ -0,0 +1,142 @@
+package com.bmo.perf;
+
+import com.bmo.EmployeeNexusApiApplication;
+import com.bmo.dto.EmployeeDto;
+import com.bmo.event.EmployeeChangedEvent;
+import com.bmo.service.EmployeeAuditTrail;
+import com.bmo.service.EmployeeService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Update latency with the audit trail off, with the asynchronous audit trail, and with an audit
+ * row inserted synchronously inside each update's transaction. Several threads update their own
+ * employees concurrently, as the REST API would, and every latency is kept to compute exact
+ * percentiles. Run through {@code perf/audit-overhead.sh}.
+ * <p>
+ * The {@code deferred} variant is the asynchronous trail with a buffer large enough for the whole
+ * run and no flush until it ends, so only the request thread's share of auditing is measured. On
+ * a machine with a core to spare for the writer that is what requests pay; on a single core the
+ * {@code async} variant also charges them for the writer's inserts.
+ */
+public final class AuditOverheadBench {
+    private static final int EMPLOYEES = 10_000;
+    private static final int WARMUP = 20_000;
+
+    private AuditOverheadBench() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+        int updates = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        System.out.printf("%-8s %10s %10s %10s %14s%n", "audit", "p50_us", "p99_us", "p999_us", "audit_rows");
+        // Variants alternate so that drift in the machine's speed affects all of them alike.
+        for (int round = 0; round < rounds; round++) {
+            run("off", false, false, false, threads, updates);
+            run("async", true, false, false, threads, updates);
+            run("deferred", true, true, false, threads, updates);
+            run("inline", false, false, true, threads, updates);
+        }
+    }
+
+    private static void run(String label, boolean async, boolean deferred, boolean inline, int threads, int updates)
+            throws Exception {
+        // Half the capacity must exceed every update of the run, or the writer is woken early.
+        int capacity = deferred ? Integer.highestOneBit(4 * (WARMUP + updates)) : 8192;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EmployeeNexusApiApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(
+                "--logging.level.root=WARN",
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:mem:audit-" + label + "-" + System.nanoTime(),
+                "--employee-nexus.sql-stats.enabled=false",
+                "--employee-nexus.server-timing.enabled=false",
+                "--employee-nexus.archive.enabled=false",
+                "--employee-nexus.audit.enabled=" + async,
+                "--employee-nexus.audit.capacity=" + capacity,
+                "--employee-nexus.audit.flush-interval=" + (deferred ? "1h" : "100ms"))) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            EmployeeService service = context.getBean(EmployeeService.class);
+            jdbcTemplate.update("INSERT INTO employees (id, name, department, version) "
+                + "SELECT X, 'Employee ' || X, 'Dept ' || MOD(X, 20), 0 FROM SYSTEM_RANGE(1, ?)", EMPLOYEES);
+            if (inline) {
+                // What the audit trail replaces: one more insert in every mutating transaction.
+                jdbcTemplate.execute("CREATE TABLE inline_audit (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                    + "employee_id BIGINT, change_type VARCHAR(16), principal VARCHAR(100), old_version BIGINT, "
+                    + "new_version BIGINT, changed_fields VARCHAR(255), committed_at TIMESTAMP)");
+                context.addApplicationListener((PayloadApplicationEvent<EmployeeChangedEvent> event) -> {
+                    EmployeeChangedEvent change = event.getPayload();
+                    jdbcTemplate.update("INSERT INTO inline_audit (employee_id, change_type, principal, old_version, "
+                            + "new_version, changed_fields, committed_at) VALUES (?, ?, ?, ?, ?, ?, LOCALTIMESTAMP)",
+                        change.employeeId(), change.type().name(),
+                        SecurityContextHolder.getContext().getAuthentication().getName(),
+                        change.oldVersion(), change.newVersion(), String.join(",", change.changedFields()));
+                });
+            }
+
+            update(service, threads, WARMUP);
+            long[] micros = update(service, threads, updates);
+            if (deferred) {
+                context.getBean(EmployeeAuditTrail.class).stop();
+            }
+            Integer rows = inline || async ? jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + (inline ? "inline_audit" : "employee_audit"), Integer.class) : 0;
+            System.out.printf("%-8s %10d %10d %10d %14d%n", label, micros[micros.length / 2],
+                micros[micros.length * 99 / 100], micros[micros.length * 999 / 1000], rows);
+        }
+    }
+
+    /**
+     * Renames employees from {@code threads} threads, each on its own employees so that updates
+     * do not conflict, and returns every latency in microseconds, sorted.
+     */
+    private static long[] update(EmployeeService service, int threads, int updates) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<long[]>> results = new ArrayList<>();
+            int perThread = updates / threads;
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    SecurityContextHolder.getContext().setAuthentication(
+                        UsernamePasswordAuthenticationToken.authenticated("perf-" + thread, null, List.of()));
+                    long[] micros = new long[perThread];
+                    for (int i = 0; i < perThread; i++) {
+                        long id = 1 + (thread + (long) i * threads) % EMPLOYEES;
+                        EmployeeDto change = new EmployeeDto(id, "Renamed " + i, "Dept " + (i % 20), null);
+                        long start = System.nanoTime();
+                        service.updateEmployee(id, change);
+                        micros[i] = (System.nanoTime() - start) / 1_000;
+                    }
+                    SecurityContextHolder.clearContext();
+                    return micros;
+                }));
+            }
+            long[] all = new long[perThread * threads];
+            int offset = 0;
+            for (Future<long[]> result : results) {
+                long[] micros = result.get();
+                System.arraycopy(micros, 0, all, offset, micros.length);
+                offset += micros.length;
+            }
+            Arrays.sort(all);
+            return all;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.bmo.perf;
+
+import com.bmo.exception.EmployeeNotFoundException;
+import com.bmo.exception.ErrorResponses;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A 404-heavy error path: an unknown id is looked up below {@code depth} frames (roughly what
+ * Spring MVC and the service proxies put on the stack), the exception is caught at the top and
+ * turned into a body. {@code legacy*} reproduces the previous handler: a stack-trace exception
+ * with a concatenated message and a fresh {@code Map}/{@link LocalDateTime} body serialized by
+ * Jackson, the way the message converter would. The other benchmarks use the stackless
+ * exception and {@link ErrorResponses}.
+ * Run through {@code perf/error-path-bench.sh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorPathBenchmark {
+    @Param("60")
+    int depth;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private List<FieldError> fieldErrors;
+    private long id;
+
+    @Setup
+    public void setUp() {
+        fieldErrors = List.of(
+            new FieldError("employee", "name", "Name is required"),
+            new FieldError("employee", "department", "Department is required")
+        );
+    }
+
+    @Benchmark
+    public byte[] legacyNotFound() throws Exception {
+        long missing = ++id;
+        try {
+            descend(depth, () -> {
+                throw new LegacyNotFoundException("Employee not found with id: " + missing);
+            });
+            return null;
+        } catch (LegacyNotFoundException ex) {
+            ResponseEntity<Map<String, Object>> response = ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(Map.of(
+                    "timestamp", LocalDateTime.now(),
+                    "message", ex.getMessage(),
+                    "status", HttpStatus.NOT_FOUND.value()
+                ));
+            return objectMapper.writeValueAsBytes(response.getBody());
+        }
+    }
+
+    @Benchmark
+    public byte[] notFound() {
+        long missing = ++id;
+        try {
+            descend(depth, () -> {
+                throw new EmployeeNotFoundException(missing);
+            });
+            return null;
+        } catch (EmployeeNotFoundException ex) {
+            return ErrorResponses.notFound(ex).getBody();
+        }
+    }
+
+    @Benchmark
+    public byte[] legacyValidation() throws Exception {
+        Map<String, String> errors = new HashMap<>();
+        fieldErrors.forEach(error -> errors.put(error.getField(), error.getDefaultMessage()));
+        ResponseEntity<Map<String, String>> response = ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
+        return objectMapper.writeValueAsBytes(response.getBody());
+    }
+
+    @Benchmark
+    public byte[] validation() {
+        return ErrorResponses.validation(fieldErrors).getBody();
+    }
+
+    private static void descend(int frames, Runnable lookup) {
+        if (frames == 0) {
+            lookup.run();
+        } else {
+            descend(frames - 1, lookup);
+        }
+    }
+
+    private static final class LegacyNotFoundException extends RuntimeException {
+        LegacyNotFoundException(String message) {
+            super(message);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+            .include(ErrorPathBenchmark.class.getSimpleName())
+            .addProfiler("gc")
+            .build()).run();
+    }
+}
@@ -0,0 +1,66 @@
+package com.bmo.perf;
+
+import com.bmo.dto.EmployeeDto;
+import com.bmo.entity.EmployeeEntity;
+import com.bmo.service.EmployeeReadModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+/**
+ * Compares the heap retained by n {@link EmployeeEntity} objects with the heap retained by an
+ * {@link EmployeeReadModel} holding the same rows, and times 1000-row pages served by the model.
+ * Run through {@code perf/read-model-footprint.sh}.
+ */
+public final class ReadModelFootprint {
+    private static final int DEPARTMENTS = 20;
+
+    private ReadModelFootprint() {
+    }
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        double perMillion = 1_000_000.0 / rows / (1024 * 1024);
+
+        long baseline = usedHeap();
+        List<EmployeeEntity> entities = new ArrayList<>(rows);
+        for (long id = 1; id <= rows; id++) {
+            // Strings are materialised per row, as they are when read through JDBC.
+            entities.add(new EmployeeEntity(id, "Employee " + id, new String("Department " + id % DEPARTMENTS), 0L));
+        }
+        long entityBytes = usedHeap() - baseline;
+        entities = null;
+
+        baseline = usedHeap();
+        EmployeeReadModel readModel = new EmployeeReadModel(new SimpleMeterRegistry());
+        readModel.rebuild(rows, LongStream.rangeClosed(1, rows)
+            .mapToObj(id -> new EmployeeDto(id, "Employee " + id, "Department " + id % DEPARTMENTS, 0L)));
+        long modelBytes = usedHeap() - baseline;
+
+        int pages = 2_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < pages; i++) {
+            readModel.findPage(PageRequest.of(i % (rows / 1000), 1000, Sort.by("name").descending()));
+        }
+        double pageMicros = (System.nanoTime() - start) / 1_000.0 / pages;
+
+        System.out.printf("%-28s %14s %14s%n", "representation", "heap_mb", "mb_per_million");
+        System.out.printf("%-28s %14.1f %14.1f%n", "EmployeeEntity list", entityBytes / 1048576.0, entityBytes * perMillion);
+        System.out.printf("%-28s %14.1f %14.1f%n", "read model (measured)", modelBytes / 1048576.0, modelBytes * perMillion);
+        System.out.printf("%-28s %14.1f %14.1f%n", "read model (estimated)",
+            readModel.estimatedHeapBytes() / 1048576.0, readModel.estimatedHeapBytes() * perMillion);
+        System.out.printf("1000-row page sorted by name desc: %.1f us%n", pageMicros);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
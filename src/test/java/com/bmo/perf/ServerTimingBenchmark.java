@@ -0,0 +1,109 @@
+package com.bmo.perf;
+
+import com.bmo.monitoring.RequestTiming;
+import com.bmo.monitoring.ServerTimingInterceptor;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.repository.Repository;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link ServerTimingInterceptor} on one repository call. {@code proxy} stands for the
+ * proxy every repository and service already has, with one interceptor in its chain (transactions,
+ * exception translation); {@code unsampled} adds the timing interceptor with no request being
+ * timed, which is what all but the sampled fraction of requests pay; {@code sampled} times the
+ * call. Run through {@code perf/server-timing-bench.sh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServerTimingBenchmark {
+    private static final MethodInterceptor PASS_THROUGH = MethodInvocation::proceed;
+
+    private final Lookup target = new InMemoryLookup();
+    private Lookup proxy;
+    private Lookup timed;
+    private long id;
+
+    public interface Lookup extends Repository<Object, Long> {
+        long find(long id);
+    }
+
+    static final class InMemoryLookup implements Lookup {
+        @Override
+        public long find(long id) {
+            return id * 31 + 7;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Sampled {
+        @Setup(Level.Iteration)
+        public void start() {
+            RequestTiming.start(RequestTiming.Segment.SERVICE);
+        }
+
+        @TearDown(Level.Iteration)
+        public void finish() {
+            RequestTiming.current().finish();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        ProxyFactory plain = new ProxyFactory(target);
+        plain.addAdvice(PASS_THROUGH);
+        proxy = (Lookup) plain.getProxy();
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.addAdvice(PASS_THROUGH);
+        factory.addAdvisor(ServerTimingInterceptor.advisor(
+            ServerTimingInterceptor.REPOSITORIES, RequestTiming.Segment.REPOSITORY));
+        timed = (Lookup) factory.getProxy();
+    }
+
+    @Benchmark
+    public long direct() {
+        return target.find(++id);
+    }
+
+    @Benchmark
+    public long proxy() {
+        return proxy.find(++id);
+    }
+
+    @Benchmark
+    public long unsampled() {
+        return timed.find(++id);
+    }
+
+    @Benchmark
+    public long sampled(Sampled sampled) {
+        return timed.find(++id);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+            .include(ServerTimingBenchmark.class.getSimpleName())
+            .addProfiler("gc")
+            .build()).run();
+    }
+}
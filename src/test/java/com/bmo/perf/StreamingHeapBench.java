@@ -0,0 +1,163 @@
+package com.bmo.perf;
+
+import com.bmo.EmployeeNexusApiApplication;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.InputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Peak live heap while one list page is served, by page size, buffered and streamed, and on the
+ * paths that always buffer ({@code /api/v1/async/employees} and {@code includeArchived=true}),
+ * which reject pages above the streaming threshold.
+ * <p>
+ * Each variant starts the application in this JVM on a free port, with its own in-memory database
+ * holding as many employees as the largest page, and the cache and read model off so every page
+ * is read from the database. A client in the same JVM reads each response and discards it. The
+ * peak is the highest heap occupancy left after any collection during the request, less the
+ * occupancy before it, so short-lived garbage is not counted; run with a small young generation
+ * (as {@code perf/streaming-heap.sh} does) so collections happen often enough to see it. Pages
+ * are requested smallest first and twice each, and the second request is reported.
+ * Run through {@code perf/streaming-heap.sh}.
+ */
+public final class StreamingHeapBench {
+    private static final String AUTH = "Basic " + Base64.getEncoder()
+        .encodeToString("admin:password".getBytes(StandardCharsets.UTF_8));
+
+    private StreamingHeapBench() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] sizes = Arrays.stream((args.length > 0 ? args[0] : "1000,10000,50000,100000,200000").split(","))
+            .mapToInt(Integer::parseInt)
+            .sorted()
+            .toArray();
+        PeakLiveHeap peak = new PeakLiveHeap();
+        System.out.printf("%-10s %10s %8s %12s %16s %10s%n",
+            "variant", "page_size", "status", "body_mb", "peak_live_mb", "ms");
+        run("buffered", 0, "/api/v1/employees?size=", sizes, peak);
+        run("streamed", 1000, "/api/v1/employees?size=", sizes, peak);
+        run("async", 1000, "/api/v1/async/employees?size=", sizes, peak);
+        run("archived", 1000, "/api/v1/employees?includeArchived=true&size=", sizes, peak);
+    }
+
+    private static void run(String variant, int threshold, String path, int[] sizes, PeakLiveHeap peak)
+            throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EmployeeNexusApiApplication.class)
+            .run(
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:mem:streaming-" + variant + "-" + System.nanoTime(),
+                "--employee-nexus.cache.enabled=false",
+                "--employee-nexus.read-model.enabled=false",
+                "--employee-nexus.sql-stats.enabled=false",
+                "--employee-nexus.server-timing.enabled=false",
+                "--employee-nexus.streaming.threshold=" + threshold)) {
+            context.getBean(JdbcTemplate.class).update("INSERT INTO employees (id, name, department, version) "
+                + "SELECT X, 'Employee ' || X, 'Department ' || MOD(X, 20), 0 FROM SYSTEM_RANGE(1, ?)",
+                sizes[sizes.length - 1]);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            for (int size : sizes) {
+                HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + path + size))
+                    .header("Authorization", AUTH)
+                    .build();
+                fetch(client, request);
+                peak.reset();
+                long start = System.nanoTime();
+                Fetched fetched = fetch(client, request);
+                long millis = (System.nanoTime() - start) / 1_000_000;
+                System.out.printf("%-10s %10d %8d %12.1f %16.1f %10d%n", variant, size, fetched.status(),
+                    fetched.bytes() / 1048576.0, peak.peakBytes() / 1048576.0, millis);
+            }
+        }
+    }
+
+    private record Fetched(int status, long bytes) {}
+
+    /**
+     * Reads the whole response. Pages above the threshold on the buffering paths are expected to be
+     * rejected with 400; any other failure ends the run.
+     */
+    private static Fetched fetch(HttpClient client, HttpRequest request) throws Exception {
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        byte[] buffer = new byte[8192];
+        long bytes = 0;
+        try (InputStream body = response.body()) {
+            for (int read = body.read(buffer); read >= 0; read = body.read(buffer)) {
+                bytes += read;
+            }
+        }
+        if (response.statusCode() != 200 && response.statusCode() != 400) {
+            throw new IllegalStateException("HTTP " + response.statusCode() + " for " + request.uri());
+        }
+        return new Fetched(response.statusCode(), bytes);
+    }
+
+    /**
+     * Highest heap occupancy after a collection since {@link #reset}, relative to the occupancy
+     * after a full collection at the reset.
+     */
+    private static final class PeakLiveHeap {
+        private final AtomicLong peak = new AtomicLong();
+        private volatile long baseline;
+
+        PeakLiveHeap() {
+            Set<String> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .map(MemoryPoolMXBean::getName)
+                .collect(Collectors.toSet());
+            NotificationListener listener = (notification, handback) -> {
+                if (!notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+                    return;
+                }
+                GarbageCollectionNotificationInfo info =
+                    GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                long used = info.getGcInfo().getMemoryUsageAfterGc().entrySet().stream()
+                    .filter(pool -> heapPools.contains(pool.getKey()))
+                    .mapToLong(pool -> pool.getValue().getUsed())
+                    .sum();
+                peak.accumulateAndGet(used, Math::max);
+            };
+            List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+            for (GarbageCollectorMXBean collector : collectors) {
+                ((NotificationEmitter) collector).addNotificationListener(listener, null, null);
+            }
+        }
+
+        void reset() throws InterruptedException {
+            System.gc();
+            // Notifications are delivered on another thread; let the one for this collection arrive.
+            Thread.sleep(200);
+            baseline = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+            peak.set(baseline);
+        }
+
+        long peakBytes() {
+            return peak.get() - baseline;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.bmo.perf;
+
+import com.bmo.EmployeeNexusApiApplication;
+import com.bmo.monitoring.TrafficLog;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.LongStream;
+
+/**
+ * Replays a {@link TrafficLog} against a local instance and reports per-endpoint latency.
+ * <p>
+ * The instance is started in this JVM on a free port, with employees {@code 1..max(id)} seeded so
+ * that recorded ids resolve. Each request is sent at its recorded offset divided by the speed-up,
+ * whether or not earlier responses have arrived, so the recorded concurrency and bursts are
+ * reproduced. Latency is measured from the scheduled send time, so a stalled server is not
+ * hidden by the replayer falling behind. Bodies of creates and updates are generated; requests
+ * whose body cannot be reconstructed, such as imports and lookups, are skipped and counted.
+ * <p>
+ * The report is a tab-separated file with one line per endpoint. Given a previous report, the
+ * p50 and p99 changes are printed next to it. Run through {@code perf/traffic-replay.sh}.
+ */
+public final class TrafficReplayer {
+    private static final String AUTH = "Basic " + Base64.getEncoder()
+        .encodeToString("admin:password".getBytes(StandardCharsets.UTF_8));
+    private static final String HEADER = "endpoint\tcount\terrors\tp50_ms\tp90_ms\tp99_ms\tmax_ms\trecorded_p50_ms\trecorded_p99_ms";
+
+    private TrafficReplayer() {
+    }
+
+    private record Result(long latencyMicros, boolean error) {}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: TrafficReplayer <traffic-log> <report> [speed-up] [baseline-report]");
+            System.exit(2);
+        }
+        Path logFile = Path.of(args[0]);
+        Path report = Path.of(args[1]);
+        double speedUp = args.length > 2 ? Double.parseDouble(args[2]) : 1.0;
+        Path baseline = args.length > 3 ? Path.of(args[3]) : null;
+
+        List<TrafficLog.Request> requests = read(logFile);
+        long maxId = requests.stream().filter(r -> r.id() != null).mapToLong(TrafficLog.Request::id).max().orElse(0);
+        System.out.printf("%d requests over %.1f s from %s, replayed at %.2fx%n", requests.size(),
+            requests.isEmpty() ? 0.0 : requests.get(requests.size() - 1).offsetMicros() / 1e6, logFile, speedUp);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EmployeeNexusApiApplication.class)
+            .run(
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--spring.main.banner-mode=off",
+                "--employee-nexus.traffic-record.enabled=false")) {
+            seed(context.getBean(JdbcTemplate.class), maxId);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            Map<String, List<Result>> results = replay(requests, "http://localhost:" + port, speedUp);
+            List<String> lines = report(results, recorded(requests));
+            Files.write(report, lines);
+            print(System.out, lines, baseline != null ? readReport(baseline) : Map.of());
+            System.out.println("report: " + report);
+        }
+    }
+
+    private static List<TrafficLog.Request> read(Path file) throws IOException {
+        List<TrafficLog.Request> requests = new ArrayList<>();
+        try (InputStream in = Files.newInputStream(file); TrafficLog.Reader reader = new TrafficLog.Reader(in)) {
+            for (TrafficLog.Request request = reader.next(); request != null; request = reader.next()) {
+                requests.add(request);
+            }
+        }
+        return requests;
+    }
+
+    /**
+     * Inserts employees {@code 1..maxId} and moves the id sequence past them.
+     */
+    private static void seed(JdbcTemplate jdbcTemplate, long maxId) {
+        if (maxId > 0) {
+            jdbcTemplate.update("INSERT INTO employees (id, name, department, version) "
+                + "SELECT X, 'Employee ' || X, 'Dept ' || MOD(X, 20), 0 FROM SYSTEM_RANGE(1, ?)", maxId);
+            jdbcTemplate.execute("ALTER TABLE employees ALTER COLUMN id RESTART WITH " + (maxId + 1));
+        }
+    }
+
+    private static Map<String, List<Result>> replay(List<TrafficLog.Request> requests, String baseUrl, double speedUp)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(executor)
+            .build();
+        Map<String, List<Result>> results = new ConcurrentHashMap<>();
+        List<CompletableFuture<?>> pending = new ArrayList<>(requests.size());
+        AtomicInteger skipped = new AtomicInteger();
+        long maxLagMicros = 0;
+        long start = System.nanoTime();
+        int sequence = 0;
+        for (TrafficLog.Request recorded : requests) {
+            HttpRequest request = toHttpRequest(recorded, baseUrl, sequence++);
+            if (request == null) {
+                skipped.incrementAndGet();
+                continue;
+            }
+            long due = start + (long) (recorded.offsetMicros() * 1_000 / speedUp);
+            long wait = due - System.nanoTime();
+            maxLagMicros = Math.max(maxLagMicros, -wait / 1_000);
+            while (wait > 0) {
+                LockSupport.parkNanos(wait);
+                wait = due - System.nanoTime();
+            }
+            pending.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, failure) -> {
+                    long latency = (System.nanoTime() - due) / 1_000;
+                    boolean error = failure != null || response.statusCode() >= 500;
+                    results.computeIfAbsent(recorded.endpoint(), key -> Collections.synchronizedList(new ArrayList<>()))
+                        .add(new Result(latency, error));
+                    return null;
+                }));
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+        System.out.printf("sent %d, skipped %d (body not reconstructable), max send lag %.1f ms%n",
+            pending.size(), skipped.get(), maxLagMicros / 1e3);
+        return results;
+    }
+
+    private static HttpRequest toHttpRequest(TrafficLog.Request recorded, String baseUrl, int sequence) {
+        String path = recorded.pattern();
+        if (recorded.id() != null) {
+            path = path.replace("{id}", recorded.id().toString());
+        }
+        if (path.contains("{")) {
+            return null;
+        }
+        StringBuilder uri = new StringBuilder(baseUrl).append(path);
+        char separator = '?';
+        for (Map.Entry<String, String> parameter : recorded.parameters().entrySet()) {
+            uri.append(separator).append(parameter.getKey()).append('=')
+                .append(URLEncoder.encode(parameter.getValue(), StandardCharsets.UTF_8));
+            separator = '&';
+        }
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(uri.toString()))
+            .header("Authorization", AUTH)
+            .timeout(Duration.ofSeconds(30));
+        switch (recorded.method()) {
+            case "GET" -> builder.GET();
+            case "DELETE" -> builder.DELETE();
+            case "POST", "PUT" -> {
+                if (!recorded.pattern().endsWith("/employee") && !recorded.pattern().endsWith("/employee/{id}")) {
+                    return null;
+                }
+                String body = "{\"name\":\"Replayed " + sequence + "\",\"department\":\"Dept " + (sequence % 20) + "\"}";
+                builder.header("Content-Type", "application/json")
+                    .method(recorded.method(), HttpRequest.BodyPublishers.ofString(body));
+            }
+            default -> {
+                return null;
+            }
+        }
+        return builder.build();
+    }
+
+    private static Map<String, long[]> recorded(List<TrafficLog.Request> requests) {
+        Map<String, List<Long>> durations = new TreeMap<>();
+        for (TrafficLog.Request request : requests) {
+            durations.computeIfAbsent(request.endpoint(), key -> new ArrayList<>()).add(request.durationMicros());
+        }
+        Map<String, long[]> sorted = new TreeMap<>();
+        durations.forEach((endpoint, values) -> sorted.put(endpoint, sorted(values.stream().mapToLong(Long::longValue))));
+        return sorted;
+    }
+
+    private static List<String> report(Map<String, List<Result>> results, Map<String, long[]> recorded) {
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        new TreeMap<>(results).forEach((endpoint, endpointResults) -> {
+            // Every response has arrived, so the list is no longer written to.
+            long[] latencies = sorted(endpointResults.stream().mapToLong(Result::latencyMicros));
+            long errors = endpointResults.stream().filter(Result::error).count();
+            long[] original = recorded.getOrDefault(endpoint, new long[0]);
+            lines.add(String.join("\t", endpoint, String.valueOf(latencies.length), String.valueOf(errors),
+                millis(latencies, 0.50), millis(latencies, 0.90), millis(latencies, 0.99), millis(latencies, 1.0),
+                millis(original, 0.50), millis(original, 0.99)));
+        });
+        return lines;
+    }
+
+    private static long[] sorted(LongStream values) {
+        long[] array = values.toArray();
+        Arrays.sort(array);
+        return array;
+    }
+
+    private static String millis(long[] sortedMicros, double quantile) {
+        if (sortedMicros.length == 0) {
+            return "-";
+        }
+        int index = (int) Math.min(sortedMicros.length - 1, Math.ceil(quantile * sortedMicros.length) - 1);
+        return String.format(Locale.ROOT, "%.2f", sortedMicros[Math.max(0, index)] / 1e3);
+    }
+
+    private static Map<String, String[]> readReport(Path file) throws IOException {
+        Map<String, String[]> lines = new TreeMap<>();
+        for (String line : Files.readAllLines(file)) {
+            String[] columns = line.split("\t");
+            if (!line.equals(HEADER) && columns.length >= 6) {
+                lines.put(columns[0], columns);
+            }
+        }
+        return lines;
+    }
+
+    private static void print(PrintStream out, List<String> lines, Map<String, String[]> baseline) {
+        out.printf("%-42s %7s %6s %9s %9s %9s %9s %9s %9s%s%n", "endpoint", "count", "errors", "p50_ms", "p90_ms",
+            "p99_ms", "max_ms", "rec_p50", "rec_p99",
+            baseline.isEmpty() ? "" : String.format(" %12s %12s", "p50_vs_base", "p99_vs_base"));
+        for (String line : lines.subList(1, lines.size())) {
+            String[] columns = line.split("\t");
+            out.printf("%-42s %7s %6s %9s %9s %9s %9s %9s %9s", (Object[]) columns);
+            if (!baseline.isEmpty()) {
+                String[] base = baseline.get(columns[0]);
+                out.printf(" %12s %12s", change(columns[3], base, 3), change(columns[5], base, 5));
+            }
+            out.println();
+        }
+    }
+
+    private static String change(String current, String[] base, int column) {
+        if (base == null || base[column].equals("-") || current.equals("-")) {
+            return "new";
+        }
+        double before = Double.parseDouble(base[column]);
+        double after = Double.parseDouble(current);
+        return before == 0 ? "-" : String.format(Locale.ROOT, "%+.1f%%", (after - before) * 100 / before);
+    }
+}
@@ -0,0 +1,117 @@
+package com.bmo.repository;
+
+import com.bmo.dto.EmployeeDto;
+import com.bmo.dto.EmployeeField;
+import com.bmo.dto.EmployeeSort;
+import com.bmo.entity.EmployeeEntity;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class EmployeeRepositoryTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private EmployeeEntity first;
+
+    @BeforeEach
+    void setUp() {
+        first = employeeRepository.save(new EmployeeEntity(null, "Aarif Diwan", "Engineering", null));
+        employeeRepository.save(new EmployeeEntity(null, "John Doe", "HR", null));
+        employeeRepository.save(new EmployeeEntity(null, "Jane Roe", "Finance", null));
+    }
+
+    @Test
+    void givenSparseFieldset_whenFetchingPage_thenOnlySelectedFieldsArePopulated() {
+        // When
+        Page<EmployeeDto> page = employeeRepository.findAllProjected(
+            EnumSet.of(EmployeeField.ID, EmployeeField.NAME),
+            PageRequest.of(0, 2, Sort.by("name").ascending()));
+
+        // Then
+        assertEquals(3, page.getTotalElements());
+        assertEquals(2, page.getContent().size());
+        EmployeeDto employee = page.getContent().get(0);
+        assertEquals("Aarif Diwan", employee.name());
+        assertNotNull(employee.id());
+        assertNull(employee.department());
+        assertNull(employee.version());
+    }
+
+    @Test
+    void givenSortedPage_whenStreaming_thenRowsMatchThePageWithoutManagingEntities() {
+        // Given
+        PageRequest pageRequest = PageRequest.of(0, 2, EmployeeSort.parse(List.of("name,desc")));
+        EnumSet<EmployeeField> fields = EnumSet.of(EmployeeField.ID, EmployeeField.NAME);
+        List<EmployeeDto> expected = employeeRepository.findAllProjected(fields, pageRequest).getContent();
+        entityManager.clear();
+
+        // When
+        List<EmployeeDto> streamed;
+        try (Stream<EmployeeDto> rows = employeeRepository.streamProjected(fields, pageRequest)) {
+            streamed = rows.toList();
+        }
+
+        // Then
+        assertEquals(List.of("John Doe", "Jane Roe"), streamed.stream().map(EmployeeDto::name).toList());
+        assertEquals(expected, streamed);
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void givenSparseFieldset_whenFetchingById_thenOnlySelectedFieldsArePopulated() {
+        // When
+        Optional<EmployeeDto> employee = employeeRepository.findProjectedById(
+            first.getId(), EnumSet.of(EmployeeField.DEPARTMENT));
+
+        // Then
+        assertTrue(employee.isPresent());
+        assertEquals("Engineering", employee.get().department());
+        assertNull(employee.get().id());
+        assertNull(employee.get().name());
+    }
+
+    @Test
+    void givenCommonSortPlans_whenExplainingPageQuery_thenRowsAreReadInIndexOrder() {
+        // Given
+        entityManager.createNativeQuery("INSERT INTO employees (name, department, version) "
+            + "SELECT 'Employee ' || X, 'Dept ' || MOD(X, 20), 0 FROM SYSTEM_RANGE(1, 5000)").executeUpdate();
+        List<List<String>> commonSorts = List.of(
+            List.of("id,asc"), List.of("id,desc"),
+            List.of("name,asc"), List.of("name,desc"),
+            List.of("department,asc"), List.of("department,desc"),
+            List.of("department,asc", "name,asc"), List.of("department,desc", "name,desc"));
+
+        for (List<String> sort : commonSorts) {
+            StringJoiner orderBy = new StringJoiner(", ");
+            EmployeeSort.parse(sort).forEach(order -> orderBy.add(order.getProperty() + " " + order.getDirection()));
+
+            // When
+            String plan = (String) entityManager.createNativeQuery("EXPLAIN SELECT id, name, department, version"
+                + " FROM employees WHERE deleted_at IS NULL ORDER BY " + orderBy
+                + " OFFSET 100 ROWS FETCH FIRST 10 ROWS ONLY").getSingleResult();
+
+            // Then
+            assertTrue(plan.contains("/* index sorted */"), sort + " needs a sort: " + plan);
+        }
+    }
+}
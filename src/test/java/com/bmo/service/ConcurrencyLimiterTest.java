@@ -0,0 +1,53 @@
+package com.bmo.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void givenNoQueue_whenLimitIsReached_thenRejectAtOnce() {
+        // Given
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("bulk", 1, 0, Duration.ofSeconds(1), meterRegistry);
+        assertTrue(limiter.tryAcquire());
+
+        // When
+        long start = System.nanoTime();
+        boolean second = limiter.tryAcquire();
+
+        // Then
+        assertFalse(second);
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(1, limiter.active());
+        assertEquals(1.0, meterRegistry.get("bulkhead.calls").tag("outcome", "rejected").counter().count());
+    }
+
+    @Test
+    void givenQueue_whenPermitIsReleasedWhileWaiting_thenWaiterIsAdmitted() throws Exception {
+        // Given
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("interactive", 1, 1, Duration.ofSeconds(5), meterRegistry);
+        assertTrue(limiter.tryAcquire());
+
+        // When
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(limiter::tryAcquire);
+        while (meterRegistry.get("bulkhead.waiting").gauge().value() < 1) {
+            Thread.sleep(1);
+        }
+        boolean overQueue = limiter.tryAcquire();
+        limiter.release();
+
+        // Then
+        assertFalse(overQueue);
+        assertTrue(waiter.get(5, TimeUnit.SECONDS));
+        assertEquals(1, limiter.active());
+        assertEquals(1, meterRegistry.get("bulkhead.wait").timer().count());
+    }
+}
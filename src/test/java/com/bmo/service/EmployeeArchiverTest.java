@@ -0,0 +1,176 @@
+package com.bmo.service;
+
+import com.bmo.config.ArchiveProperties;
+import com.bmo.dto.EmployeeDto;
+import com.bmo.dto.EmployeeField;
+import com.bmo.dto.EmployeeSort;
+import com.bmo.entity.EmployeeEntity;
+import com.bmo.repository.EmployeeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class EmployeeArchiverTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private EmployeeEntity ada;
+    private EmployeeEntity grace;
+
+    @BeforeEach
+    void setUp() {
+        ada = employeeRepository.save(new EmployeeEntity(null, "Ada Lovelace", "Engineering", null));
+        grace = employeeRepository.save(new EmployeeEntity(null, "Grace Hopper", "Navy", null));
+        employeeRepository.save(new EmployeeEntity(null, "Alan Turing", "Research", null));
+        employeeRepository.flush();
+    }
+
+    @Test
+    void givenDeletedEmployee_whenReading_thenOnlyIncludeArchivedReadsFindIt() {
+        // Given
+        employeeRepository.deleteById(ada.getId());
+        employeeRepository.flush();
+
+        // When
+        long active = employeeRepository.count();
+        Page<EmployeeDto> all = employeeRepository.findAllIncludingArchived(
+            EmployeeField.ALL, PageRequest.of(0, 10, Sort.by("name")));
+
+        // Then
+        assertEquals(2, active);
+        assertTrue(employeeRepository.findById(ada.getId()).isEmpty());
+        assertEquals(1, rows("SELECT COUNT(*) FROM employees WHERE deleted_at IS NOT NULL"));
+        assertEquals(3, all.getTotalElements());
+        assertEquals("Ada Lovelace", all.getContent().get(0).name());
+        assertEquals("Engineering",
+            employeeRepository.findIncludingArchivedById(ada.getId(), EmployeeField.ALL).orElseThrow().department());
+    }
+
+    @Test
+    void givenDeletedEmployees_whenArchiving_thenRowsMoveToTheArchiveInBatches() throws InterruptedException {
+        // Given
+        employeeRepository.deleteById(ada.getId());
+        employeeRepository.deleteById(grace.getId());
+        employeeRepository.flush();
+        EmployeeArchiver archiver = new EmployeeArchiver(jdbcTemplate, transactionManager,
+            new ArchiveProperties(true, Duration.ofMinutes(1), Duration.ZERO, 1, 0), new SimpleMeterRegistry());
+
+        // When
+        long archived = archiver.archive();
+
+        // Then
+        assertEquals(2, archived);
+        assertEquals(1, rows("SELECT COUNT(*) FROM employees"));
+        assertEquals(2, rows("SELECT COUNT(*) FROM employees_archive"));
+        Page<EmployeeDto> all = employeeRepository.findAllIncludingArchived(
+            EmployeeField.ALL, PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "name")));
+        assertEquals(3, all.getTotalElements());
+        assertEquals(List.of("Grace Hopper", "Alan Turing"), all.getContent().stream().map(EmployeeDto::name).toList());
+        EmployeeDto archivedGrace = employeeRepository.findIncludingArchivedById(
+            grace.getId(), EnumSet.of(EmployeeField.NAME)).orElseThrow();
+        assertEquals("Grace Hopper", archivedGrace.name());
+        assertNull(archivedGrace.department());
+    }
+
+    @Test
+    void givenSparseFieldsetWithoutSortKeys_whenReadingIncludingArchived_thenOrderByTheUnselectedKeys() throws InterruptedException {
+        // Given
+        employeeRepository.deleteById(grace.getId());
+        employeeRepository.flush();
+        new EmployeeArchiver(jdbcTemplate, transactionManager,
+            new ArchiveProperties(true, Duration.ofMinutes(1), Duration.ZERO, 10, 0), new SimpleMeterRegistry()).archive();
+
+        // When
+        Page<EmployeeDto> byName = employeeRepository.findAllIncludingArchived(
+            EnumSet.of(EmployeeField.NAME), PageRequest.of(0, 2, EmployeeSort.parse(List.of("name,desc"))));
+        Page<EmployeeDto> byDepartment = employeeRepository.findAllIncludingArchived(
+            EnumSet.of(EmployeeField.ID), PageRequest.of(0, 10, EmployeeSort.parse(List.of("department,asc"))));
+
+        // Then
+        assertEquals(List.of("Grace Hopper", "Alan Turing"), byName.getContent().stream().map(EmployeeDto::name).toList());
+        assertTrue(byName.getContent().stream().allMatch(employee -> employee.id() == null));
+        assertEquals(List.of(ada.getId(), grace.getId()), byDepartment.getContent().stream()
+            .map(EmployeeDto::id).toList().subList(0, 2));
+        assertNull(byDepartment.getContent().get(0).department());
+        assertEquals(3, byDepartment.getTotalElements());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void givenAnotherInstanceMovingTheSameRows_whenArchiving_thenWaitForItAndSkipThem() throws Exception {
+        // Given
+        employeeRepository.deleteById(ada.getId());
+        EmployeeArchiver archiver = new EmployeeArchiver(jdbcTemplate, transactionManager,
+            new ArchiveProperties(true, Duration.ofMinutes(1), Duration.ZERO, 10, 0), new SimpleMeterRegistry());
+        try (Connection otherInstance = dataSource.getConnection(); Statement statement = otherInstance.createStatement()) {
+            otherInstance.setAutoCommit(false);
+            statement.executeQuery("SELECT id FROM employees WHERE deleted_at IS NOT NULL FOR UPDATE").close();
+            statement.executeUpdate("INSERT INTO employees_archive (id, name, department, version, deleted_at, archived_at) "
+                + "SELECT id, name, department, version, deleted_at, LOCALTIMESTAMP FROM employees WHERE deleted_at IS NOT NULL");
+            statement.executeUpdate("DELETE FROM employees WHERE deleted_at IS NOT NULL");
+
+            // When
+            AtomicReference<Thread> worker = new AtomicReference<>();
+            CompletableFuture<Long> archived = CompletableFuture.supplyAsync(() -> {
+                worker.set(Thread.currentThread());
+                try {
+                    return archiver.archive();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while ((worker.get() == null || worker.get().getState() == Thread.State.RUNNABLE)
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            otherInstance.commit();
+
+            // Then
+            assertEquals(0, archived.get(5, TimeUnit.SECONDS));
+            assertEquals(2, rows("SELECT COUNT(*) FROM employees"));
+            assertEquals(1, rows("SELECT COUNT(*) FROM employees_archive"));
+        } finally {
+            jdbcTemplate.update("DELETE FROM employees_archive", Map.of());
+            jdbcTemplate.update("DELETE FROM employees", Map.of());
+        }
+    }
+
+    private long rows(String sql) {
+        return jdbcTemplate.queryForObject(sql, Map.of(), Long.class);
+    }
+}
@@ -0,0 +1,114 @@
+package com.bmo.service;
+
+import com.bmo.config.AuditProperties;
+import com.bmo.config.AuditProperties.Overflow;
+import com.bmo.dto.EmployeeDto;
+import com.bmo.event.EmployeeChangedEvent;
+import com.bmo.event.EmployeeChangedEvent.ChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "employee-nexus.audit.flush-interval=10ms")
+class EmployeeAuditTrailTest {
+
+    private static final String SELECT_RECORDS = "SELECT change_type, principal, old_version, new_version, changed_fields "
+        + "FROM employee_audit WHERE employee_id = ? ORDER BY id";
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @WithMockUser(username = "auditor")
+    void givenCommittedMutations_whenTheWriterCatchesUp_thenEachIsRecordedWithPrincipalAndVersions()
+            throws InterruptedException {
+        // Given
+        EmployeeDto created = employeeService.createEmployee(new EmployeeDto(null, "Ada Lovelace", "Engineering", null));
+        employeeService.updateEmployee(created.id(), new EmployeeDto(created.id(), "Ada King", "Engineering", 0L));
+        employeeService.deleteEmployee(created.id());
+
+        // When
+        List<Map<String, Object>> records = awaitRecords(created.id(), 3);
+
+        // Then
+        assertEquals(3, records.size());
+        assertEquals("CREATED", records.get(0).get("CHANGE_TYPE"));
+        assertNull(records.get(0).get("OLD_VERSION"));
+        assertEquals(0L, records.get(0).get("NEW_VERSION"));
+        assertEquals("UPDATED", records.get(1).get("CHANGE_TYPE"));
+        assertEquals(0L, records.get(1).get("OLD_VERSION"));
+        assertEquals(1L, records.get(1).get("NEW_VERSION"));
+        assertEquals("name", records.get(1).get("CHANGED_FIELDS"));
+        assertEquals("DELETED", records.get(2).get("CHANGE_TYPE"));
+        assertEquals(1L, records.get(2).get("OLD_VERSION"));
+        assertNull(records.get(2).get("NEW_VERSION"));
+        assertTrue(records.stream().allMatch(record -> "auditor".equals(record.get("PRINCIPAL"))));
+    }
+
+    @Test
+    void givenBufferedRecords_whenStopping_thenTheyAreWrittenBeforeStopReturns() throws InterruptedException {
+        // Given
+        AuditProperties properties = new AuditProperties(true, 16, 100, Duration.ofHours(1), Overflow.BLOCK,
+            Duration.ofMillis(50), Duration.ofSeconds(5));
+        EmployeeAuditTrail trail = new EmployeeAuditTrail(jdbcTemplate, transactionManager, properties,
+            new SimpleMeterRegistry());
+        trail.start();
+        awaitIdle(trail.writerThread());
+        for (long id = 900_001; id <= 900_005; id++) {
+            trail.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.UPDATED, id, 3L, 4L, Set.of("department"), null));
+        }
+        assertEquals(0, countRecords(900_001, 900_005));
+
+        // When
+        trail.stop();
+
+        // Then
+        assertEquals(5, countRecords(900_001, 900_005));
+        assertEquals(EmployeeAuditTrail.SYSTEM_PRINCIPAL, jdbcTemplate.queryForObject(
+            "SELECT principal FROM employee_audit WHERE employee_id = 900001", String.class));
+    }
+
+    private List<Map<String, Object>> awaitRecords(Long employeeId, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        List<Map<String, Object>> records = jdbcTemplate.queryForList(SELECT_RECORDS, employeeId);
+        while (records.size() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            records = jdbcTemplate.queryForList(SELECT_RECORDS, employeeId);
+        }
+        return records;
+    }
+
+    /**
+     * Waits until the writer has parked after its first drain, so records offered from here on
+     * stay buffered until the flush interval or stop.
+     */
+    private static void awaitIdle(Thread writer) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (writer.getState() != Thread.State.TIMED_WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+        private int countRecords(long fromId, long toId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employee_audit WHERE employee_id BETWEEN ? AND ?",
+            Integer.class, fromId, toId);
+    }
+}
@@ -0,0 +1,72 @@
+package com.bmo.service;
+
+import com.bmo.config.EmployeeCacheProperties;
+import com.bmo.dto.EmployeeDto;
+import com.bmo.event.EmployeeChangedEvent;
+import com.bmo.event.EmployeeChangedEvent.ChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeCacheTest {
+
+    private final EmployeeCache cache = new EmployeeCache(new EmployeeCacheProperties(true, 100, 100),
+        new SimpleMeterRegistry());
+
+    @Test
+    void givenCachedPages_whenAnEmployeeIsRenamed_thenOnlyPagesHoldingItOrSortedByNameAreEvicted() {
+        // Given
+        Pageable firstById = PageRequest.of(0, 2, Sort.by("id"));
+        Pageable secondById = PageRequest.of(1, 2, Sort.by("id"));
+        Pageable firstByName = PageRequest.of(0, 2, Sort.by("name"));
+        Pageable firstByDepartment = PageRequest.of(0, 2, Sort.by("department"));
+        long generation = cache.generation();
+        cache.putPage(firstById, page(firstById, 1L, 2L), generation);
+        cache.putPage(secondById, page(secondById, 3L, 4L), generation);
+        cache.putPage(firstByName, page(firstByName, 4L, 2L), generation);
+        cache.putPage(firstByDepartment, page(firstByDepartment, 2L, 1L), generation);
+
+        // When
+        cache.evict(new EmployeeChangedEvent(ChangeType.UPDATED, 3L, 0L, 1L, Set.of("name"),
+            new EmployeeDto(3L, "Renamed", "HR", 1L)));
+
+        // Then
+        assertNotNull(cache.getPage(firstById));
+        assertNull(cache.getPage(secondById));
+        assertNull(cache.getPage(firstByName));
+        assertNotNull(cache.getPage(firstByDepartment));
+    }
+
+    @Test
+    void givenLoadStartedBeforeAChange_whenStoring_thenTheLoadedValueIsDropped() {
+        // Given
+        long generation = cache.generation();
+        EmployeeDto loaded = new EmployeeDto(1L, "Before", "HR", 0L);
+
+        // When
+        cache.evict(new EmployeeChangedEvent(ChangeType.UPDATED, 1L, 0L, 1L, Set.of("name"), null));
+        cache.put(loaded, generation);
+
+        // Then
+        assertNull(cache.get(1L));
+        cache.put(loaded, cache.generation());
+        assertEquals(loaded, cache.get(1L));
+    }
+
+    private static Page<EmployeeDto> page(Pageable pageable, Long... ids) {
+        List<EmployeeDto> content = Arrays.stream(ids)
+            .map(id -> new EmployeeDto(id, "Employee " + id, "HR", 0L))
+            .toList();
+        return new PageImpl<>(content, pageable, 4);
+    }
+}
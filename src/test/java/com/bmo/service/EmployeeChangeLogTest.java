@@ -0,0 +1,186 @@
+package com.bmo.service;
+
+import com.bmo.config.ChangeLogProperties;
+import com.bmo.dto.EmployeeDto;
+import com.bmo.event.EmployeesChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Plays the other instance by writing to the shared tables directly, the way its
+ * {@link EmployeeChangeLog} would.
+ */
+@SpringBootTest(properties = {
+    "employee-nexus.change-log.enabled=true",
+    "employee-nexus.change-log.poll-interval=50ms",
+    "employee-nexus.cache.enabled=true"
+})
+class EmployeeChangeLogTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeChangeLog changeLog;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void givenLocalWrites_whenCommitted_thenEachIsLoggedWithThisInstanceAsOrigin() {
+        // When
+        EmployeeDto created = employeeService.createEmployee(new EmployeeDto(null, "Ada Lovelace", "Engineering", null));
+        employeeService.updateEmployee(created.id(), new EmployeeDto(created.id(), "Ada King", "Engineering", 0L));
+
+        // Then
+        List<Map<String, Object>> entries = jdbcTemplate.queryForList(
+            "SELECT change_type, version, changed_fields, origin FROM employee_change_log WHERE employee_id = ? ORDER BY seq",
+            created.id());
+        assertEquals(2, entries.size());
+        assertEquals("CREATED", entries.get(0).get("CHANGE_TYPE"));
+        assertEquals("UPDATED", entries.get(1).get("CHANGE_TYPE"));
+        assertEquals(1L, entries.get(1).get("VERSION"));
+        assertEquals("name", entries.get(1).get("CHANGED_FIELDS"));
+        assertEquals(changeLog.nodeId(), entries.get(1).get("ORIGIN"));
+    }
+
+    @Test
+    void givenCachedEmployee_whenAnotherInstanceUpdatesIt_thenTheCachedCopyIsReplacedWithinThePollInterval()
+            throws InterruptedException {
+        // Given
+        EmployeeDto created = employeeService.createEmployee(new EmployeeDto(null, "Grace Hopper", "Navy", null));
+        employeeService.getEmployeeById(created.id());
+        double hitsBefore = meterRegistry.get("employee.cache.requests").tag("result", "hit").counter().count();
+        assertEquals("Grace Hopper", employeeService.getEmployeeById(created.id()).name());
+        assertEquals(hitsBefore + 1, meterRegistry.get("employee.cache.requests").tag("result", "hit").counter().count());
+        long lagsBefore = meterRegistry.get("employee.changelog.lag").timer().count();
+
+        // When
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE employees SET name = 'Grace Brewster Hopper', version = version + 1 WHERE id = ?",
+                created.id());
+            jdbcTemplate.update("INSERT INTO employee_change_log (employee_id, change_type, version, changed_fields, "
+                + "origin, changed_at) VALUES (?, 'UPDATED', 1, 'name', 'other-instance', LOCALTIMESTAMP)", created.id());
+        });
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        EmployeeDto seen = employeeService.getEmployeeById(created.id());
+        while (!seen.name().equals("Grace Brewster Hopper") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            seen = employeeService.getEmployeeById(created.id());
+        }
+
+        // Then
+        assertEquals("Grace Brewster Hopper", seen.name());
+        assertEquals(1L, seen.version());
+        assertTrue(changeLog.isCurrent());
+        assertEquals(lagsBefore + 1, meterRegistry.get("employee.changelog.lag").timer().count());
+    }
+
+    @Test
+    void givenBacklogLongerThanOneBatch_whenPolling_thenEveryEntryIsAppliedInThatPoll() throws SQLException {
+        // Given
+        List<Long> applied = new ArrayList<>();
+        EmployeeChangeLog tailer = tailer(applied);
+        List<Long> ids = createEmployees(5);
+        tailer.poll();
+        try (Connection otherInstance = dataSource.getConnection()) {
+            for (Long id : ids) {
+                logRemoteUpdate(otherInstance, id);
+            }
+        }
+        applied.clear();
+
+        // When
+        tailer.poll();
+
+        // Then
+        assertEquals(ids, applied);
+    }
+
+    @Test
+    void givenEntryStillInFlight_whenPolling_thenLaterEntriesAreAppliedAndItFollowsOnceCommitted() throws SQLException {
+        // Given
+        List<Long> applied = new ArrayList<>();
+        EmployeeChangeLog tailer = tailer(applied);
+        List<Long> ids = createEmployees(6);
+        tailer.poll();
+        try (Connection inFlight = dataSource.getConnection(); Connection otherInstance = dataSource.getConnection()) {
+            inFlight.setAutoCommit(false);
+            logRemoteUpdate(inFlight, ids.get(0));
+            for (Long id : ids.subList(1, ids.size())) {
+                logRemoteUpdate(otherInstance, id);
+            }
+            applied.clear();
+
+            // When
+            tailer.poll();
+            List<Long> beforeCommit = new ArrayList<>(applied);
+            inFlight.commit();
+            applied.clear();
+            tailer.poll();
+
+            // Then
+            assertEquals(ids.subList(1, ids.size()), beforeCommit);
+            assertEquals(List.of(ids.get(0)), applied);
+        }
+    }
+
+    /**
+     * A second tailer reading two entries per query, that records the ids it applies.
+     */
+    private EmployeeChangeLog tailer(List<Long> applied) {
+        ChangeLogProperties properties = new ChangeLogProperties(true, Duration.ofMillis(50), Duration.ofSeconds(2), 2,
+            Duration.ofSeconds(10), Duration.ofMinutes(10));
+        return new EmployeeChangeLog(jdbcTemplate, namedJdbcTemplate,
+            event -> ((EmployeesChangedEvent) event).changes().forEach(change -> applied.add(change.employeeId())),
+            properties, new SimpleMeterRegistry());
+    }
+
+    private List<Long> createEmployees(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(employeeService.createEmployee(new EmployeeDto(null, "Employee " + i, "Backlog", null)).id());
+        }
+        return ids;
+    }
+
+    private static void logRemoteUpdate(Connection connection, Long employeeId) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO employee_change_log (employee_id, "
+            + "change_type, version, changed_fields, origin, changed_at) VALUES (?, 'UPDATED', 1, 'name', "
+            + "'other-instance', LOCALTIMESTAMP)")) {
+            insert.setLong(1, employeeId);
+            insert.executeUpdate();
+        }
+    }
+}
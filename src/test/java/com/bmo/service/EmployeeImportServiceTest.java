@@ -0,0 +1,151 @@
+package com.bmo.service;
+
+import com.bmo.dto.ImportFormat;
+import com.bmo.dto.ImportJobDto;
+import com.bmo.exception.ImportJobConflictException;
+import com.bmo.exception.InvalidImportException;
+import com.bmo.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "employee-nexus.import.chunk-size=2")
+class EmployeeImportServiceTest {
+
+    private static final String CSV = """
+        name,department
+        Ada Lovelace,Engineering
+        "Hopper, Grace",Engineering
+        Alan Turing,Research
+        Linus,IT
+        Barbara Liskov,Research
+        Ken Thompson,Systems
+        """;
+
+    @Autowired
+    private EmployeeImportService employeeImportService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Delivers the first {@code limit} bytes, then fails like a dropped connection.
+     */
+    private static InputStream brokenAfter(String content, int limit) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8), 0, limit) {
+            @Override
+            public synchronized int read(byte[] buffer, int offset, int length) {
+                int read = super.read(buffer, offset, length);
+                if (read < 0) {
+                    throw new java.io.UncheckedIOException(new IOException("Connection reset"));
+                }
+                return read;
+            }
+        };
+    }
+
+    @Test
+    void givenCsvWithInvalidRows_whenImporting_thenImportValidRowsAndReportRejectedLines() {
+        // Given
+        String csv = """
+            name,department
+            Ada Lovelace,Engineering
+
+            ,Engineering
+            "Hopper, Grace",X
+            "Unterminated,Engineering
+            Alan Turing,Research
+            """;
+
+        // When
+        ImportJobDto job = employeeImportService.importEmployees(body(csv), ImportFormat.CSV, null);
+
+        // Then
+        assertEquals("COMPLETED", job.status());
+        assertEquals(2, job.importedRows());
+        assertEquals(3, job.rejectedRows());
+        assertEquals(7, job.committedLine());
+        assertEquals(2, employeeRepository.count());
+        assertEquals(List.of(4L, 5L, 6L), job.rejections().stream().map(ImportJobDto.RejectedRowDto::line).toList());
+        assertTrue(job.rejections().get(0).reason().contains("name: Name is required"));
+        assertEquals("Unterminated quoted field", job.rejections().get(2).reason());
+    }
+
+    @Test
+    void givenNdjson_whenImporting_thenParseEachLineAsAnEmployee() {
+        // Given
+        String ndjson = """
+            {"name":"Ada Lovelace","department":"Engineering"}
+            {"name":"Alan Turing","department":"Research","id":99}
+            {"name":
+            """;
+
+        // When
+        ImportJobDto job = employeeImportService.importEmployees(body(ndjson), ImportFormat.NDJSON, null);
+
+        // Then
+        assertEquals(2, job.importedRows());
+        assertEquals(1, job.rejectedRows());
+        assertTrue(job.rejections().get(0).reason().startsWith("Malformed JSON"));
+        assertFalse(employeeRepository.existsById(99L));
+    }
+
+    @Test
+    void givenInterruptedImport_whenResumedWithSameJobId_thenContinueAfterLastCommittedChunk() {
+        // Given: the connection drops in the middle of line 6, after two chunks of two rows were committed
+        String jobId = UUID.randomUUID().toString();
+        int cut = CSV.indexOf("Barbara") + 3;
+        ImportJobDto interrupted = employeeImportService.importEmployees(brokenAfter(CSV, cut), ImportFormat.CSV, jobId);
+        assertEquals("FAILED", interrupted.status());
+        assertEquals(5, interrupted.committedLine());
+        assertEquals(4, employeeRepository.count());
+
+        // When
+        ImportJobDto resumed = employeeImportService.importEmployees(body(CSV), ImportFormat.CSV, jobId);
+
+        // Then
+        assertEquals("COMPLETED", resumed.status());
+        assertEquals(6, resumed.importedRows());
+        assertEquals(6, employeeRepository.count());
+        assertNull(resumed.error());
+    }
+
+    @Test
+    void givenCompletedJob_whenImportingAgain_thenRejectAsConflict() {
+        // Given
+        String jobId = UUID.randomUUID().toString();
+        employeeImportService.importEmployees(body(CSV), ImportFormat.CSV, jobId);
+
+        // When/Then
+        assertThrows(ImportJobConflictException.class,
+            () -> employeeImportService.importEmployees(body(CSV), ImportFormat.CSV, jobId));
+        assertEquals(6, employeeRepository.count());
+    }
+
+    @Test
+    void givenCsvWithoutRequiredColumns_whenImporting_thenThrowInvalidImportException() {
+        // When/Then
+        assertThrows(InvalidImportException.class,
+            () -> employeeImportService.importEmployees(body("first,last\nAda,Lovelace\n"), ImportFormat.CSV, null));
+        assertEquals(0, employeeRepository.count());
+    }
+}
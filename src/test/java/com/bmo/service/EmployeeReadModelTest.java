@@ -0,0 +1,190 @@
+package com.bmo.service;
+
+import com.bmo.dto.EmployeeDto;
+import com.bmo.dto.EmployeeField;
+import com.bmo.event.EmployeeChangedEvent;
+import com.bmo.event.EmployeeChangedEvent.ChangeType;
+import com.bmo.event.EmployeesChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeReadModelTest {
+
+    private EmployeeReadModel readModel;
+
+    @BeforeEach
+    void setUp() {
+        readModel = new EmployeeReadModel(new SimpleMeterRegistry());
+    }
+
+    private void load(EmployeeDto... employees) {
+        readModel.rebuild(employees.length, Stream.of(employees));
+    }
+
+    private List<Long> ids(PageRequest pageRequest) {
+        return readModel.findPage(pageRequest).orElseThrow().getContent().stream()
+            .map(EmployeeDto::id)
+            .toList();
+    }
+
+    private static EmployeeChangedEvent changed(ChangeType type, EmployeeDto employee) {
+        return new EmployeeChangedEvent(type, employee.id(), null, employee.version(), Set.of(), employee);
+    }
+
+    @Test
+    void givenEqualNames_whenPagingByName_thenOrderByNameThenId() {
+        // Given
+        load(
+            new EmployeeDto(1L, "Zoe", "HR", 0L),
+            new EmployeeDto(2L, "Adam", "Sales", 0L),
+            new EmployeeDto(3L, "Adam", "Engineering", 0L),
+            new EmployeeDto(4L, "Mia", "HR", 0L)
+        );
+
+        // When/Then
+        assertEquals(List.of(2L, 3L, 4L, 1L), ids(PageRequest.of(0, 10, Sort.by("name").ascending())));
+        assertEquals(List.of(4L, 1L), ids(PageRequest.of(1, 2, Sort.by("name").ascending())));
+        assertEquals(List.of(1L, 4L, 3L, 2L), ids(PageRequest.of(0, 10, Sort.by("name").descending())));
+    }
+
+    @Test
+    void givenLoadedModel_whenPagingPastTheEnd_thenReturnEmptyContentWithTotal() {
+        // Given
+        load(new EmployeeDto(1L, "Zoe", "HR", 0L));
+
+        // When
+        Page<EmployeeDto> page = readModel.findPage(PageRequest.of(5, 10)).orElseThrow();
+
+        // Then
+        assertTrue(page.getContent().isEmpty());
+        assertEquals(1, page.getTotalElements());
+    }
+
+    @Test
+    void givenCommittedUpdate_whenPagingByDepartment_thenEmployeeMovesToItsNewPosition() {
+        // Given
+        load(
+            new EmployeeDto(1L, "Zoe", "Engineering", 0L),
+            new EmployeeDto(2L, "Adam", "HR", 0L),
+            new EmployeeDto(3L, "Mia", "Sales", 0L)
+        );
+
+        // When
+        readModel.onEmployeeChanged(changed(ChangeType.UPDATED, new EmployeeDto(1L, "Zoe", "Support", 1L)));
+
+        // Then
+        Page<EmployeeDto> page = readModel.findPage(PageRequest.of(0, 10, Sort.by("department"))).orElseThrow();
+        assertEquals(List.of(2L, 3L, 1L), page.getContent().stream().map(EmployeeDto::id).toList());
+        assertEquals("Support", page.getContent().get(2).department());
+        assertEquals(1L, page.getContent().get(2).version());
+    }
+
+    @Test
+    void givenCreateAndDelete_whenPaging_thenTotalsAndOrderFollow() {
+        // Given
+        load(
+            new EmployeeDto(1L, "Zoe", "HR", 0L),
+            new EmployeeDto(2L, "Adam", "HR", 0L)
+        );
+
+        // When
+        readModel.onEmployeeChanged(changed(ChangeType.CREATED, new EmployeeDto(3L, "Bea", "HR", 0L)));
+        readModel.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.DELETED, 1L, null, null, Set.of(), null));
+
+        // Then
+        assertEquals(List.of(2L, 3L), ids(PageRequest.of(0, 10, Sort.by("name"))));
+        assertEquals(List.of(3L, 2L), ids(PageRequest.of(0, 10, Sort.by("id").descending())));
+        assertEquals(2, readModel.size());
+    }
+
+    @Test
+    void givenImportedBatch_whenPaging_thenNewEmployeesAreMergedIntoEveryOrder() {
+        // Given
+        load(
+            new EmployeeDto(1L, "Mia", "HR", 0L),
+            new EmployeeDto(2L, "Adam", "Sales", 0L),
+            new EmployeeDto(3L, "Zoe", "Engineering", 0L)
+        );
+
+        // When: creates interleave with the existing rows, and a delete splits the batch in two runs
+        readModel.onEmployeesChanged(new EmployeesChangedEvent(List.of(
+            changed(ChangeType.CREATED, new EmployeeDto(5L, "Bea", "Research", 0L)),
+            changed(ChangeType.CREATED, new EmployeeDto(4L, "Nina", "Engineering", 0L)),
+            new EmployeeChangedEvent(ChangeType.DELETED, 2L, null, null, Set.of(), null),
+            changed(ChangeType.CREATED, new EmployeeDto(6L, "Adam", "HR", 0L)),
+            changed(ChangeType.CREATED, new EmployeeDto(1L, "Mia", "HR", 0L)))));
+
+        // Then
+        assertEquals(5, readModel.size());
+        assertEquals(List.of(1L, 3L, 4L, 5L, 6L), ids(PageRequest.of(0, 10)));
+        assertEquals(List.of(6L, 5L, 1L, 4L, 3L), ids(PageRequest.of(0, 10, Sort.by("name"))));
+        assertEquals(List.of(5L, 6L, 1L, 4L, 3L), ids(PageRequest.of(0, 10, Sort.by("department").descending())));
+    }
+
+    @Test
+    void givenEventsBeforeLoad_whenRebuilt_thenReplayThemOverTheSnapshot() {
+        // Given: a create already contained in the snapshot, and a delete that committed after it was read
+        readModel.onEmployeeChanged(changed(ChangeType.CREATED, new EmployeeDto(2L, "Adam", "HR", 0L)));
+        readModel.onEmployeeChanged(new EmployeeChangedEvent(ChangeType.DELETED, 1L, null, null, Set.of(), null));
+        assertTrue(readModel.findPage(PageRequest.of(0, 10)).isEmpty());
+
+        // When
+        load(
+            new EmployeeDto(1L, "Zoe", "HR", 0L),
+            new EmployeeDto(2L, "Adam Smith", "HR", 1L)
+        );
+
+        // Then
+        Page<EmployeeDto> page = readModel.findPage(PageRequest.of(0, 10)).orElseThrow();
+        assertEquals(1, page.getTotalElements());
+        assertEquals("Adam Smith", page.getContent().get(0).name());
+    }
+
+    @Test
+    void givenSparseFieldset_whenPaging_thenOnlySelectedFieldsArePopulated() {
+        // Given
+        load(new EmployeeDto(1L, "Zoe", "HR", 3L));
+
+        // When
+        EmployeeDto employee = readModel.findPage(PageRequest.of(0, 10), EnumSet.of(EmployeeField.ID, EmployeeField.NAME))
+            .orElseThrow().getContent().get(0);
+
+        // Then
+        assertEquals(new EmployeeDto(1L, "Zoe", null, null), employee);
+    }
+
+    @Test
+    void givenMultiPropertySort_whenPaging_thenFallBackToTheDatabase() {
+        // Given
+        load(new EmployeeDto(1L, "Zoe", "HR", 0L));
+
+        // When/Then
+        assertTrue(readModel.findPage(PageRequest.of(0, 10, Sort.by("department", "name"))).isEmpty());
+    }
+
+    @Test
+    void givenSortTieBrokenById_whenPaging_thenServeItFromTheModel() {
+        // Given
+        load(
+            new EmployeeDto(1L, "Zoe", "HR", 0L),
+            new EmployeeDto(2L, "Adam", "HR", 0L),
+            new EmployeeDto(3L, "Adam", "IT", 0L)
+        );
+
+        // When/Then
+        assertEquals(List.of(3L, 2L, 1L), ids(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "department", "id"))));
+        assertTrue(readModel.findPage(PageRequest.of(0, 10,
+            Sort.by(Sort.Order.desc("department"), Sort.Order.asc("id")))).isEmpty());
+    }
+}
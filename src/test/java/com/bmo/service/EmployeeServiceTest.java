@@ -1,24 +1,35 @@
 package com.bmo.service;
 
+import com.bmo.config.BatchLookupProperties;
+import com.bmo.config.EmployeeCacheProperties;
+import com.bmo.config.UpdateRetryProperties;
+import com.bmo.dto.EmployeeBatchResponseDto;
 import com.bmo.dto.EmployeeDto;
 import com.bmo.entity.EmployeeEntity;
+import com.bmo.exception.BatchTooLargeException;
 import com.bmo.exception.EmployeeNotFoundException;
+import com.bmo.monitoring.UpdateConflictTracker;
 import com.bmo.repository.EmployeeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,7 +38,13 @@ class EmployeeServiceTest {
     @Mock
     private EmployeeRepository employeeRepository;
 
-    @InjectMocks
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private UpdateConflictTracker conflictTracker;
     private EmployeeService employeeService;
 
     private EmployeeEntity testEntity;
@@ -35,12 +52,37 @@ class EmployeeServiceTest {
 
     @BeforeEach
     void setUp() {
+        conflictTracker = new UpdateConflictTracker(new SimpleMeterRegistry());
+        employeeService = serviceWithRetries(1);
         testEntity = new EmployeeEntity(1L, "Aarif Diwan", "Engineering", 1L);
         testDto = new EmployeeDto(1L, "Aarif Diwan", "Engineering", 1L);
     }
 
 
 
+    private EmployeeService serviceWithRetries(int maxAttempts) {
+        return service(maxAttempts, null);
+    }
+
+    private EmployeeService service(int maxAttempts, EmployeeReadModel readModel) {
+        return service(maxAttempts, readModel, null);
+    }
+
+    private EmployeeService service(int maxAttempts, EmployeeReadModel readModel, EmployeeCache cache) {
+        return new EmployeeService(
+            employeeRepository,
+            transactionManager,
+            new UpdateRetryProperties(maxAttempts, Duration.ZERO, Duration.ZERO),
+            conflictTracker,
+            eventPublisher,
+            new SimpleMeterRegistry(),
+            new BatchLookupProperties(2, 10),
+            readModel,
+            cache,
+            null
+        );
+    }
+
     @Test
     void givenEmployeeIdExists_whenFetchingEmployeeDetails_thenReturnEmployeeSummary() {
         // Given
@@ -115,27 +157,26 @@ class EmployeeServiceTest {
     @Test
     void givenExistingEmployee_whenDeletingEmployee_thenRemoveSuccessfully() {
         // Given
-        when(employeeRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(employeeRepository).deleteById(1L);
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEntity));
 
         // When
         employeeService.deleteEmployee(1L);
 
         // Then
-        verify(employeeRepository).existsById(1L);
-        verify(employeeRepository).deleteById(1L);
+        verify(employeeRepository).findById(1L);
+        verify(employeeRepository).delete(testEntity);
     }
 
     @Test
     void givenNonExistingEmployee_whenDeletingEmployee_thenThrowNotFoundException() {
         // Given
-        when(employeeRepository.existsById(1L)).thenReturn(false);
+        when(employeeRepository.findById(1L)).thenReturn(Optional.empty());
 
         // When/Then
         assertThrows(EmployeeNotFoundException.class,
                 () -> employeeService.deleteEmployee(1L));
-        verify(employeeRepository).existsById(1L);
-        verify(employeeRepository, never()).deleteById(anyLong());
+        verify(employeeRepository).findById(1L);
+        verify(employeeRepository, never()).delete(any(EmployeeEntity.class));
     }
 
     @Test
@@ -198,6 +239,24 @@ class EmployeeServiceTest {
         verify(employeeRepository).findAll(any(Pageable.class));
     }
 
+    @Test
+    void givenReadModelLoaded_whenFetchingAllEmployees_thenServeWithoutRepository() {
+        // Given
+        EmployeeReadModel readModel = new EmployeeReadModel(new SimpleMeterRegistry());
+        readModel.rebuild(2, Stream.of(testDto, new EmployeeDto(2L, "John Doe", "HR", 1L)));
+        employeeService = service(1, readModel);
+
+        // When
+        Page<EmployeeDto> result = employeeService.getAllEmployees(
+            PageRequest.of(0, 10, Sort.by("department").descending())
+        );
+
+        // Then
+        assertEquals(2, result.getTotalElements());
+        assertEquals(List.of(2L, 1L), result.getContent().stream().map(EmployeeDto::id).toList());
+        verifyNoInteractions(employeeRepository);
+    }
+
     @Test
     void givenEmployees_whenFetchingWithCustomPageSize_thenReturnCorrectPageSize() {
         // Given
@@ -254,4 +313,99 @@ class EmployeeServiceTest {
         verify(employeeRepository, times(2)).save(any(EmployeeEntity.class));
     }
 
+    @Test
+    void givenConflictOnUntouchedField_whenUpdatingWithRetries_thenReapplyOnFreshRead() {
+        // Given
+        employeeService = serviceWithRetries(3);
+        EmployeeEntity firstRead = new EmployeeEntity(1L, "Original Name", "Engineering", 1L);
+        // The winning write moved the employee to another department
+        EmployeeEntity secondRead = new EmployeeEntity(1L, "Original Name", "Finance", 2L);
+        when(employeeRepository.findById(1L))
+            .thenReturn(Optional.of(firstRead))
+            .thenReturn(Optional.of(secondRead));
+        when(employeeRepository.save(any(EmployeeEntity.class)))
+            .thenThrow(new ObjectOptimisticLockingFailureException(EmployeeEntity.class, 1L))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        EmployeeDto result = employeeService.updateEmployee(1L,
+            new EmployeeDto(1L, "Renamed", "Engineering", 1L));
+
+        // Then
+        assertEquals("Renamed", result.name());
+        assertEquals("Finance", result.department());
+        verify(employeeRepository, times(2)).save(any(EmployeeEntity.class));
+        assertEquals(1, conflictTracker.report(10).resolved());
+        assertEquals(1L, conflictTracker.report(10).hotKeys().get(0).id());
+    }
+
+    @Test
+    void givenConflictOnSameField_whenUpdatingWithRetries_thenThrowWithoutReapplying() {
+        // Given
+        employeeService = serviceWithRetries(3);
+        EmployeeEntity firstRead = new EmployeeEntity(1L, "Original Name", "Engineering", 1L);
+        EmployeeEntity secondRead = new EmployeeEntity(1L, "Someone Else", "Engineering", 2L);
+        when(employeeRepository.findById(1L))
+            .thenReturn(Optional.of(firstRead))
+            .thenReturn(Optional.of(secondRead));
+        when(employeeRepository.save(any(EmployeeEntity.class)))
+            .thenThrow(new ObjectOptimisticLockingFailureException(EmployeeEntity.class, 1L));
+
+        // When/Then
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+            () -> employeeService.updateEmployee(1L, new EmployeeDto(1L, "Renamed", "Engineering", 1L)));
+        verify(employeeRepository, times(1)).save(any(EmployeeEntity.class));
+        assertEquals(1, conflictTracker.report(10).rejected());
+    }
+
+    @Test
+    void givenManyIds_whenFetchingInBatch_thenQueryInChunksAndKeepRequestOrder() {
+        // Given
+        when(employeeRepository.findAllById(List.of(5L, 1L)))
+            .thenReturn(List.of(testEntity, new EmployeeEntity(5L, "Jane Roe", "HR", 1L)));
+        when(employeeRepository.findAllById(List.of(9L, 2L)))
+            .thenReturn(List.of(new EmployeeEntity(2L, "John Doe", "HR", 1L)));
+        when(employeeRepository.findAllById(List.of(3L)))
+            .thenReturn(List.of());
+
+        // When
+        EmployeeBatchResponseDto result = employeeService.getEmployeesByIds(List.of(5L, 1L, 9L, 1L, 2L, 3L));
+
+        // Then
+        assertEquals(List.of(5L, 1L, 2L), result.content().stream().map(EmployeeDto::id).toList());
+        assertEquals(List.of(9L, 3L), result.missingIds());
+        verify(employeeRepository, times(3)).findAllById(any());
+    }
+
+    @Test
+    void givenSomeIdsCached_whenFetchingInBatch_thenQueryOnlyTheMissesAndCacheThem() {
+        // Given
+        EmployeeCache cache = new EmployeeCache(new EmployeeCacheProperties(true, 100, 100), new SimpleMeterRegistry());
+        cache.put(testDto, cache.generation());
+        EmployeeService service = service(1, null, cache);
+        when(employeeRepository.findAllById(List.of(5L, 2L)))
+            .thenReturn(List.of(new EmployeeEntity(5L, "Jane Roe", "HR", 1L)));
+
+        // When
+        EmployeeBatchResponseDto first = service.getEmployeesByIds(List.of(5L, 1L, 2L));
+        EmployeeBatchResponseDto second = service.getEmployeesByIds(List.of(1L, 5L));
+
+        // Then
+        assertEquals(List.of(5L, 1L), first.content().stream().map(EmployeeDto::id).toList());
+        assertEquals(List.of(2L), first.missingIds());
+        assertEquals(List.of(1L, 5L), second.content().stream().map(EmployeeDto::id).toList());
+        verify(employeeRepository).findAllById(List.of(5L, 2L));
+        verify(employeeRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void givenTooManyIds_whenFetchingInBatch_thenThrowWithoutQuerying() {
+        // Given
+        List<Long> ids = LongStream.rangeClosed(1, 11).boxed().toList();
+
+        // When/Then
+        assertThrows(BatchTooLargeException.class, () -> employeeService.getEmployeesByIds(ids));
+        verify(employeeRepository, never()).findAllById(any());
+    }
+
 }
@@ -0,0 +1,97 @@
+package com.bmo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int PER_PRODUCER = 20_000;
+
+    @Test
+    void givenFullBuffer_whenOffering_thenRejectUntilDrained() {
+        // Given
+        RingBuffer<Integer> buffer = new RingBuffer<>(3);
+        for (int i = 0; i < buffer.capacity(); i++) {
+            assertTrue(buffer.offer(i));
+        }
+
+        // When
+        boolean overflowed = buffer.offer(99);
+        List<Integer> drained = new ArrayList<>();
+        int count = buffer.drainTo(drained, 2);
+
+        // Then
+        assertEquals(4, buffer.capacity());
+        assertFalse(overflowed);
+        assertEquals(2, count);
+        assertEquals(List.of(0, 1), drained);
+        assertTrue(buffer.offer(4));
+        assertTrue(buffer.offer(5));
+        assertFalse(buffer.offer(6));
+        buffer.drainTo(drained, 10);
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), drained);
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void givenConcurrentProducers_whenDrainingWhileTheyOffer_thenEveryElementArrivesOnceInPerProducerOrder()
+            throws Exception {
+        // Given
+        RingBuffer<long[]> buffer = new RingBuffer<>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(PRODUCERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> producers = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            long producer = p;
+            producers.add(executor.submit(() -> {
+                start.await();
+                for (long i = 0; i < PER_PRODUCER; i++) {
+                    long[] element = {producer, i};
+                    while (!buffer.offer(element)) {
+                        Thread.yield();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        // When
+        start.countDown();
+        long[] next = new long[PRODUCERS];
+        List<long[]> drained = new ArrayList<>();
+        long received = 0;
+        long outOfOrder = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (received < (long) PRODUCERS * PER_PRODUCER && System.nanoTime() < deadline) {
+            drained.clear();
+            if (buffer.drainTo(drained, 32) == 0) {
+                Thread.yield();
+            }
+            for (long[] element : drained) {
+                if (next[(int) element[0]]++ != element[1]) {
+                    outOfOrder++;
+                }
+                received++;
+            }
+        }
+        for (Future<?> producer : producers) {
+            producer.get(5, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals((long) PRODUCERS * PER_PRODUCER, received);
+        assertEquals(0, outOfOrder);
+        assertEquals(0, buffer.size());
+    }
+}